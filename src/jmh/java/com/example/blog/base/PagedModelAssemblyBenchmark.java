@@ -0,0 +1,107 @@
+package com.example.blog.base;
+
+import com.example.blog.category.CategoryMapper;
+import com.example.blog.entity.Category;
+import com.example.blog.entity.Post;
+import com.example.blog.post.PostController;
+import com.example.blog.post.PostMapper;
+import com.example.blog.post.PostModelAssembler;
+import com.example.blog.post.PostResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.server.mvc.RepresentationModelAssemblerSupport;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * {@code PagedResourcesAssembler.toModel} for a page of posts, each call in a fresh request
+ * like in the application. {@code linkTemplates} uses {@link PostModelAssembler},
+ * {@code methodOnProxies} the previous {@code linkTo(methodOn(...))} implementation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PagedModelAssemblyBenchmark {
+    @Param({"5", "20", "100"})
+    private int pageSize;
+
+    private PagedResourcesAssembler<Post> pagedResourcesAssembler;
+    private PostModelAssembler postModelAssembler;
+    private MethodOnPostModelAssembler methodOnPostModelAssembler;
+    private Page<Post> page;
+
+    @Setup
+    public void setUp() {
+        PostMapper mapper = new PostMapper(new CategoryMapper());
+        pagedResourcesAssembler = new PagedResourcesAssembler<>(new HateoasPageableHandlerMethodArgumentResolver(), null);
+        postModelAssembler = new PostModelAssembler(mapper);
+        methodOnPostModelAssembler = new MethodOnPostModelAssembler(mapper);
+
+        Category category = Category.builder().id(1L).name("Backend").build();
+        List<Post> posts = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(id -> Post.builder()
+                        .id(id)
+                        .title("Title " + id)
+                        .body("Body of the post " + id)
+                        .category(category).build())
+                .toList();
+        page = new PageImpl<>(posts, PageRequest.of(1, pageSize), 10L * pageSize);
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public PagedModel<PostResponse> linkTemplates() {
+        newRequest();
+        return pagedResourcesAssembler.toModel(page, postModelAssembler);
+    }
+
+    @Benchmark
+    public PagedModel<PostResponse> methodOnProxies() {
+        newRequest();
+        return pagedResourcesAssembler.toModel(page, methodOnPostModelAssembler);
+    }
+
+    private void newRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/posts");
+        request.setQueryString("page=1&size=" + pageSize);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    static class MethodOnPostModelAssembler extends RepresentationModelAssemblerSupport<Post, PostResponse> {
+        private final PostMapper mapper;
+
+        MethodOnPostModelAssembler(PostMapper mapper) {
+            super(PostController.class, PostResponse.class);
+            this.mapper = mapper;
+        }
+
+        @Override
+        public PostResponse toModel(Post post) {
+            PostResponse postModel = mapper.apply(post);
+
+            postModel.add(linkTo(methodOn(PostController.class).getById(postModel.getId(), null)).withSelfRel());
+
+            return postModel;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.blog.base;
+
+import com.example.blog.category.CategoryMapper;
+import com.example.blog.entity.Category;
+import com.example.blog.entity.Post;
+import com.example.blog.post.PostMapper;
+import com.example.blog.post.PostModelAssembler;
+import com.example.blog.post.PostResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.AnnotationLinkRelationProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * HAL serialization of an assembled {@code PagedModel<PostResponse>}, the last step of {@code GET /api/v1/posts}.
+ * The model is built once, only the Jackson write is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PagedModelSerializationBenchmark {
+    @Param({"5", "20", "100"})
+    private int pageSize;
+
+    private ObjectWriter halWriter;
+    private PagedModel<PostResponse> model;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new Jackson2HalModule());
+        objectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new AnnotationLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+        halWriter = objectMapper.writerFor(PagedModel.class);
+
+        Category category = Category.builder().id(1L).name("Backend").build();
+        List<Post> posts = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(id -> Post.builder()
+                        .id(id)
+                        .title("Title " + id)
+                        .body("Body of the post " + id)
+                        .category(category).build())
+                .toList();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/posts");
+        request.setQueryString("page=1&size=" + pageSize);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            model = new PagedResourcesAssembler<Post>(new HateoasPageableHandlerMethodArgumentResolver(), null)
+                    .toModel(new PageImpl<>(posts, PageRequest.of(1, pageSize), 10L * pageSize),
+                            new PostModelAssembler(new PostMapper(new CategoryMapper())));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Benchmark
+    public byte[] writeHal() throws JsonProcessingException {
+        return halWriter.writeValueAsBytes(model);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.blog.config;
+
+import com.example.blog.post.PostRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading a {@link PostRequest} body with the application's trimming {@code String} deserializer
+ * ({@code trimming}) against Jackson's built-in one ({@code untrimmed}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StringTrimDeserializerBenchmark {
+    private static final byte[] BODY = """
+            {
+              "title": "  Benchmarking Jackson  ",
+              "body": "  Body of the post, long enough to look like a real one but not much longer.  ",
+              "categoryId": 1,
+              "tags": ["  java ", " spring", "jackson  ", "jmh"]
+            }""".getBytes(StandardCharsets.UTF_8);
+
+    private ObjectReader trimmingReader;
+    private ObjectReader untrimmedReader;
+
+    @Setup
+    public void setUp() {
+        trimmingReader = new ObjectMapper()
+                .registerModule(new AppConfig().customDeserializerModule())
+                .readerFor(PostRequest.class);
+        untrimmedReader = new ObjectMapper().readerFor(PostRequest.class);
+    }
+
+    @Benchmark
+    public PostRequest trimming() throws IOException {
+        return trimmingReader.readValue(BODY);
+    }
+
+    @Benchmark
+    public PostRequest untrimmed() throws IOException {
+        return untrimmedReader.readValue(BODY);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.blog.post;
+
+import com.example.blog.category.CategoryMapper;
+import com.example.blog.entity.Category;
+import com.example.blog.entity.Post;
+import com.example.blog.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single post representation: {@code mapperApply} is the plain entity to DTO copy,
+ * {@code detailedAssemblerToModel} adds the six links of {@code GET /api/v1/posts/{id}}, in a fresh request
+ * per call so the base URI isn't reused across calls.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostRepresentationBenchmark {
+    private PostMapper postMapper;
+    private DetailedPostModelAssembler detailedPostModelAssembler;
+    private Post post;
+
+    @Setup
+    public void setUp() {
+        postMapper = new PostMapper(new CategoryMapper());
+        detailedPostModelAssembler = new DetailedPostModelAssembler(postMapper);
+
+        post = Post.builder()
+                .id(42L)
+                .title("Benchmarking Spring HATEOAS")
+                .body("Body of the post, long enough to look like a real one but not much longer.")
+                .category(Category.builder().id(1L).name("Backend").build())
+                .user(User.builder().id(7L).build()).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public PostResponse mapperApply() {
+        return postMapper.apply(post);
+    }
+
+    @Benchmark
+    public PostResponse detailedAssemblerToModel() {
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest("GET", "/api/v1/posts/42")));
+        return detailedPostModelAssembler.toModel(post);
+    }
+}
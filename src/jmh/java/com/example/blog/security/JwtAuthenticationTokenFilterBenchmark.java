@@ -0,0 +1,108 @@
+package com.example.blog.security;
+
+import com.example.blog.entity.Role;
+import com.example.blog.entity.User;
+import com.example.blog.role.AppRoles;
+import com.example.blog.user.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Filter path for a request carrying an already seen token.
+ * {@code legacyTokenVerification} reproduces the previous implementation (three parses, key rebuilt on each),
+ * {@code cacheMaxSize=0} measures a single parse with precomputed parser, default size measures a cache hit.
+ * {@code principalCacheMaxSize=0} loads the user from repository on each request,
+ * {@code statelessPrincipal} builds principal from token claims only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationTokenFilterBenchmark {
+    private static final String SECRET = "foobar_123456789_foobar_123456789_foobar_123456789_foobar_123456789";
+
+    @Param({"0", "10000"})
+    private int cacheMaxSize;
+
+    @Param({"0", "10000"})
+    private int principalCacheMaxSize;
+
+    @Param({"false", "true"})
+    private boolean statelessPrincipal;
+
+    private JwtTokenProvider tokenProvider;
+    private JwtAuthenticationTokenFilter filter;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        User user = User.builder()
+                .id(1L)
+                .email("john@gmail.com")
+                .username("john")
+                .password("password")
+                .roles(Set.of(Role.builder().id(1).name(AppRoles.ROLE_USER).build())).build();
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findUserByEmailOrUsername(anyString())).thenReturn(Optional.of(user));
+
+        UserPrincipal principal = new UserPrincipal(user.getId(), user.getEmail(), user.getUsername(), user.getPassword(), user.getRoles());
+        UserPrincipalCache principalCache = new UserPrincipalCache(Duration.ofMinutes(5), principalCacheMaxSize);
+
+        tokenProvider = new JwtTokenProvider(SECRET, cacheMaxSize);
+        filter = new JwtAuthenticationTokenFilter(tokenProvider, new CustomUserDetailsService(userRepository, principalCache), statelessPrincipal);
+        token = tokenProvider.generateToken(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @Benchmark
+    public Object filterPath() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users/me");
+        request.addHeader("Authorization", "Bearer " + token);
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+
+        return authentication;
+    }
+
+    @Benchmark
+    public Optional<String> tokenVerification() {
+        return tokenProvider.getVerifiedSubject(token);
+    }
+
+    @Benchmark
+    public String legacyTokenVerification() {
+        // isTokenValid -> getSubject + isTokenNotExpired, then getSubject again
+        legacyClaims(token).getSubject();
+        legacyClaims(token).getExpiration().after(new Date());
+        return legacyClaims(token).getSubject();
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
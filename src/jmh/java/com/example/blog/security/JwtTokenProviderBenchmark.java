@@ -0,0 +1,51 @@
+package com.example.blog.security;
+
+import com.example.blog.entity.Role;
+import com.example.blog.role.AppRoles;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue on login ({@code generateToken}) and validation of an already seen token ({@code isTokenValid}),
+ * {@code cacheMaxSize=0} parses and verifies the signature on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+    private static final String SECRET = "foobar_123456789_foobar_123456789_foobar_123456789_foobar_123456789";
+
+    @Param({"0", "10000"})
+    private int cacheMaxSize;
+
+    private JwtTokenProvider tokenProvider;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        UserPrincipal principal = new UserPrincipal(1L, "john@gmail.com", "john", "password",
+                Set.of(Role.builder().id(1).name(AppRoles.ROLE_USER).build()));
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+
+        tokenProvider = new JwtTokenProvider(SECRET, cacheMaxSize);
+        token = tokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return tokenProvider.isTokenValid(token);
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.blog.loadtest;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Bulk loads a generated dataset straight over JDBC into the schema created by the application:
+ * batched multi-row inserts ({@code rewriteBatchedStatements}) with unique and foreign key checks off,
+ * the large tables split in id ranges loaded on several connections.
+ * <p>
+ * Users are {@code user<n>} / {@value #PASSWORD}. Tag popularity is Zipfian (tag 1 is the most used),
+ * comments are spread uniformly over posts and the post comment counters are filled to match.
+ * Generation is seeded, the same sizes always produce the same data.
+ */
+final class DatasetSeeder {
+    static final String PASSWORD = "password";
+
+    private static final int BATCH_SIZE = 5000;
+    private static final long SEED = 42;
+    private static final long DAY_MILLIS = Duration.ofDays(1).toMillis();
+
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+    private final Dataset dataset;
+    private final int threads;
+
+    DatasetSeeder(String jdbcUrl, String username, String password, Dataset dataset, int threads) {
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+        this.dataset = dataset;
+        this.threads = threads;
+    }
+
+    /**
+     * Sizes of the generated dataset.
+     */
+    record Dataset(int users, int categories, int tags, int posts, long comments) {
+    }
+
+    /**
+     * Loads the dataset unless the database already holds posts, e.g. a reused container.
+     */
+    void seed() throws Exception {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            try (ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM posts")) {
+                rs.next();
+                if (rs.getLong(1) > 0) {
+                    System.out.printf("database already has %d posts, skipping seed%n", rs.getLong(1));
+                    return;
+                }
+            }
+        }
+
+        long start = System.nanoTime();
+        long now = System.currentTimeMillis();
+        long postsFrom = now - 365 * DAY_MILLIS;
+        long postInterval = Math.max(1, 365 * DAY_MILLIS / dataset.posts());
+
+        int userRole = seedRoles();
+        String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+
+        load("users", "id, email, password, username, first_name, last_name, phone, created_date",
+                dataset.users(), (batch, i, random) -> batch.add(i + 1, "user" + (i + 1) + "@loadtest.local",
+                        passwordHash, "user" + (i + 1), "First", "Last", "000000000", postsFrom - DAY_MILLIS));
+        load("users_roles", "user_id, role_id",
+                dataset.users(), (batch, i, random) -> batch.add(i + 1, userRole));
+        load("categories", "id, name, created_by, created_date",
+                dataset.categories(), (batch, i, random) -> batch.add(i + 1, "category-" + (i + 1), 1, postsFrom));
+        load("tags", "id, name, created_by, created_date",
+                dataset.tags(), (batch, i, random) -> batch.add(i + 1, "tag-" + (i + 1), 1, postsFrom));
+
+        // comment counts first, posts are written with counters that match the comments inserted after them
+        int[] commentCounts = new int[dataset.posts()];
+        SplittableRandom commentRandom = new SplittableRandom(SEED);
+        for (long c = 0; c < dataset.comments(); c++) {
+            commentCounts[commentRandom.nextInt(dataset.posts())]++;
+        }
+        long[] firstCommentIds = new long[dataset.posts()];
+        long nextCommentId = 1;
+        for (int p = 0; p < dataset.posts(); p++) {
+            firstCommentIds[p] = nextCommentId;
+            nextCommentId += commentCounts[p];
+        }
+
+        load("posts", "id, title, body, user_id, category_id, comment_count, last_comment_at, created_by, created_date",
+                dataset.posts(), (batch, i, random) -> {
+                    long createdDate = postsFrom + i * postInterval;
+                    int userId = random.nextInt(dataset.users()) + 1;
+                    int comments = commentCounts[(int) i];
+                    batch.add(i + 1, "Post " + (i + 1), body(random), userId, random.nextInt(dataset.categories()) + 1,
+                            comments, comments == 0 ? null : createdDate + comments * 1000L, userId, createdDate);
+                });
+
+        Zipf tagPopularity = new Zipf(dataset.tags(), 1.0);
+        load("post_tag", "post_id, tag_id",
+                dataset.posts(), (batch, i, random) -> {
+                    int tagCount = 1 + random.nextInt(Math.min(5, dataset.tags()));
+                    List<Integer> tags = new ArrayList<>(tagCount);
+                    while (tags.size() < tagCount) {
+                        int tag = tagPopularity.sample(random);
+                        if (!tags.contains(tag)) {
+                            tags.add(tag);
+                            batch.add(i + 1, tag);
+                        }
+                    }
+                });
+
+        load("comments", "id, body, user_id, post_id, created_by, created_date",
+                dataset.posts(), (batch, i, random) -> {
+                    long postCreated = postsFrom + i * postInterval;
+                    for (int c = 0; c < commentCounts[(int) i]; c++) {
+                        int userId = random.nextInt(dataset.users()) + 1;
+                        batch.add(firstCommentIds[(int) i] + c, "Comment " + c + " on post " + (i + 1),
+                                userId, i + 1, userId, postCreated + (c + 1) * 1000L);
+                    }
+                });
+
+        System.out.printf("seeded %s in %ds%n", dataset, Duration.ofNanos(System.nanoTime() - start).toSeconds());
+    }
+
+    private int seedRoles() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("""
+                    INSERT IGNORE INTO roles (name, description) VALUES
+                    ('ROLE_USER', 'User can create new posts and comments.'),
+                    ('ROLE_ADMIN', 'Admin can remove other users, posts, comments, tags, also can add categories'),
+                    ('ROLE_SUPER_ADMIN', 'Super Admin is the main account of the application.')""");
+            try (ResultSet rs = statement.executeQuery("SELECT id FROM roles WHERE name = 'ROLE_USER'")) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    /**
+     * Inserts rows generated for indexes {@code 0..count-1}, split into ranges loaded in parallel,
+     * each range with its own connection and its own random seeded from the range start.
+     */
+    private void load(String table, String columns, long count, RowGenerator generator) throws Exception {
+        long start = System.nanoTime();
+        int ranges = count < BATCH_SIZE ? 1 : threads * 4;
+        long rangeSize = (count + ranges - 1) / ranges;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long from = 0; from < count; from += rangeSize) {
+                long rangeFrom = from;
+                long rangeTo = Math.min(count, from + rangeSize);
+                futures.add(executor.submit(() -> {
+                    loadRange(table, columns, rangeFrom, rangeTo, generator);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Loading " + table + " failed", ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        System.out.printf("%s: %d source rows in %dms%n", table, count,
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    private void loadRange(String table, String columns, long from, long to, RowGenerator generator) throws SQLException {
+        int columnCount = columns.split(",").length;
+        String sql = "INSERT INTO %s (%s) VALUES (%s)".formatted(table, columns, "?" + ", ?".repeat(columnCount - 1));
+
+        try (Connection connection = connect(); PreparedStatement statement = connection.prepareStatement(sql)) {
+            try (Statement session = connection.createStatement()) {
+                session.execute("SET unique_checks = 0, foreign_key_checks = 0");
+            }
+            connection.setAutoCommit(false);
+
+            Batch batch = new Batch(connection, statement);
+            SplittableRandom random = new SplittableRandom(SEED ^ (table.hashCode() * 31L + from));
+            for (long i = from; i < to; i++) {
+                generator.generate(batch, i, random);
+            }
+            batch.flush();
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        String separator = jdbcUrl.contains("?") ? "&" : "?";
+        return DriverManager.getConnection(jdbcUrl + separator + "rewriteBatchedStatements=true", username, password);
+    }
+
+    private static String body(SplittableRandom random) {
+        return "Generated body of a load test post, " + random.nextInt(1_000_000)
+                + " - long enough to look like a short real post and to be stored off the id index.";
+    }
+
+    @FunctionalInterface
+    private interface RowGenerator {
+        void generate(Batch batch, long index, SplittableRandom random) throws SQLException;
+    }
+
+    private static final class Batch {
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private int rows;
+
+        private Batch(Connection connection, PreparedStatement statement) {
+            this.connection = connection;
+            this.statement = statement;
+        }
+
+        void add(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            statement.addBatch();
+            if (++rows == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            if (rows > 0) {
+                statement.executeBatch();
+                connection.commit();
+                rows = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.blog.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * End-to-end load test: starts MySQL in a container, lets the application migrate the schema, bulk loads a
+ * large dataset with {@link DatasetSeeder}, restarts the application on it (cold caches, id generators and
+ * search index built from the seeded data) and drives the public endpoints one scenario at a time with
+ * {@link ReadLoadHarness}. Results are printed and written as JSON so runs can be compared.
+ * <p>
+ * The application runs in its own JVM, started from the main classpath without test classes,
+ * so client and server don't share heap, GC or JIT.
+ * Configured with {@code loadtest.*} system properties, see the {@code loadtest} maven profile.
+ */
+public final class LoadTestSuite {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(10);
+
+    private LoadTestSuite() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        DatasetSeeder.Dataset dataset = new DatasetSeeder.Dataset(
+                Integer.getInteger("loadtest.users", 10_000),
+                Integer.getInteger("loadtest.categories", 50),
+                Integer.getInteger("loadtest.tags", 50_000),
+                Integer.getInteger("loadtest.posts", 1_000_000),
+                Long.getLong("loadtest.comments", 10_000_000L));
+        int readers = Integer.getInteger("loadtest.readers", 200);
+        int loginReaders = Integer.getInteger("loadtest.login-readers", 32);
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30));
+        Path resultFile = Path.of(System.getProperty("loadtest.result", "target/loadtest-result.json"));
+
+        try (MySQLContainer<?> mysql = new MySQLContainer<>(DockerImageName.parse(System.getProperty("loadtest.mysql-image", "mysql:8.0.36")))
+                .withDatabaseName("blog")
+                .withCommand("--skip-log-bin", "--innodb-buffer-pool-size=" + System.getProperty("loadtest.mysql-buffer-pool", "2G"))
+                .withReuse(Boolean.getBoolean("loadtest.reuse-container"))) {
+            mysql.start();
+
+            // first start only migrates the schema
+            stop(startApplication(mysql));
+
+            new DatasetSeeder(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword(), dataset,
+                    Integer.getInteger("loadtest.seed-threads", 4)).seed();
+
+            Process application = startApplication(mysql);
+            try {
+                String baseUrl = "http://localhost:" + Integer.getInteger("loadtest.app-port", 8103);
+                Zipf tagPopularity = new Zipf(dataset.tags(), 1.0);
+
+                Map<String, Scenario> scenarios = new LinkedHashMap<>();
+                scenarios.put("posts page", new Scenario(readers, sequence -> ReadLoadHarness.get(URI.create(
+                        baseUrl + "/api/v1/posts?size=5&page=" + random().nextInt(100)))));
+                scenarios.put("posts by tag", new Scenario(readers, sequence -> ReadLoadHarness.get(URI.create(
+                        baseUrl + "/api/v1/posts/tag/" + tagPopularity.sample(random()) + "?size=5"))));
+                scenarios.put("post comments", new Scenario(readers, sequence -> ReadLoadHarness.get(URI.create(
+                        baseUrl + "/api/v1/posts/" + (random().nextInt(dataset.posts()) + 1) + "/comments"))));
+                scenarios.put("login", new Scenario(loginReaders, sequence -> login(baseUrl, random().nextInt(dataset.users()) + 1)));
+
+                Map<String, Object> results = new LinkedHashMap<>();
+                for (Map.Entry<String, Scenario> entry : scenarios.entrySet()) {
+                    Scenario scenario = entry.getValue();
+                    System.out.printf("%n%s: %d readers, %ds warmup, %ds measured%n",
+                            entry.getKey(), scenario.readers(), warmup.toSeconds(), duration.toSeconds());
+
+                    ReadLoadHarness.Result result = ReadLoadHarness.run(scenario.requests(), scenario.readers(), warmup, duration);
+                    ReadLoadHarness.print(result, duration);
+                    results.put(entry.getKey(), summary(scenario, result, duration));
+                }
+
+                write(resultFile, dataset, results);
+            } finally {
+                stop(application);
+            }
+        }
+    }
+
+    private static HttpRequest login(String baseUrl, int user) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/auth/login"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"user%d\",\"password\":\"%s\"}"
+                        .formatted(user, DatasetSeeder.PASSWORD)))
+                .build();
+    }
+
+    private static ThreadLocalRandom random() {
+        return ThreadLocalRandom.current();
+    }
+
+    private static Process startApplication(MySQLContainer<?> mysql) throws IOException, InterruptedException {
+        String port = String.valueOf(Integer.getInteger("loadtest.app-port", 8103));
+        String classpath = Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                .filter(entry -> !entry.endsWith("test-classes"))
+                .collect(Collectors.joining(File.pathSeparator));
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        Arrays.stream(System.getProperty("loadtest.app-jvm-args", "-Xmx4g").split("\\s+"))
+                .filter(arg -> !arg.isBlank())
+                .forEach(command::add);
+        command.addAll(List.of("-classpath", classpath, "com.example.blog.BlogApplication",
+                "--server.port=" + port,
+                "--spring.datasource.url=" + mysql.getJdbcUrl() + "?rewriteBatchedStatements=true",
+                "--spring.datasource.username=" + mysql.getUsername(),
+                "--spring.datasource.password=" + mysql.getPassword(),
+                // every simulated client logs in from localhost, the login scenario measures hashing, not the limiter
+                "--app.security.login-rate-limit.enabled=false"));
+        String profiles = System.getProperty("loadtest.app-profiles", "");
+        if (!profiles.isBlank()) {
+            command.add("--spring.profiles.active=" + profiles);
+        }
+
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(
+                        Path.of(System.getProperty("loadtest.app-log", "target/loadtest-app.log")).toFile()))
+                .start();
+
+        awaitHealthy(process, URI.create("http://localhost:" + port + "/actuator/health"));
+        return process;
+    }
+
+    private static void awaitHealthy(Process process, URI health) throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue() + ", see the application log");
+            }
+            try {
+                HttpResponse<Void> response = client.send(HttpRequest.newBuilder(health).GET().build(),
+                        HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // not listening yet
+            }
+            Thread.sleep(1000);
+        }
+        process.destroyForcibly();
+        throw new IllegalStateException("Application not healthy after " + STARTUP_TIMEOUT);
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(1, TimeUnit.MINUTES)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private static Map<String, Object> summary(Scenario scenario, ReadLoadHarness.Result result, Duration duration) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("readers", scenario.readers());
+        summary.put("requests", result.requests());
+        summary.put("errors", result.errors());
+        summary.put("throughput", result.throughput(duration));
+        summary.put("p50Ms", result.percentile(50));
+        summary.put("p90Ms", result.percentile(90));
+        summary.put("p99Ms", result.percentile(99));
+        summary.put("p999Ms", result.percentile(99.9));
+        summary.put("maxMs", result.percentile(100));
+        return summary;
+    }
+
+    private static void write(Path file, DatasetSeeder.Dataset dataset, Map<String, Object> results) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("dataset", dataset);
+        report.put("scenarios", results);
+
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file.toFile(), report);
+        System.out.printf("%nresults written to %s%n", file.toAbsolutePath());
+    }
+
+    private record Scenario(int readers, IntFunction<HttpRequest> requests) {
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.blog.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Closed-loop load generator for the read endpoints: every reader sends GET requests back to back over
+ * the configured paths, after a warmup the throughput and latency percentiles are printed.
+ * Run it once against the app on platform threads and once with the virtual-threads profile to compare.
+ * <p>
+ * Arguments: {@code baseUrl readers warmupSeconds durationSeconds [path...]}
+ */
+public final class ReadLoadHarness {
+    private static final List<String> DEFAULT_PATHS = List.of(
+            "/api/v1/posts/feed",
+            "/api/v1/posts?page=0&size=5",
+            "/api/v1/categories",
+            "/api/v1/tags");
+
+    private ReadLoadHarness() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8103";
+        int readers = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        Duration warmup = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 10);
+        Duration duration = Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 30);
+        List<String> paths = args.length > 4 ? Arrays.asList(args).subList(4, args.length) : DEFAULT_PATHS;
+
+        List<URI> uris = paths.stream()
+                .map(path -> URI.create(baseUrl + path))
+                .toList();
+
+        System.out.printf("%d readers, %ds warmup, %ds measured, against %s%n",
+                readers, warmup.toSeconds(), duration.toSeconds(), uris);
+
+        Result result = run(sequence -> get(uris.get(sequence % uris.size())), readers, warmup, duration);
+
+        print(result, duration);
+    }
+
+    static HttpRequest get(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    static void print(Result result, Duration duration) {
+        System.out.printf("requests %d, errors %d, throughput %.1f req/s%n",
+                result.requests(), result.errors(), result.throughput(duration));
+        System.out.printf("latency ms: p50 %.2f, p90 %.2f, p99 %.2f, p99.9 %.2f, max %.2f%n",
+                result.percentile(50), result.percentile(90), result.percentile(99),
+                result.percentile(99.9), result.percentile(100));
+    }
+
+    /**
+     * Runs {@code readers} closed-loop clients, each asking {@code requests} for its next request with its own
+     * increasing sequence number (reader {@code i} starts at {@code i}), so a fixed list is spread evenly.
+     */
+    static Result run(IntFunction<HttpRequest> requests, int readers, Duration warmup, Duration duration) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureUntil = measureFrom + duration.toNanos();
+
+        List<Reader> workers = new ArrayList<>(readers);
+        CountDownLatch done = new CountDownLatch(readers);
+        ExecutorService executor = Executors.newFixedThreadPool(readers);
+        for (int i = 0; i < readers; i++) {
+            Reader reader = new Reader(client, requests, i, measureFrom, measureUntil);
+            workers.add(reader);
+            executor.execute(() -> {
+                try {
+                    reader.run();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        done.await();
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        return Result.merge(workers);
+    }
+
+    private static final class Reader implements Runnable {
+        private final HttpClient client;
+        private final IntFunction<HttpRequest> requests;
+        private final long measureFrom;
+        private final long measureUntil;
+        private int next;
+        private long[] latencies = new long[1024];
+        private int requests;
+        private long errors;
+
+        private Reader(HttpClient client, IntFunction<HttpRequest> requests, int offset, long measureFrom, long measureUntil) {
+            this.client = client;
+            this.requests = requests;
+            this.next = offset;
+            this.measureFrom = measureFrom;
+            this.measureUntil = measureUntil;
+        }
+
+        @Override
+        public void run() {
+            long start;
+            while ((start = System.nanoTime()) < measureUntil) {
+                HttpRequest request = requests.apply(next++);
+                boolean failed;
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    failed = response.statusCode() >= 400;
+                } catch (IOException ex) {
+                    failed = true;
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long end = System.nanoTime();
+
+                if (start >= measureFrom && end <= measureUntil) {
+                    record(end - start, failed);
+                }
+            }
+        }
+
+        private void record(long latency, boolean failed) {
+            if (failed) {
+                errors++;
+                return;
+            }
+            if (requests == latencies.length) {
+                latencies = Arrays.copyOf(latencies, requests * 2);
+            }
+            latencies[requests++] = latency;
+        }
+    }
+
+    record Result(long[] sortedLatencies, long errors) {
+        static Result merge(List<Reader> readers) {
+            long[] all = new long[readers.stream().mapToInt(r -> r.requests).sum()];
+            int position = 0;
+            long errors = 0;
+            for (Reader reader : readers) {
+                System.arraycopy(reader.latencies, 0, all, position, reader.requests);
+                position += reader.requests;
+                errors += reader.errors;
+            }
+            Arrays.sort(all);
+
+            return new Result(all, errors);
+        }
+
+        long requests() {
+            return sortedLatencies.length + errors;
+        }
+
+        double throughput(Duration duration) {
+            return requests() / (double) duration.toSeconds();
+        }
+
+        double percentile(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(percentile / 100 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.blog.auth;
 
+import com.example.blog.security.LoginRateLimiter;
 import com.example.blog.user.UserRegistrationRequest;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,9 +19,11 @@ import java.net.URI;
 public class AuthenticationController {
 
     private final AuthenticationService authenticationService;
+    private final LoginRateLimiter loginRateLimiter;
 
-    public AuthenticationController(AuthenticationService authenticationService) {
+    public AuthenticationController(AuthenticationService authenticationService, LoginRateLimiter loginRateLimiter) {
         this.authenticationService = authenticationService;
+        this.loginRateLimiter = loginRateLimiter;
     }
 
     @PostMapping("/register")
@@ -36,7 +40,10 @@ public class AuthenticationController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody AuthenticationRequest request) {
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody AuthenticationRequest request,
+                                              HttpServletRequest httpRequest) {
+        // the client's address behind a trusted proxy, Tomcat resolves X-Forwarded-For (server.forward-headers-strategy)
+        loginRateLimiter.acquire(httpRequest.getRemoteAddr(), request.getUsername());
         AuthResponse response = authenticationService.login(request);
 
         return ResponseEntity.ok(response);
@@ -3,17 +3,21 @@ package com.example.blog.auth;
 import com.example.blog.exception.DuplicateResourceException;
 import com.example.blog.exception.InvalidUsernameOrPasswordException;
 import com.example.blog.exception.ResourceNotFoundException;
+import com.example.blog.exception.TooManyRequestsException;
 import com.example.blog.role.AppRoles;
 import com.example.blog.entity.Role;
 import com.example.blog.role.RoleRepository;
 import com.example.blog.security.JwtTokenProvider;
 import com.example.blog.entity.User;
+import com.example.blog.uniqueness.UniqueKey;
+import com.example.blog.uniqueness.UniquenessIndex;
 import com.example.blog.user.UserRegistrationRequest;
 import com.example.blog.user.UserRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
@@ -37,17 +41,20 @@ public class AuthenticationService {
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
+    private final UniquenessIndex uniquenessIndex;
 
     public AuthenticationService(AuthenticationManager authenticationManager,
                                  UserRepository userRepository,
                                  RoleRepository roleRepository,
                                  PasswordEncoder passwordEncoder,
-                                 JwtTokenProvider tokenProvider) {
+                                 JwtTokenProvider tokenProvider,
+                                 UniquenessIndex uniquenessIndex) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
         this.tokenProvider = tokenProvider;
+        this.uniquenessIndex = uniquenessIndex;
     }
 
     public void registerUser(UserRegistrationRequest signupRequest) {
@@ -65,6 +72,8 @@ public class AuthenticationService {
         user.setRoles(roles);
 
         userRepository.save(user);
+        uniquenessIndex.addAfterCommit(UniqueKey.USER_EMAIL, user.getEmail());
+        uniquenessIndex.addAfterCommit(UniqueKey.USER_USERNAME, user.getUsername());
     }
 
     public AuthResponse login(AuthenticationRequest request) {
@@ -74,6 +83,13 @@ public class AuthenticationService {
             String token = tokenProvider.generateToken(authenticate);
 
             return new AuthResponse("Bearer " + token);
+        } catch (InternalAuthenticationServiceException ex) {
+            // for an unknown user the provider still checks a dummy password, a saturated hashing pool comes back wrapped
+            if (ex.getCause() instanceof TooManyRequestsException tooManyRequests) {
+                throw tooManyRequests;
+            }
+            LOGGER.error(ex.getMessage());
+            throw new InvalidUsernameOrPasswordException("Invalid username/password supplied");
         } catch (AuthenticationException ex) {
             LOGGER.error(ex.getMessage());
             throw new InvalidUsernameOrPasswordException("Invalid username/password supplied");
@@ -83,13 +99,13 @@ public class AuthenticationService {
     private void validateUserRegistrationRequest(UserRegistrationRequest signupRequest) {
         //check if email exist
         String email = signupRequest.getEmail();
-        if (userRepository.existsByEmail(email)) {
+        if (uniquenessIndex.mightExist(UniqueKey.USER_EMAIL, email) && userRepository.existsByEmail(email)) {
             throw new DuplicateResourceException("email already taken");
         }
 
         //check if username exist
         String username = signupRequest.getUsername();
-        if (userRepository.existsByUsername(username)) {
+        if (uniquenessIndex.mightExist(UniqueKey.USER_USERNAME, username) && userRepository.existsByUsername(username)) {
             throw new DuplicateResourceException("username already taken");
         }
     }
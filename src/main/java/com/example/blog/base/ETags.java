@@ -0,0 +1,45 @@
+package com.example.blog.base;
+
+import org.springframework.data.domain.Page;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Strong entity tags computed from the state a representation is built from,
+ * so conditional requests can be answered before any model is assembled.
+ * The base URI of the request is part of that state, the representations carry absolute links.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(Object... parts) {
+        StringBuilder sb = new StringBuilder(LinkTemplate.baseUri()).append('|');
+        for (Object part : parts) {
+            sb.append(Objects.toString(part)).append('|');
+        }
+
+        return quote(sb);
+    }
+
+    public static <T> String ofPage(Page<T> page, Function<T, ?> fingerprint) {
+        StringBuilder sb = new StringBuilder(LinkTemplate.baseUri()).append('|')
+                .append(page.getNumber()).append('|')
+                .append(page.getSize()).append('|')
+                .append(page.getTotalElements()).append('|')
+                .append(page.getSort()).append('|');
+        for (T element : page.getContent()) {
+            sb.append(Objects.toString(fingerprint.apply(element))).append('|');
+        }
+
+        return quote(sb);
+    }
+
+    private static String quote(CharSequence value) {
+        return "\"" + DigestUtils.md5DigestAsHex(value.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.blog.base;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.server.core.AnnotationMappingDiscoverer;
+import org.springframework.hateoas.server.core.MappingDiscoverer;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Route of a controller method, resolved once from its request mappings.
+ * Links are expanded by substituting path variables in order, against the same base URI
+ * {@code WebMvcLinkBuilder} uses, without creating invocation proxies.
+ */
+public final class LinkTemplate {
+    private static final MappingDiscoverer DISCOVERER = new AnnotationMappingDiscoverer(RequestMapping.class);
+    private static final String BASE_URI_ATTRIBUTE = LinkTemplate.class.getName() + ".BASE_URI";
+
+    private final String mapping;
+    private final String[] literals;
+    private final int variables;
+
+    private LinkTemplate(String mapping) {
+        this.mapping = mapping;
+
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        int open;
+        while ((open = mapping.indexOf('{', start)) >= 0) {
+            int close = mapping.indexOf('}', open);
+            parts.add(mapping.substring(start, open));
+            start = close + 1;
+        }
+        parts.add(mapping.substring(start));
+
+        this.literals = parts.toArray(String[]::new);
+        this.variables = literals.length - 1;
+    }
+
+    public static LinkTemplate of(Class<?> controller, String methodName, Class<?>... parameterTypes) {
+        Method method = ReflectionUtils.findMethod(controller, methodName, parameterTypes);
+        if (method == null) {
+            throw new IllegalStateException("No handler method %s.%s".formatted(controller.getSimpleName(), methodName));
+        }
+
+        return new LinkTemplate(DISCOVERER.getMapping(controller, method));
+    }
+
+    public Link link(LinkRelation relation, Object... values) {
+        return Link.of(expand(values), relation);
+    }
+
+    public Link link(String relation, Object... values) {
+        return Link.of(expand(values), relation);
+    }
+
+    public String getMapping() {
+        return mapping;
+    }
+
+    String expand(Object... values) {
+        if (values.length != variables) {
+            throw new IllegalArgumentException("Mapping %s expects %d values, got %d"
+                    .formatted(mapping, variables, values.length));
+        }
+
+        StringBuilder sb = new StringBuilder(baseUri()).append(literals[0]);
+        for (int i = 0; i < variables; i++) {
+            sb.append(values[i]).append(literals[i + 1]);
+        }
+
+        return sb.toString();
+    }
+
+    static String baseUri() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return "";
+        }
+
+        String baseUri = (String) attributes.getAttribute(BASE_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (baseUri == null) {
+            baseUri = stripTrailingSlash(ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString());
+            attributes.setAttribute(BASE_URI_ATTRIBUTE, baseUri, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        return baseUri;
+    }
+
+    private static String stripTrailingSlash(String uri) {
+        return uri.endsWith("/") ? uri.substring(0, uri.length() - 1) : uri;
+    }
+}
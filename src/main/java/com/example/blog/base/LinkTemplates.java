@@ -0,0 +1,48 @@
+package com.example.blog.base;
+
+import com.example.blog.category.CategoryController;
+import com.example.blog.comment.CommentController;
+import com.example.blog.deletion.DeletionController;
+import com.example.blog.post.PostController;
+import com.example.blog.security.UserPrincipal;
+import com.example.blog.tag.TagController;
+import com.example.blog.user.UserController;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.UUID;
+
+/**
+ * Routes linked from the model assemblers, resolved when the assemblers are first loaded.
+ */
+public final class LinkTemplates {
+    public static final LinkTemplate POST =
+            LinkTemplate.of(PostController.class, "getById", Long.class, WebRequest.class);
+    public static final LinkTemplate POSTS_BY_CATEGORY =
+            LinkTemplate.of(PostController.class, "getPostsByCategory", Long.class, Pageable.class);
+    public static final LinkTemplate POSTS_BY_TAG =
+            LinkTemplate.of(PostController.class, "getPostsByTag", Long.class, Pageable.class);
+    public static final LinkTemplate POSTS_BY_USER =
+            LinkTemplate.of(PostController.class, "getPostsByUser", Long.class, Pageable.class);
+    public static final LinkTemplate CATEGORY =
+            LinkTemplate.of(CategoryController.class, "get", Long.class, WebRequest.class);
+    public static final LinkTemplate TAG =
+            LinkTemplate.of(TagController.class, "get", Long.class, WebRequest.class);
+    public static final LinkTemplate TAGS_FOR_POST =
+            LinkTemplate.of(TagController.class, "getTagsForPost", Long.class, Pageable.class);
+    public static final LinkTemplate COMMENT =
+            LinkTemplate.of(CommentController.class, "get", Long.class, Long.class);
+    public static final LinkTemplate PENDING_COMMENT =
+            LinkTemplate.of(CommentController.class, "getPending", Long.class, UUID.class);
+    public static final LinkTemplate COMMENTS_FOR_POST =
+            LinkTemplate.of(CommentController.class, "getCommentsForPostAsPage", Long.class, Pageable.class);
+    public static final LinkTemplate DELETION =
+            LinkTemplate.of(DeletionController.class, "get", UUID.class);
+    public static final LinkTemplate USER =
+            LinkTemplate.of(UserController.class, "getUser", Long.class);
+    public static final LinkTemplate CURRENT_USER_COMMENTS =
+            LinkTemplate.of(UserController.class, "getCommentsForCurrentUser", UserPrincipal.class, Pageable.class);
+
+    private LinkTemplates() {
+    }
+}
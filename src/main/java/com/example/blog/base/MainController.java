@@ -26,7 +26,7 @@ public class MainController {
     private RootEntity createRootEntity() {
         String loginUrl = linkTo(
                 methodOn(AuthenticationController.class)
-                        .login(null))
+                        .login(null, null))
                 .toString();
 
         String signupUrl = linkTo(
@@ -35,7 +35,7 @@ public class MainController {
                 .toString();
         String categoriesUrl = linkTo(
                 methodOn(CategoryController.class).
-                        getCategoriesAsPage(null))
+                        getCategoriesAsPage(null, null))
                 .toString();
 
         String postsUrl = linkTo(
@@ -45,7 +45,7 @@ public class MainController {
 
         String tagsUrl = linkTo(
                 methodOn(TagController.class)
-                        .getTagsAsPage(null))
+                        .getTagsAsPage(null, null))
                 .toString();
 
         return RootEntity.builder()
@@ -1,16 +1,20 @@
 package com.example.blog.category;
 
-import com.example.blog.entity.Category;
+import com.example.blog.base.ETags;
+import com.example.blog.deletion.DeletionJobModelAssembler;
+import com.example.blog.deletion.DeletionJobResponse;
 import com.example.blog.entity.Post;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.function.BiPredicate;
@@ -22,37 +26,55 @@ public class CategoryController {
 
     private final CategoryService categoryService;
     private final CategoryModelAssembler categoryModelAssembler;
-    private final PagedResourcesAssembler<Category> pagedResourcesAssembler;
+    private final PagedResourcesAssembler<CategorySummary> pagedResourcesAssembler;
+    private final DeletionJobModelAssembler deletionJobModelAssembler;
 
     public CategoryController(CategoryService categoryService,
                               CategoryModelAssembler categoryModelAssembler,
-                              PagedResourcesAssembler<Category> pagedResourcesAssembler) {
+                              PagedResourcesAssembler<CategorySummary> pagedResourcesAssembler,
+                              DeletionJobModelAssembler deletionJobModelAssembler) {
         this.categoryService = categoryService;
         this.categoryModelAssembler = categoryModelAssembler;
         this.pagedResourcesAssembler = pagedResourcesAssembler;
+        this.deletionJobModelAssembler = deletionJobModelAssembler;
     }
 
     @GetMapping
-    public ResponseEntity<PagedModel<CategoryResponse>> getCategoriesAsPage(@PageableDefault(size = 5) Pageable pageable) {
-        Page<Category> categoryPage = categoryService.getCategoriesAsPage(pageable);
+    public ResponseEntity<PagedModel<CategoryResponse>> getCategoriesAsPage(@PageableDefault(size = 5) Pageable pageable,
+                                                                            WebRequest request) {
+        Page<CategorySummary> categoryPage = categoryService.getCategoriesAsPage(pageable);
 
         if (categoryPage.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NO_CONTENT).body(PagedModel.empty());
         }
 
-        return ResponseEntity.ok(pagedResourcesAssembler.toModel(categoryPage, categoryModelAssembler));
+        String eTag = ETags.ofPage(categoryPage, CategoryController::fingerprint);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(pagedResourcesAssembler.toModel(categoryPage, categoryModelAssembler));
     }
 
     @GetMapping("{id}")
-    public ResponseEntity<CategoryResponse> get(@PathVariable("id") Long categoryId) {
-        Category category = categoryService.get(categoryId);
+    public ResponseEntity<CategoryResponse> get(@PathVariable("id") Long categoryId, WebRequest request) {
+        CategorySummary category = categoryService.get(categoryId);
 
-        return ResponseEntity.ok(categoryModelAssembler.toModel(category));
+        String eTag = ETags.of(fingerprint(category));
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(categoryModelAssembler.toModel(category));
     }
 
     @PostMapping
     public ResponseEntity<CategoryResponse> save(@Valid @RequestBody CategoryRequest categoryRequest) {
-        Category category = categoryService.save(categoryRequest);
+        CategorySummary category = categoryService.save(categoryRequest);
 
         return ResponseEntity.status(HttpStatus.CREATED).body(categoryModelAssembler.toModel(category));
     }
@@ -60,15 +82,21 @@ public class CategoryController {
     @PutMapping("{id}")
     public ResponseEntity<CategoryResponse> update(@PathVariable("id") Long categoryId,
                                                    @Valid @RequestBody CategoryRequest categoryRequest) {
-        Category category = categoryService.update(categoryId, categoryRequest);
+        CategorySummary category = categoryService.update(categoryId, categoryRequest);
 
         return ResponseEntity.ok(categoryModelAssembler.toModel(category));
     }
 
     @DeleteMapping("{id}")
-    public ResponseEntity<?> delete(@PathVariable("id") Long categoryId) {
-        categoryService.delete(categoryId);
+    public ResponseEntity<DeletionJobResponse> delete(@PathVariable("id") Long categoryId) {
+        DeletionJobResponse deletion = deletionJobModelAssembler.toModel(categoryService.delete(categoryId));
+
+        return ResponseEntity.accepted()
+                .location(deletion.getRequiredLink(IanaLinkRelations.SELF).toUri())
+                .body(deletion);
+    }
 
-        return ResponseEntity.status(HttpStatus.NO_CONTENT).body(null);
+    private static String fingerprint(CategorySummary category) {
+        return category.id() + ":" + category.name() + ":" + category.modifiedDate();
     }
 }
\ No newline at end of file
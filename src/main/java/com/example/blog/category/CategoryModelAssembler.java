@@ -1,17 +1,13 @@
 package com.example.blog.category;
 
-import com.example.blog.entity.Category;
-import com.example.blog.post.PostController;
-import org.springframework.hateoas.CollectionModel;
+import com.example.blog.base.LinkTemplates;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.server.mvc.RepresentationModelAssemblerSupport;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Component
-public class CategoryModelAssembler extends RepresentationModelAssemblerSupport<Category, CategoryResponse> {
+public class CategoryModelAssembler extends RepresentationModelAssemblerSupport<CategorySummary, CategoryResponse> {
 
     public CategoryModelAssembler() {
         super(CategoryController.class, CategoryResponse.class);
@@ -19,18 +15,16 @@ public class CategoryModelAssembler extends RepresentationModelAssemblerSupport<
 
     @Override
     @NonNull
-    public CategoryResponse toModel(@NonNull Category entity) {
-        Long id = entity.getId();
+    public CategoryResponse toModel(@NonNull CategorySummary category) {
+        Long id = category.id();
 
         CategoryResponse model = CategoryResponse.builder()
                 .id(id)
-                .name(entity.getName()).build();
+                .name(category.name()).build();
 
         model
-                .add(linkTo(methodOn(CategoryController.class).get(id))
-                        .withSelfRel())
-                .add(linkTo(methodOn(PostController.class).getPostsByCategory(id, null))
-                        .withRel("posts"));
+                .add(LinkTemplates.CATEGORY.link(IanaLinkRelations.SELF, id))
+                .add(LinkTemplates.POSTS_BY_CATEGORY.link("posts", id));
 
         return model;
     }
@@ -5,6 +5,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.NoRepositoryBean;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,8 +14,10 @@ public interface CategoryRepository {
     List<Category> findAll();
     Page<Category> findAll(Pageable pageable);
     Optional<Category> findById(Long id);
+    List<Category> findByIdIn(Collection<Long> ids);
     Optional<Category> findByName(String name);
     Category save(Category category);
     void delete(Category category);
+    int deleteCategoryById(Long id);
     boolean existsByName(String name);
 }
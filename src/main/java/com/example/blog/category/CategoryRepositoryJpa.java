@@ -2,12 +2,22 @@ package com.example.blog.category;
 
 import com.example.blog.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository("category-jpa")
 public interface CategoryRepositoryJpa extends CategoryRepository, JpaRepository<Category, Long> {
     Optional<Category> findByName(String name);
+    List<Category> findByIdIn(Collection<Long> ids);
+
+    // bulk delete without loading the category, its posts must be deleted first
+    @Modifying
+    @Query("DELETE FROM Category c WHERE c.id = :id")
+    int deleteCategoryById(@Param("id") Long id);
 }
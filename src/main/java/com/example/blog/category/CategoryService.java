@@ -1,9 +1,18 @@
 package com.example.blog.category;
 
+import com.example.blog.config.CacheConfig;
+import com.example.blog.deletion.BulkDeleter;
+import com.example.blog.deletion.DeletionJob;
+import com.example.blog.deletion.DeletionJobs;
 import com.example.blog.entity.Category;
 import com.example.blog.exception.DuplicateResourceException;
 import com.example.blog.exception.RequestValidationException;
 import com.example.blog.exception.ResourceNotFoundException;
+import com.example.blog.uniqueness.UniqueKey;
+import com.example.blog.uniqueness.UniquenessIndex;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -14,45 +23,75 @@ import org.springframework.transaction.annotation.Transactional;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
-
-    public CategoryService(CategoryRepository categoryRepository) {
+    private final DeletionJobs deletionJobs;
+    private final BulkDeleter bulkDeleter;
+    private final UniquenessIndex uniquenessIndex;
+
+    public CategoryService(CategoryRepository categoryRepository,
+                           DeletionJobs deletionJobs,
+                           BulkDeleter bulkDeleter,
+                           UniquenessIndex uniquenessIndex) {
         this.categoryRepository = categoryRepository;
+        this.deletionJobs = deletionJobs;
+        this.bulkDeleter = bulkDeleter;
+        this.uniquenessIndex = uniquenessIndex;
     }
 
-    public Page<Category> getCategoriesAsPage(Pageable pageable) {
-        return categoryRepository.findAll(pageable);
+    @Cacheable(CacheConfig.CATEGORY_PAGES)
+    public Page<CategorySummary> getCategoriesAsPage(Pageable pageable) {
+        return categoryRepository.findAll(pageable).map(CategorySummary::of);
     }
 
-    public Category get(Long categoryId) {
-        return categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new ResourceNotFoundException("Category with id [%d] not found"
-                        .formatted(categoryId)));
+    @Cacheable(CacheConfig.CATEGORIES)
+    public CategorySummary get(Long categoryId) {
+        return CategorySummary.of(getCategory(categoryId));
     }
 
-    public Category save(CategoryRequest categoryRequest) {
+    @CacheEvict(cacheNames = CacheConfig.CATEGORY_PAGES, allEntries = true)
+    public CategorySummary save(CategoryRequest categoryRequest) {
         String name = categoryRequest.getName();
         validateName(name);
 
         Category category = Category.builder()
                 .name(name).build();
 
-        return categoryRepository.save(category);
+        Category savedCategory = categoryRepository.save(category);
+        uniquenessIndex.addAfterCommit(UniqueKey.CATEGORY_NAME, name);
+
+        return CategorySummary.of(savedCategory);
     }
 
-    public Category update(Long categoryId, CategoryRequest request) {
-        Category category = get(categoryId);
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, key = "#categoryId"),
+            @CacheEvict(cacheNames = CacheConfig.CATEGORY_PAGES, allEntries = true)
+    })
+    public CategorySummary update(Long categoryId, CategoryRequest request) {
+        Category category = getCategory(categoryId);
         String requestName = request.getName();
         validateName(categoryId, requestName);
 
         category.setName(requestName);
 
-        return categoryRepository.save(category);
+        Category savedCategory = categoryRepository.save(category);
+        uniquenessIndex.addAfterCommit(UniqueKey.CATEGORY_NAME, requestName);
+
+        return CategorySummary.of(savedCategory);
     }
 
-    public void delete(Long categoryId) {
-        Category category = get(categoryId);
+    /**
+     * Starts deleting the category with its posts in the background, caches are evicted by
+     * {@link BulkDeleter} once the category row is gone.
+     */
+    public DeletionJob delete(Long categoryId) {
+        getCategory(categoryId);
 
-        categoryRepository.delete(category);
+        return deletionJobs.start(DeletionJob.Resource.CATEGORY, categoryId, bulkDeleter::deleteCategory);
+    }
+
+    private Category getCategory(Long categoryId) {
+        return categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Category with id [%d] not found"
+                        .formatted(categoryId)));
     }
 
     private void validateName(Long categoryId, String requestName) {
@@ -62,13 +101,13 @@ public class CategoryService {
     }
 
     private boolean nameAlreadyTaken(Long categoryId, String name) {
-        return categoryRepository.findByName(name)
+        return uniquenessIndex.mightExist(UniqueKey.CATEGORY_NAME, name) && categoryRepository.findByName(name)
                 .filter(value -> !value.getId().equals(categoryId))
                 .isPresent();
     }
 
     private void validateName(String name) {
-        if (categoryRepository.existsByName(name)) {
+        if (uniquenessIndex.mightExist(UniqueKey.CATEGORY_NAME, name) && categoryRepository.existsByName(name)) {
             throw new DuplicateResourceException("Category with name [%s] already exists".formatted(name));
         }
     }
@@ -0,0 +1,15 @@
+package com.example.blog.category;
+
+import com.example.blog.entity.Category;
+
+/**
+ * Immutable copy of the category columns the API exposes, what the category caches hold instead of entities.
+ */
+public record CategorySummary(Long id,
+                              String name,
+                              Long modifiedDate) {
+
+    public static CategorySummary of(Category category) {
+        return new CategorySummary(category.getId(), category.getName(), category.getModifiedDate());
+    }
+}
@@ -8,11 +8,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.RepresentationModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/api/v1/posts/{postId}/comments")
 public class CommentController {
@@ -20,11 +24,14 @@ public class CommentController {
     private final CommentService commentService;
     private final CommentModelAssembler commentModelAssembler;
     private final PagedResourcesAssembler<Comment> pagedResourcesAssembler;
+    private final PendingCommentModelAssembler pendingCommentModelAssembler;
 
-    public CommentController(CommentService commentService, CommentModelAssembler commentModelAssembler, PagedResourcesAssembler<Comment> pagedResourcesAssembler) {
+    public CommentController(CommentService commentService, CommentModelAssembler commentModelAssembler, PagedResourcesAssembler<Comment> pagedResourcesAssembler,
+                             PendingCommentModelAssembler pendingCommentModelAssembler) {
         this.commentService = commentService;
         this.commentModelAssembler = commentModelAssembler;
         this.pagedResourcesAssembler = pagedResourcesAssembler;
+        this.pendingCommentModelAssembler = pendingCommentModelAssembler;
     }
 
     @GetMapping
@@ -50,13 +57,37 @@ public class CommentController {
     }
 
     @PostMapping
-    public ResponseEntity<CommentResponse> save(@PathVariable("postId") Long postId,
-                                                @Valid @RequestBody CommentRequest request,
-                                                @CurrentUser UserPrincipal currentUser) {
+    public ResponseEntity<RepresentationModel<?>> save(@PathVariable("postId") Long postId,
+                                                       @Valid @RequestBody CommentRequest request,
+                                                       @CurrentUser UserPrincipal currentUser) {
+        if (commentService.isWriteBehindEnabled()) {
+            PendingCommentResponse pendingComment = pendingCommentModelAssembler.toModel(
+                    commentService.saveLater(postId, request, currentUser));
+
+            return ResponseEntity.accepted()
+                    .location(pendingComment.getRequiredLink(IanaLinkRelations.SELF).toUri())
+                    .body(pendingComment);
+        }
+
         Comment comment = commentService.save(postId, request, currentUser);
         return ResponseEntity.status(HttpStatus.CREATED).body(commentModelAssembler.toModel(comment));
     }
 
+    @GetMapping("pending/{pendingId}")
+    public ResponseEntity<PendingCommentResponse> getPending(@PathVariable("postId") Long postId,
+                                                             @PathVariable("pendingId") UUID pendingCommentId) {
+        PendingComment pending = commentService.getPending(postId, pendingCommentId);
+        PendingCommentResponse model = pendingCommentModelAssembler.toModel(pending);
+
+        return switch (pending.status()) {
+            case PENDING -> ResponseEntity.accepted().body(model);
+            case SAVED -> ResponseEntity.status(HttpStatus.SEE_OTHER)
+                    .location(model.getRequiredLink("comment").toUri())
+                    .body(model);
+            case FAILED -> ResponseEntity.ok(model);
+        };
+    }
+
     @DeleteMapping("{id}")
     public ResponseEntity<?> delete(@PathVariable("postId") Long postId,
                                     @PathVariable("id") Long commentId,
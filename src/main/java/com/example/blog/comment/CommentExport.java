@@ -0,0 +1,12 @@
+package com.example.blog.comment;
+
+/**
+ * Comment as written by the post export, read without loading the comment, its post or its author.
+ */
+public record CommentExport(Long id,
+                            Long postId,
+                            Long userId,
+                            String body,
+                            Long createdDate,
+                            Long modifiedDate) {
+}
@@ -1,15 +1,12 @@
 package com.example.blog.comment;
 
+import com.example.blog.base.LinkTemplates;
 import com.example.blog.entity.Comment;
-import com.example.blog.post.PostController;
-import com.example.blog.user.UserController;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.server.mvc.RepresentationModelAssemblerSupport;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Component
 public class CommentModelAssembler extends RepresentationModelAssemblerSupport<Comment, CommentResponse> {
     private final CommentMapper mapper;
@@ -25,11 +22,9 @@ public class CommentModelAssembler extends RepresentationModelAssemblerSupport<C
         CommentResponse commentModel = mapper.apply(comment);
 
         commentModel
-                .add(linkTo(methodOn(CommentController.class).get(comment.getPost().getId(), comment.getId()))
-                        .withSelfRel())
-                .add(linkTo(methodOn(PostController.class).getById(comment.getPost().getId()))
-                        .withRel("post"))
-                .add(linkTo(methodOn(UserController.class).getUser(comment.getUser().getId())).withRel("user"));
+                .add(LinkTemplates.COMMENT.link(IanaLinkRelations.SELF, comment.getPost().getId(), comment.getId()))
+                .add(LinkTemplates.POST.link("post", comment.getPost().getId()))
+                .add(LinkTemplates.USER.link("user", comment.getUser().getId()));
 
 
         return commentModel;
@@ -5,13 +5,21 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.NoRepositoryBean;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @NoRepositoryBean
 public interface CommentRepository {
     Page<Comment> findAllInPost(Long postId, Pageable pageable);
     Page<Comment> findAllInUser(Long userId, Pageable pageable);
+    List<CommentExport> findExportsByPostIdIn(Collection<Long> postIds);
+    int deleteByPostIdIn(Collection<Long> postIds);
+    List<Long> findIdsByUserId(Long userId, Pageable pageable);
+    List<Long> findPostIdsByIdIn(Collection<Long> ids);
+    int deleteByIdIn(Collection<Long> ids);
     Optional<Comment> findById(Long id);
     Comment save(Comment comment);
+    <S extends Comment> List<S> saveAll(Iterable<S> comments);
     void delete(Comment comment);
 }
@@ -4,9 +4,13 @@ import com.example.blog.entity.Comment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository("comment-jpa")
 public interface CommentRepositoryJpa extends CommentRepository, JpaRepository<Comment, Long> {
 
@@ -15,4 +19,26 @@ public interface CommentRepositoryJpa extends CommentRepository, JpaRepository<C
 
     @Query("SELECT c FROM Comment c WHERE c.user.id=?1")
     Page<Comment> findAllInUser(Long userId, Pageable pageable);
+
+    @Query("""
+            SELECT new com.example.blog.comment.CommentExport(c.id, c.post.id, c.user.id, c.body, c.createdDate, c.modifiedDate)
+            FROM Comment c
+            WHERE c.post.id IN ?1
+            ORDER BY c.id""")
+    List<CommentExport> findExportsByPostIdIn(Collection<Long> postIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM comments WHERE post_id IN (?1)", nativeQuery = true)
+    int deleteByPostIdIn(Collection<Long> postIds);
+
+    // in the order of idx_comments_user_created_date_id, so no chunk sorts all comments of the user
+    @Query("SELECT c.id FROM Comment c WHERE c.user.id = ?1 ORDER BY c.createdDate, c.id")
+    List<Long> findIdsByUserId(Long userId, Pageable pageable);
+
+    @Query(value = "SELECT DISTINCT post_id FROM comments WHERE id IN (?1)", nativeQuery = true)
+    List<Long> findPostIdsByIdIn(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM comments WHERE id IN (?1)", nativeQuery = true)
+    int deleteByIdIn(Collection<Long> ids);
 }
@@ -14,21 +14,26 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.UUID;
+
 @Service
 public class CommentService {
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
     private final UserRetrievalService userRetrievalService;
     private final AuthorizationService authorizationService;
+    private final CommentWriteBehind commentWriteBehind;
 
     public CommentService(CommentRepository commentRepository,
                           PostRepository postRepository,
                           UserRetrievalService userRetrievalService,
-                          AuthorizationService authorizationService) {
+                          AuthorizationService authorizationService,
+                          CommentWriteBehind commentWriteBehind) {
         this.commentRepository = commentRepository;
         this.postRepository = postRepository;
         this.userRetrievalService = userRetrievalService;
         this.authorizationService = authorizationService;
+        this.commentWriteBehind = commentWriteBehind;
     }
 
     public Page<Comment> getCommentsAsPage(Long postId, Pageable pageable) {
@@ -56,7 +61,29 @@ public class CommentService {
                 .user(user)
                 .post(post).build();
 
-        return commentRepository.save(comment);
+        Comment saved = commentRepository.save(comment);
+        postRepository.incrementCommentCount(postId, commentedAt(comment));
+
+        return saved;
+    }
+
+    public boolean isWriteBehindEnabled() {
+        return commentWriteBehind.isEnabled();
+    }
+
+    /**
+     * Accepts the comment for write-behind, only the post existence is checked before responding.
+     */
+    public PendingComment saveLater(Long postId, CommentRequest request, UserPrincipal currentUser) {
+        checkIfPostWithGivenIdExists(postId);
+
+        return commentWriteBehind.enqueue(postId, currentUser.getId(), request.getBody());
+    }
+
+    public PendingComment getPending(Long postId, UUID pendingCommentId) {
+        return commentWriteBehind.find(pendingCommentId)
+                .filter(pending -> pending.postId().equals(postId))
+                .orElseThrow(() -> new ResourceNotFoundException("Pending comment with id [%s] does not exist".formatted(pendingCommentId)));
     }
 
     @Transactional
@@ -80,6 +107,7 @@ public class CommentService {
         hasAuthorizationForUpdateOrDeleteEntity(comment, currentUser);
 
         commentRepository.delete(comment);
+        postRepository.decrementCommentCount(postId);
     }
 
     private void checkIfPostWithGivenIdExists(Long postId) {
@@ -108,6 +136,10 @@ public class CommentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Post with id [%d] does not exist".formatted(postId)));
     }
 
+    static long commentedAt(Comment comment) {
+        return comment.getCreatedDate() != null ? comment.getCreatedDate() : System.currentTimeMillis();
+    }
+
     private boolean commentDoesNotBelongToPost(Comment comment, Post post) {
         return !post.getId().equals(comment.getPost().getId());
     }
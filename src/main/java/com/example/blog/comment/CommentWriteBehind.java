@@ -0,0 +1,178 @@
+package com.example.blog.comment;
+
+import com.example.blog.entity.Comment;
+import com.example.blog.exception.TooManyRequestsException;
+import com.example.blog.post.PostRepository;
+import com.example.blog.user.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Optional write-behind for comment creation. Accepted comments wait in a bounded queue and are inserted
+ * by a background worker, one transaction per batch, with post and user attached as references instead of
+ * loaded entities. A full queue rejects new comments rather than letting request threads pile up on the pool.
+ */
+@Component
+public class CommentWriteBehind {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CommentWriteBehind.class);
+
+    private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final BlockingQueue<QueuedComment> queue;
+    private final Cache<UUID, PendingComment> statuses;
+    // a lock rather than synchronized, flush does JDBC work and must not pin a virtual carrier thread
+    private final Lock flushLock = new ReentrantLock();
+
+    public CommentWriteBehind(CommentRepository commentRepository,
+                              PostRepository postRepository,
+                              UserRepository userRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.comments.write-behind.enabled:false}") boolean enabled,
+                              @Value("${app.comments.write-behind.queue-capacity:10000}") int queueCapacity,
+                              @Value("${app.comments.write-behind.batch-size:100}") int batchSize,
+                              @Value("${app.comments.write-behind.status-ttl:10m}") Duration statusTtl,
+                              @Value("${app.comments.write-behind.status-max-size:100000}") long statusMaxSize) {
+        this.commentRepository = commentRepository;
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.statuses = Caffeine.newBuilder()
+                .expireAfterWrite(statusTtl)
+                .maximumSize(statusMaxSize)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues the comment without touching the database.
+     *
+     * @throws TooManyRequestsException when the queue is full
+     */
+    public PendingComment enqueue(Long postId, Long userId, String body) {
+        PendingComment pending = PendingComment.pending(postId);
+        statuses.put(pending.id(), pending);
+
+        if (!queue.offer(new QueuedComment(pending, userId, body))) {
+            statuses.invalidate(pending.id());
+            throw new TooManyRequestsException("Too many comments waiting to be saved, try again later");
+        }
+
+        return pending;
+    }
+
+    public Optional<PendingComment> find(UUID id) {
+        return Optional.ofNullable(statuses.getIfPresent(id));
+    }
+
+    @Scheduled(fixedDelayString = "${app.comments.write-behind.flush-interval-ms:100}")
+    public void flush() {
+        // the schedule runs whether or not the mode is on, nothing is ever queued when it's off
+        if (!enabled) {
+            return;
+        }
+
+        flushLock.lock();
+        try {
+            List<QueuedComment> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                write(batch);
+                batch.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void drain() {
+        if (!queue.isEmpty()) {
+            LOGGER.info("Saving {} queued comments before shutdown", queue.size());
+            flush();
+        }
+    }
+
+    int queued() {
+        return queue.size();
+    }
+
+    private void write(List<QueuedComment> batch) {
+        try {
+            List<Comment> comments = transactionTemplate.execute(status -> insert(batch));
+            for (int i = 0; i < batch.size(); i++) {
+                markSaved(batch.get(i), comments.get(i));
+            }
+        } catch (RuntimeException ex) {
+            // one bad row (e.g. post deleted meanwhile) must not fail the whole batch
+            LOGGER.warn("Saving batch of {} comments failed, saving them one by one", batch.size(), ex);
+            batch.forEach(this::writeOne);
+        }
+    }
+
+    private void writeOne(QueuedComment queued) {
+        try {
+            markSaved(queued, transactionTemplate.execute(status -> insert(List.of(queued))).get(0));
+        } catch (RuntimeException ex) {
+            LOGGER.error("Saving comment for post with id [{}] failed", queued.pending().postId(), ex);
+            statuses.put(queued.pending().id(), queued.pending().failed("Comment could not be saved"));
+        }
+    }
+
+    private List<Comment> insert(List<QueuedComment> batch) {
+        List<Comment> comments = commentRepository.saveAll(batch.stream()
+                .map(this::toComment)
+                .toList());
+
+        Map<Long, List<Comment>> commentsByPost = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            commentsByPost.computeIfAbsent(batch.get(i).pending().postId(), id -> new ArrayList<>()).add(comments.get(i));
+        }
+        commentsByPost.forEach((postId, postComments) -> postRepository.incrementCommentCountBy(postId,
+                postComments.size(),
+                postComments.stream().mapToLong(CommentService::commentedAt).max().orElseThrow()));
+
+        return comments;
+    }
+
+    private Comment toComment(QueuedComment queued) {
+        Comment comment = Comment.builder()
+                .body(queued.body())
+                .post(postRepository.getReferenceById(queued.pending().postId()))
+                .user(userRepository.getReferenceById(queued.userId())).build();
+        // the worker has no security context for auditing to read the author from
+        comment.setCreatedBy(queued.userId());
+
+        return comment;
+    }
+
+    private void markSaved(QueuedComment queued, Comment comment) {
+        statuses.put(queued.pending().id(), queued.pending().saved(comment.getId()));
+    }
+
+    private record QueuedComment(PendingComment pending, Long userId, String body) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.blog.comment;
+
+import java.util.UUID;
+
+/**
+ * State of a comment accepted in write-behind mode, polled by the client until it is saved or failed.
+ */
+public record PendingComment(UUID id,
+                             Long postId,
+                             Status status,
+                             Long commentId,
+                             String error) {
+    public enum Status {
+        PENDING, SAVED, FAILED
+    }
+
+    public static PendingComment pending(Long postId) {
+        return new PendingComment(UUID.randomUUID(), postId, Status.PENDING, null, null);
+    }
+
+    public PendingComment saved(Long commentId) {
+        return new PendingComment(id, postId, Status.SAVED, commentId, null);
+    }
+
+    public PendingComment failed(String error) {
+        return new PendingComment(id, postId, Status.FAILED, null, error);
+    }
+}
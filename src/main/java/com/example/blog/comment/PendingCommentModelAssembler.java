@@ -0,0 +1,32 @@
+package com.example.blog.comment;
+
+import com.example.blog.base.LinkTemplates;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.server.mvc.RepresentationModelAssemblerSupport;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PendingCommentModelAssembler extends RepresentationModelAssemblerSupport<PendingComment, PendingCommentResponse> {
+
+    public PendingCommentModelAssembler() {
+        super(CommentController.class, PendingCommentResponse.class);
+    }
+
+    @Override
+    @NonNull
+    public PendingCommentResponse toModel(@NonNull PendingComment pendingComment) {
+        PendingCommentResponse model = PendingCommentResponse.builder()
+                .id(pendingComment.id())
+                .status(pendingComment.status())
+                .commentId(pendingComment.commentId())
+                .error(pendingComment.error()).build();
+
+        model.add(LinkTemplates.PENDING_COMMENT.link(IanaLinkRelations.SELF, pendingComment.postId(), pendingComment.id()));
+        if (pendingComment.status() == PendingComment.Status.SAVED) {
+            model.add(LinkTemplates.COMMENT.link("comment", pendingComment.postId(), pendingComment.commentId()));
+        }
+
+        return model;
+    }
+}
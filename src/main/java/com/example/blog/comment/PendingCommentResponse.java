@@ -0,0 +1,19 @@
+package com.example.blog.comment;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.util.UUID;
+
+@Getter @Setter
+@Builder
+@Relation(itemRelation = "pendingComment", collectionRelation = "pendingComments")
+public class PendingCommentResponse extends RepresentationModel<PendingCommentResponse> {
+    private UUID id;
+    private PendingComment.Status status;
+    private Long commentId;
+    private String error;
+}
@@ -0,0 +1,13 @@
+package com.example.blog.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * {@code @Async} methods run on the {@code applicationTaskExecutor}, a bounded platform-thread pool by default
+ * (see {@code spring.task.execution.*}) or virtual threads when built with the java21 profile.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
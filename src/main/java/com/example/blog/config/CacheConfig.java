@@ -0,0 +1,18 @@
+package com.example.blog.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the cache abstraction for reference data. The provider comes from {@code spring.cache.type}:
+ * Caffeine in the application, {@code simple} (in-memory map) is enough for tests.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String CATEGORIES = "categories";
+    public static final String CATEGORY_PAGES = "category-pages";
+    public static final String TAGS = "tags";
+    public static final String TAG_PAGES = "tag-pages";
+    public static final String POST_REPRESENTATIONS = "post-representations";
+}
@@ -0,0 +1,57 @@
+package com.example.blog.config;
+
+import com.example.blog.entity.IdGenerators;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Moves every id generator row in {@link IdGenerators#TABLE} past the highest id already in its table.
+ * Needed once for rows inserted with IDENTITY, safe on every start and on several nodes - the value
+ * only ever grows, so blocks already reserved by running nodes stay valid.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class IdSequenceSeeder implements InitializingBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdSequenceSeeder.class);
+
+    // segment -> table, table names can't be bound as parameters so they are fixed here
+    private static final Map<String, String> SEGMENTS = Map.of(
+            IdGenerators.POSTS, "posts",
+            IdGenerators.COMMENTS, "comments",
+            IdGenerators.TAGS, "tags",
+            IdGenerators.CATEGORIES, "categories",
+            IdGenerators.USERS, "users");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceSeeder(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        SEGMENTS.forEach(this::seed);
+    }
+
+    private void seed(String segment, String table) {
+        jdbcTemplate.update("INSERT IGNORE INTO %s (%s, %s) VALUES (?, 0)"
+                .formatted(IdGenerators.TABLE, IdGenerators.SEGMENT_COLUMN, IdGenerators.VALUE_COLUMN), segment);
+
+        // the pooled optimizer hands out (value - allocation size, value], so the stored value must
+        // be at least max(id) + allocation size for the first block to start above existing rows
+        jdbcTemplate.update("""
+                UPDATE %1$s
+                SET %3$s = GREATEST(%3$s, (SELECT COALESCE(MAX(id), 0) + ? FROM %4$s))
+                WHERE %2$s = ?"""
+                .formatted(IdGenerators.TABLE, IdGenerators.SEGMENT_COLUMN, IdGenerators.VALUE_COLUMN, table),
+                IdGenerators.ALLOCATION_SIZE, segment);
+        LOGGER.debug("Id generator {} seeded from {}", segment, table);
+    }
+}
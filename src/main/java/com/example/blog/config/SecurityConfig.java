@@ -1,5 +1,8 @@
 package com.example.blog.config;
 
+import com.example.blog.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,13 +14,24 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.security.Provider;
+import java.time.Duration;
 
 @Configuration
 public class SecurityConfig {
 
+    /**
+     * BCrypt off the request threads, logins on a pool sized to the cores and new passwords on a pool of their own,
+     * both with a bounded queue.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.password-hashing.threads:0}") int threads,
+                                           @Value("${app.security.password-hashing.queue-capacity:100}") int queueCapacity,
+                                           @Value("${app.security.password-hashing.encode-threads:1}") int encodeThreads,
+                                           @Value("${app.security.password-hashing.encode-queue-capacity:20}") int encodeQueueCapacity,
+                                           @Value("${app.security.password-hashing.timeout:2s}") Duration timeout,
+                                           MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, queueCapacity,
+                encodeThreads, encodeQueueCapacity, timeout, meterRegistry);
     }
 
     @Bean
@@ -0,0 +1,39 @@
+package com.example.blog.config;
+
+import com.example.blog.metrics.SqlMetricsInterceptor;
+import com.example.blog.metrics.SqlStatementInspector;
+import com.example.blog.metrics.SqlTimingListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+
+/**
+ * Per-endpoint SQL metrics, exposed under {@code /actuator/metrics}. The interceptor is registered as a
+ * {@link MappedInterceptor} bean rather than through {@code WebMvcConfig}, so web slice tests don't need
+ * a meter registry.
+ */
+@Configuration
+@ConditionalOnProperty(value = "app.sql-metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlMetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlMetricsHibernateCustomizer(
+            @Value("${app.sql-metrics.tag-statements:true}") boolean tagStatements) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementInspector(tagStatements));
+            // a listener configured explicitly (e.g. by a test) wins, Hibernate takes only one class here
+            properties.putIfAbsent(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTimingListener.class.getName());
+        };
+    }
+
+    @Bean
+    public MappedInterceptor sqlMetricsInterceptor(MeterRegistry meterRegistry,
+                                                   @Value("${app.sql-metrics.n-plus-one-threshold:20}") int statementThreshold) {
+        return new MappedInterceptor(new String[]{"/api/**"}, new SqlMetricsInterceptor(meterRegistry, statementThreshold));
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.blog.deletion;
+
+import com.example.blog.category.CategoryRepository;
+import com.example.blog.comment.CommentRepository;
+import com.example.blog.config.CacheConfig;
+import com.example.blog.post.PostRepository;
+import com.example.blog.search.PostSearchIndex;
+import com.example.blog.tag.OrphanedTagCleaner;
+import com.example.blog.tag.TagRepository;
+import com.example.blog.user.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Deletes categories, tags and user accounts with set-based {@code DELETE ... WHERE} statements, a chunk of
+ * posts (or comments, tag links) per transaction, without loading any entity. Runs on the {@code @Async}
+ * executor and reports progress to {@link DeletionJobs}, pausing {@code app.deletions.chunk-pause} between
+ * chunks so a large deletion doesn't compete with requests for the database. The category, tag or user row
+ * goes last, until then the resource stays readable; a failed deletion keeps the chunks already committed and
+ * continues where it stopped when started again.
+ */
+@Component
+public class BulkDeleter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkDeleter.class);
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final TagRepository tagRepository;
+    private final CategoryRepository categoryRepository;
+    private final UserRepository userRepository;
+    private final OrphanedTagCleaner orphanedTagCleaner;
+    private final PostSearchIndex postSearchIndex;
+    private final CacheManager cacheManager;
+    private final DeletionJobs deletionJobs;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration chunkPause;
+
+    public BulkDeleter(PostRepository postRepository,
+                       CommentRepository commentRepository,
+                       TagRepository tagRepository,
+                       CategoryRepository categoryRepository,
+                       UserRepository userRepository,
+                       OrphanedTagCleaner orphanedTagCleaner,
+                       PostSearchIndex postSearchIndex,
+                       CacheManager cacheManager,
+                       DeletionJobs deletionJobs,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${app.deletions.batch-size:500}") int batchSize,
+                       @Value("${app.deletions.chunk-pause:100ms}") Duration chunkPause) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.tagRepository = tagRepository;
+        this.categoryRepository = categoryRepository;
+        this.userRepository = userRepository;
+        this.orphanedTagCleaner = orphanedTagCleaner;
+        this.postSearchIndex = postSearchIndex;
+        this.cacheManager = cacheManager;
+        this.deletionJobs = deletionJobs;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.chunkPause = chunkPause;
+    }
+
+    /**
+     * Deletes the posts of the category with their comments and tag links, then the category.
+     */
+    @Async
+    public void deleteCategory(DeletionJob job) {
+        run(job, () -> {
+            Long categoryId = job.resourceId();
+            List<Long> postIds;
+            while (!(postIds = postRepository.findIdsByCategoryId(categoryId, PageRequest.of(0, batchSize))).isEmpty()) {
+                List<Long> chunk = postIds;
+                deletionJobs.progress(job, transactionTemplate.execute(status -> deletePosts(chunk)));
+                evictPostRepresentations(chunk);
+                pause();
+            }
+
+            deletionJobs.progress(job, transactionTemplate.execute(status -> categoryRepository.deleteCategoryById(categoryId)));
+            evict(CacheConfig.CATEGORIES, categoryId);
+            clear(CacheConfig.CATEGORY_PAGES);
+        });
+    }
+
+    /**
+     * Detaches the tag from its posts, then deletes the tag. The posts themselves are kept.
+     */
+    @Async
+    public void deleteTag(DeletionJob job) {
+        run(job, () -> {
+            Long tagId = job.resourceId();
+            List<Long> postIds;
+            while (!(postIds = tagRepository.findPostIdsByTagId(tagId, batchSize)).isEmpty()) {
+                List<Long> chunk = postIds;
+                deletionJobs.progress(job, transactionTemplate.execute(status -> tagRepository.deletePostLinks(tagId, chunk)));
+                evictPostRepresentations(chunk);
+                pause();
+            }
+
+            deletionJobs.progress(job, transactionTemplate.execute(status -> tagRepository.deleteTagById(tagId)));
+            evict(CacheConfig.TAGS, tagId);
+            clear(CacheConfig.TAG_PAGES);
+        });
+    }
+
+    /**
+     * Purges the comments of the user, then their posts with the comments of others and tag links, then the
+     * account. The user is expected to be disabled already, so nothing new is written meanwhile.
+     */
+    @Async
+    public void deleteUser(DeletionJob job) {
+        run(job, () -> {
+            Long userId = job.resourceId();
+            List<Long> commentIds;
+            while (!(commentIds = commentRepository.findIdsByUserId(userId, PageRequest.of(0, batchSize))).isEmpty()) {
+                List<Long> chunk = commentIds;
+                List<Long> postIds = new ArrayList<>();
+                deletionJobs.progress(job, transactionTemplate.execute(status -> {
+                    postIds.addAll(commentRepository.findPostIdsByIdIn(chunk));
+                    int deleted = commentRepository.deleteByIdIn(chunk);
+                    postRepository.recountComments(postIds);
+                    return deleted;
+                }));
+                evictPostRepresentations(postIds);
+                pause();
+            }
+
+            List<Long> postIds;
+            while (!(postIds = postRepository.findIdsByUserId(userId, PageRequest.of(0, batchSize))).isEmpty()) {
+                List<Long> chunk = postIds;
+                deletionJobs.progress(job, transactionTemplate.execute(status -> deletePosts(chunk)));
+                evictPostRepresentations(chunk);
+                pause();
+            }
+
+            deletionJobs.progress(job, transactionTemplate.execute(status ->
+                    userRepository.deleteRolesByUserId(userId) + userRepository.deleteUserById(userId)));
+        });
+    }
+
+    private void run(DeletionJob job, Runnable deletion) {
+        LOGGER.info("Deleting {} with id [{}]", job.resource(), job.resourceId());
+        try {
+            deletion.run();
+            deletionJobs.complete(job);
+            LOGGER.info("Deleted {} with id [{}]", job.resource(), job.resourceId());
+        } catch (RuntimeException ex) {
+            LOGGER.error("Deleting {} with id [{}] failed", job.resource(), job.resourceId(), ex);
+            deletionJobs.fail(job, "Deletion failed, delete again to continue");
+        }
+    }
+
+    // comments and tag links first, their foreign keys reference the posts
+    private int deletePosts(List<Long> postIds) {
+        List<Long> tagIds = postRepository.findTagIdsByPostIdIn(postIds);
+
+        int deleted = commentRepository.deleteByPostIdIn(postIds)
+                + postRepository.deleteTagLinksByPostIdIn(postIds)
+                + postRepository.deletePostsIn(postIds);
+
+        orphanedTagCleaner.checkAfterCommit(tagIds);
+        postIds.forEach(postSearchIndex::removeAfterCommit);
+        return deleted;
+    }
+
+    private void pause() {
+        if (chunkPause.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(chunkPause.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted between chunks", ex);
+        }
+    }
+
+    private void evictPostRepresentations(Collection<Long> postIds) {
+        postIds.forEach(postId -> evict(CacheConfig.POST_REPRESENTATIONS, postId));
+    }
+
+    private void evict(String cacheName, Long key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.blog.deletion;
+
+import com.example.blog.exception.ResourceNotFoundException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/deletions")
+public class DeletionController {
+    private final DeletionJobs deletionJobs;
+    private final DeletionJobModelAssembler deletionJobModelAssembler;
+
+    public DeletionController(DeletionJobs deletionJobs, DeletionJobModelAssembler deletionJobModelAssembler) {
+        this.deletionJobs = deletionJobs;
+        this.deletionJobModelAssembler = deletionJobModelAssembler;
+    }
+
+    @GetMapping("{id}")
+    public ResponseEntity<DeletionJobResponse> get(@PathVariable("id") UUID deletionId) {
+        DeletionJob job = deletionJobs.find(deletionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Deletion with id [%s] does not exist".formatted(deletionId)));
+        DeletionJobResponse model = deletionJobModelAssembler.toModel(job);
+
+        return job.status() == DeletionJob.Status.RUNNING
+                ? ResponseEntity.accepted().body(model)
+                : ResponseEntity.ok(model);
+    }
+}
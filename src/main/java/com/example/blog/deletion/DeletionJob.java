@@ -0,0 +1,38 @@
+package com.example.blog.deletion;
+
+import java.util.UUID;
+
+/**
+ * State of a bulk deletion running in the background, polled by the client until it is completed or failed.
+ * {@code deletedRows} counts rows deleted so far over all tables (posts, comments, tag links).
+ */
+public record DeletionJob(UUID id,
+                          Resource resource,
+                          Long resourceId,
+                          Status status,
+                          long deletedRows,
+                          String error) {
+    public enum Resource {
+        CATEGORY, TAG, USER
+    }
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    public static DeletionJob running(Resource resource, Long resourceId) {
+        return new DeletionJob(UUID.randomUUID(), resource, resourceId, Status.RUNNING, 0, null);
+    }
+
+    public DeletionJob progressed(long rows) {
+        return new DeletionJob(id, resource, resourceId, status, deletedRows + rows, null);
+    }
+
+    public DeletionJob completed() {
+        return new DeletionJob(id, resource, resourceId, Status.COMPLETED, deletedRows, null);
+    }
+
+    public DeletionJob failed(String error) {
+        return new DeletionJob(id, resource, resourceId, Status.FAILED, deletedRows, error);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.blog.deletion;
+
+import com.example.blog.base.LinkTemplates;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.server.mvc.RepresentationModelAssemblerSupport;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+@Component
+public class DeletionJobModelAssembler extends RepresentationModelAssemblerSupport<DeletionJob, DeletionJobResponse> {
+
+    public DeletionJobModelAssembler() {
+        super(DeletionController.class, DeletionJobResponse.class);
+    }
+
+    @Override
+    @NonNull
+    public DeletionJobResponse toModel(@NonNull DeletionJob job) {
+        DeletionJobResponse model = DeletionJobResponse.builder()
+                .id(job.id())
+                .resource(job.resource())
+                .resourceId(job.resourceId())
+                .status(job.status())
+                .deletedRows(job.deletedRows())
+                .error(job.error()).build();
+
+        model.add(LinkTemplates.DELETION.link(IanaLinkRelations.SELF, job.id()));
+
+        return model;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.blog.deletion;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.util.UUID;
+
+@Getter @Setter
+@Builder
+@Relation(itemRelation = "deletion", collectionRelation = "deletions")
+public class DeletionJobResponse extends RepresentationModel<DeletionJobResponse> {
+    private UUID id;
+    private DeletionJob.Resource resource;
+    private Long resourceId;
+    private DeletionJob.Status status;
+    private long deletedRows;
+    private String error;
+}
@@ -0,0 +1,89 @@
+package com.example.blog.deletion;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bulk deletions in progress and recently finished. At most one deletion runs per resource, deleting a resource
+ * that is already being deleted returns the running job. Finished jobs can be polled until they expire.
+ */
+@Component
+public class DeletionJobs {
+    private final Map<ResourceKey, DeletionJob> running = new ConcurrentHashMap<>();
+    private final Cache<UUID, DeletionJob> finished;
+
+    public DeletionJobs(@Value("${app.deletions.status-ttl:1h}") Duration statusTtl,
+                        @Value("${app.deletions.status-max-size:10000}") long statusMaxSize) {
+        this.finished = Caffeine.newBuilder()
+                .expireAfterWrite(statusTtl)
+                .maximumSize(statusMaxSize)
+                .build();
+    }
+
+    /**
+     * Registers a deletion of the resource and hands it to {@code deletion}, which is expected to return
+     * immediately and report back through this registry.
+     */
+    public DeletionJob start(DeletionJob.Resource resource, Long resourceId, Consumer<DeletionJob> deletion) {
+        ResourceKey key = new ResourceKey(resource, resourceId);
+        DeletionJob job = DeletionJob.running(resource, resourceId);
+        DeletionJob current = running.putIfAbsent(key, job);
+        if (current != null) {
+            return current;
+        }
+
+        try {
+            deletion.accept(job);
+        } catch (RuntimeException ex) {
+            // e.g. rejected by the executor, nothing was deleted
+            running.remove(key);
+            throw ex;
+        }
+        return find(job.id()).orElse(job);
+    }
+
+    public Optional<DeletionJob> find(UUID id) {
+        DeletionJob job = finished.getIfPresent(id);
+        if (job != null) {
+            return Optional.of(job);
+        }
+        return running.values().stream()
+                .filter(runningJob -> runningJob.id().equals(id))
+                .findFirst();
+    }
+
+    void progress(DeletionJob job, long rows) {
+        running.computeIfPresent(ResourceKey.of(job), (key, current) -> current.progressed(rows));
+    }
+
+    void complete(DeletionJob job) {
+        finish(job, DeletionJob::completed);
+    }
+
+    void fail(DeletionJob job, String error) {
+        finish(job, current -> current.failed(error));
+    }
+
+    private void finish(DeletionJob job, UnaryOperator<DeletionJob> state) {
+        ResourceKey key = ResourceKey.of(job);
+        // published as finished before it leaves the running jobs, so polling never misses it
+        finished.put(job.id(), state.apply(running.getOrDefault(key, job)));
+        running.remove(key);
+    }
+
+    private record ResourceKey(DeletionJob.Resource resource, Long resourceId) {
+        static ResourceKey of(DeletionJob job) {
+            return new ResourceKey(job.resource(), job.resourceId());
+        }
+    }
+}
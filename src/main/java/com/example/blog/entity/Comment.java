@@ -6,13 +6,19 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_post_created_date_id", columnList = "post_id, created_date, id"),
+        @Index(name = "idx_comments_user_created_date_id", columnList = "user_id, created_date, id")
+})
 @Getter @Setter
 @AllArgsConstructor @NoArgsConstructor
 @Builder
 public class Comment extends UserDateAudit implements UserOwnedEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "comments_id")
+    @TableGenerator(name = "comments_id", table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.SEGMENT_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = IdGenerators.COMMENTS, allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
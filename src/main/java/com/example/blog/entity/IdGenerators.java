@@ -0,0 +1,22 @@
+package com.example.blog.entity;
+
+/**
+ * Hi/lo id generation shared by the entities. Each entity has a row in {@link #TABLE}, a node reserves
+ * {@link #ALLOCATION_SIZE} ids from it with one update and hands them out from memory (pooled optimizer).
+ * Unlike IDENTITY the id is known before the insert, so Hibernate can send inserts as JDBC batches.
+ */
+public final class IdGenerators {
+    public static final String TABLE = "id_sequences";
+    public static final String SEGMENT_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    public static final String POSTS = "posts";
+    public static final String COMMENTS = "comments";
+    public static final String TAGS = "tags";
+    public static final String CATEGORIES = "categories";
+    public static final String USERS = "users";
+
+    private IdGenerators() {
+    }
+}
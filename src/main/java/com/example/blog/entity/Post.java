@@ -8,36 +8,55 @@ import lombok.*;
 import java.util.*;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_posts_title", columnNames = "title")
+}, indexes = {
+        @Index(name = "idx_posts_created_date_id", columnList = "created_date, id"),
+        @Index(name = "idx_posts_category_created_date_id", columnList = "category_id, created_date, id"),
+        @Index(name = "idx_posts_user_created_date_id", columnList = "user_id, created_date, id")
+})
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
 @Builder
 public class Post extends UserDateAudit implements UserOwnedEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "posts_id")
+    @TableGenerator(name = "posts_id", table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.SEGMENT_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = IdGenerators.POSTS, allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String title;
 
     @Column(nullable = false)
     private String body;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
 
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Comment> comments = new ArrayList<>();
 
+    // maintained by CommentService with atomic updates, never written from the entity
+    // so that saving a post can't overwrite a concurrent increment
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint not null default 0")
+    private long commentCount;
+
+    @Column(name = "last_comment_at", insertable = false, updatable = false)
+    private Long lastCommentAt;
+
     @ManyToMany
     @JoinTable(name = "post_tag",
             joinColumns = @JoinColumn(name = "post_id"),
-            inverseJoinColumns = @JoinColumn(name = "tag_id")
+            inverseJoinColumns = @JoinColumn(name = "tag_id"),
+            indexes = @Index(name = "idx_post_tag_tag_id_post_id", columnList = "tag_id, post_id")
     )
     private Set<Tag> tags = new HashSet<>();
 
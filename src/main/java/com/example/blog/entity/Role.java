@@ -6,7 +6,9 @@ import lombok.*;
 import org.hibernate.annotations.NaturalId;
 
 @Entity
-@Table(name = "roles")
+@Table(name = "roles", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_roles_name", columnNames = "name")
+})
 @Getter @Setter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,7 +20,7 @@ public class Role {
 
     @NaturalId
     @Enumerated(value = EnumType.STRING)
-    @Column(length = 40, nullable = false, unique = true)
+    @Column(length = 40, nullable = false)
     private AppRoles name;
 
     @Column(length = 150)
@@ -1,12 +1,18 @@
 package com.example.blog.exception;
 
+import com.example.blog.uniqueness.UniqueKey;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.crossstore.ChangeSetPersister;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -86,6 +92,57 @@ public class DefaultExceptionHandler {
         return new ResponseEntity<>(apiError, HttpStatus.FORBIDDEN);
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiError> handleException(TooManyRequestsException e, HttpServletRequest request) {
+        LOGGER.warn(e.getMessage());
+
+        ApiError apiError = new ApiError(
+                request.getRequestURI(),
+                List.of(e.getMessage()),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                new Date()
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(apiError);
+    }
+
+    // no database connection within spring.datasource.hikari.connection-timeout, the pool is saturated
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ApiError> handleException(CannotCreateTransactionException e, HttpServletRequest request) {
+        LOGGER.error(e.getMessage(), e);
+
+        ApiError apiError = new ApiError(
+                request.getRequestURI(),
+                List.of("Service is temporarily overloaded, try again later"),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                new Date()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(apiError);
+    }
+
+    // a unique constraint caught a duplicate the checks before the insert missed, e.g. a concurrent request
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ApiError> handleException(DataIntegrityViolationException e, HttpServletRequest request) {
+        if (UniqueKey.duplicateEntry(e).isEmpty()) {
+            return handleException((Exception) e, request);
+        }
+        LOGGER.error(e.getMessage(), e);
+
+        String message = UniqueKey.violatedBy(e)
+                .map(UniqueKey::conflictMessage)
+                .orElse("Resource already exists");
+        ApiError apiError = new ApiError(
+                request.getRequestURI(),
+                List.of(message),
+                HttpStatus.CONFLICT.value(),
+                new Date()
+        );
+        return new ResponseEntity<>(apiError, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> handleValidationErrors(MethodArgumentNotValidException e, HttpServletRequest request) {
         LOGGER.error(e.getMessage(), e);
@@ -104,6 +161,21 @@ public class DefaultExceptionHandler {
         return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+    public ResponseEntity<ApiError> handleException(HttpMediaTypeNotSupportedException e, HttpServletRequest request) {
+        LOGGER.warn(e.getMessage());
+
+        ApiError apiError = new ApiError(
+                request.getRequestURI(),
+                List.of(e.getMessage()),
+                HttpStatus.UNSUPPORTED_MEDIA_TYPE.value(),
+                new Date()
+        );
+        return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+                .header(HttpHeaders.ACCEPT, MediaType.toString(e.getSupportedMediaTypes()))
+                .body(apiError);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleException(Exception e, HttpServletRequest request) {
         LOGGER.error(e.getMessage(), e);
@@ -0,0 +1,76 @@
+package com.example.blog.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the SQL issued while a controller method handles a request and records it per endpoint:
+ * {@value #STATEMENTS_METRIC} (statements per request) and {@value #TIME_METRIC} (JDBC time per request),
+ * both with percentile histograms. Requests over the statement threshold are logged as likely N+1 queries.
+ */
+public class SqlMetricsInterceptor implements AsyncHandlerInterceptor {
+    static final String STATEMENTS_METRIC = "sql.request.statements";
+    static final String TIME_METRIC = "sql.request.time";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SqlMetricsInterceptor.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int statementThreshold;
+
+    public SqlMetricsInterceptor(MeterRegistry meterRegistry, int statementThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.statementThreshold = statementThreshold;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            SqlRequestMetrics.begin(method.getBeanType().getSimpleName() + "." + method.getMethod().getName());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // the rest of the request runs on another thread, only the part handled so far is recorded
+        record(SqlRequestMetrics.end());
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        record(SqlRequestMetrics.end());
+    }
+
+    private void record(SqlRequestMetrics metrics) {
+        if (metrics == null) {
+            return;
+        }
+
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .description("SQL statements issued per request")
+                .tag("endpoint", metrics.endpoint())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(metrics.statements());
+        Timer.builder(TIME_METRIC)
+                .description("Time spent executing SQL per request")
+                .tag("endpoint", metrics.endpoint())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(metrics.jdbcNanos(), TimeUnit.NANOSECONDS);
+
+        if (metrics.statements() > statementThreshold) {
+            LOGGER.warn("{} issued {} SQL statements in one request (threshold {}), likely an N+1 query",
+                    metrics.endpoint(), metrics.statements(), statementThreshold);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.blog.metrics;
+
+/**
+ * SQL statements issued and JDBC time spent by the request handled on the current thread.
+ * Started and ended by {@link SqlMetricsInterceptor}, filled by {@link SqlStatementInspector} and
+ * {@link SqlTimingListener}. Work outside a request (scheduled jobs, async export bodies) isn't tracked.
+ */
+final class SqlRequestMetrics {
+    private static final ThreadLocal<SqlRequestMetrics> CURRENT = new ThreadLocal<>();
+
+    private final String endpoint;
+    private int statements;
+    private long jdbcNanos;
+    private long executeStart;
+
+    private SqlRequestMetrics(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    static SqlRequestMetrics begin(String endpoint) {
+        SqlRequestMetrics metrics = new SqlRequestMetrics(endpoint);
+        CURRENT.set(metrics);
+        return metrics;
+    }
+
+    static SqlRequestMetrics current() {
+        return CURRENT.get();
+    }
+
+    static SqlRequestMetrics end() {
+        SqlRequestMetrics metrics = CURRENT.get();
+        CURRENT.remove();
+        return metrics;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    int statements() {
+        return statements;
+    }
+
+    long jdbcNanos() {
+        return jdbcNanos;
+    }
+
+    void statementPrepared() {
+        statements++;
+    }
+
+    void executeStarted() {
+        executeStart = System.nanoTime();
+    }
+
+    void executeEnded() {
+        if (executeStart != 0) {
+            jdbcNanos += System.nanoTime() - executeStart;
+            executeStart = 0;
+        }
+    }
+}
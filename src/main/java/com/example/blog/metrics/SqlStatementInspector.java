@@ -0,0 +1,28 @@
+package com.example.blog.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every statement Hibernate prepares for the current request and, when enabled, prefixes it with
+ * a comment naming the handling controller method (e.g. {@code PostController.getPostsByTag}),
+ * so it can be traced back from the MySQL processlist or slow query log.
+ */
+public class SqlStatementInspector implements StatementInspector {
+    private final boolean tagStatements;
+
+    public SqlStatementInspector(boolean tagStatements) {
+        this.tagStatements = tagStatements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        SqlRequestMetrics metrics = SqlRequestMetrics.current();
+        if (metrics == null) {
+            return sql;
+        }
+
+        metrics.statementPrepared();
+
+        return tagStatements ? "/* " + metrics.endpoint() + " */ " + sql : sql;
+    }
+}
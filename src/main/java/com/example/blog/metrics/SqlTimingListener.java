@@ -0,0 +1,44 @@
+package com.example.blog.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the time spent executing JDBC statements and batches to the current request's {@link SqlRequestMetrics}.
+ * Hibernate creates one per session, registered with {@code hibernate.session.events.auto}.
+ */
+public class SqlTimingListener implements SessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        started();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        ended();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        started();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        ended();
+    }
+
+    private static void started() {
+        SqlRequestMetrics metrics = SqlRequestMetrics.current();
+        if (metrics != null) {
+            metrics.executeStarted();
+        }
+    }
+
+    private static void ended() {
+        SqlRequestMetrics metrics = SqlRequestMetrics.current();
+        if (metrics != null) {
+            metrics.executeEnded();
+        }
+    }
+}
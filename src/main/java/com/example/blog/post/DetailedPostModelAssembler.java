@@ -1,17 +1,12 @@
 package com.example.blog.post;
 
-import com.example.blog.category.CategoryController;
-import com.example.blog.comment.CommentController;
+import com.example.blog.base.LinkTemplates;
 import com.example.blog.entity.Post;
-import com.example.blog.tag.TagController;
-import com.example.blog.user.UserController;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.server.mvc.RepresentationModelAssemblerSupport;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Component
 public class DetailedPostModelAssembler extends RepresentationModelAssemblerSupport<Post, PostResponse> {
     private final PostMapper mapper;
@@ -24,23 +19,26 @@ public class DetailedPostModelAssembler extends RepresentationModelAssemblerSupp
     @Override
     @NonNull
     public PostResponse toModel(@NonNull Post post) {
-        PostResponse postModel = mapper.apply(post);
+        return withLinks(post, mapper.apply(post));
+    }
+
+    /**
+     * Like {@link #toModel(Post)}, with the fields taken from the cache; links are added for the current request.
+     */
+    public PostResponse toModel(Post post, PostRepresentationCache representationCache) {
+        return withLinks(post, representationCache.get(post, mapper));
+    }
 
+    private PostResponse withLinks(Post post, PostResponse postModel) {
         postModel.getCategory().add(
-                linkTo(methodOn(PostController.class)
-                        .getPostsByCategory(postModel.getCategory().getId(), null))
-                        .withRel("posts_for_category"));
+                LinkTemplates.POSTS_BY_CATEGORY.link("posts_for_category", postModel.getCategory().getId()));
 
         postModel
-                .add(linkTo(methodOn(PostController.class).getById(postModel.getId()))
-                        .withSelfRel())
-                .add(linkTo(methodOn(TagController.class).getTagsForPost(postModel.getId(), null))
-                        .withRel("tags"))
-                .add(linkTo(methodOn(CommentController.class).getCommentsForPostAsPage(postModel.getId(), null))
-                        .withRel("comments"))
-                .add(linkTo(methodOn(CategoryController.class).get(post.getCategory().getId()))
-                        .withRel("category"))
-                .add(linkTo(methodOn(UserController.class).getUser(post.getUser().getId())).withRel("user"));
+                .add(LinkTemplates.POST.link(IanaLinkRelations.SELF, postModel.getId()))
+                .add(LinkTemplates.TAGS_FOR_POST.link("tags", postModel.getId()))
+                .add(LinkTemplates.COMMENTS_FOR_POST.link("comments", postModel.getId()))
+                .add(LinkTemplates.CATEGORY.link("category", post.getCategory().getId()))
+                .add(LinkTemplates.USER.link("user", post.getUser().getId()));
 
         return postModel;
     }
@@ -1,38 +1,80 @@
 package com.example.blog.post;
 
+import com.example.blog.base.ETags;
 import com.example.blog.entity.Post;
+import com.example.blog.exception.RequestValidationException;
 import com.example.blog.security.CurrentUser;
 import com.example.blog.security.UserPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @RestController
 @RequestMapping("/api/v1/posts")
 public class PostController {
+    private static final int MAX_FEED_SIZE = 100;
+    private static final int EXPORT_GZIP_BUFFER_SIZE = 64 * 1024;
 
     private final PostService postService;
     private final PostModelAssembler postModelAssembler;
+    private final PostSummaryModelAssembler postSummaryModelAssembler;
     private final DetailedPostModelAssembler detailedPostModelAssembler;
     private final PagedResourcesAssembler<Post> pagedResourcesAssembler;
-
+    private final PostRepresentationCache postRepresentationCache;
+    private final PostImportService postImportService;
+    private final PostExportService postExportService;
+    private final CallableProcessingInterceptor exportTimeout;
 
     public PostController(PostService postService,
                           PostModelAssembler postModelAssembler,
+                          PostSummaryModelAssembler postSummaryModelAssembler,
                           DetailedPostModelAssembler detailedPostModelAssembler,
-                          PagedResourcesAssembler<Post> pagedResourcesAssembler) {
+                          PagedResourcesAssembler<Post> pagedResourcesAssembler,
+                          PostRepresentationCache postRepresentationCache,
+                          PostImportService postImportService,
+                          PostExportService postExportService,
+                          @Value("${app.posts.export.timeout:30m}") Duration exportTimeout) {
         this.postService = postService;
         this.postModelAssembler = postModelAssembler;
+        this.postSummaryModelAssembler = postSummaryModelAssembler;
         this.detailedPostModelAssembler = detailedPostModelAssembler;
         this.pagedResourcesAssembler = pagedResourcesAssembler;
+        this.postRepresentationCache = postRepresentationCache;
+        this.postImportService = postImportService;
+        this.postExportService = postExportService;
+        this.exportTimeout = new AsyncTimeout(exportTimeout);
     }
 
     @GetMapping
@@ -82,11 +124,98 @@ public class PostController {
         return ResponseEntity.ok(pagedResourcesAssembler.toModel(postPage, postModelAssembler));
     }
 
+    @GetMapping("/feed")
+    public ResponseEntity<CollectionModel<PostSummaryResponse>> getPostsFeed(@RequestParam(value = "after", required = false) String after,
+                                                                             @RequestParam(value = "size", defaultValue = "5") int size) {
+        Slice<PostSummary> postSlice = postService.getPostsAfter(PostCursor.decode(after), validateFeedSize(size));
+
+        return toFeedResponse(postSlice, after,
+                cursor -> methodOn(PostController.class).getPostsFeed(cursor, size));
+    }
+
+    @GetMapping("/category/{id}/feed")
+    public ResponseEntity<CollectionModel<PostSummaryResponse>> getPostsFeedByCategory(@PathVariable("id") Long categoryId,
+                                                                                       @RequestParam(value = "after", required = false) String after,
+                                                                                       @RequestParam(value = "size", defaultValue = "5") int size) {
+        Slice<PostSummary> postSlice = postService.getPostsByCategoryIdAfter(categoryId, PostCursor.decode(after), validateFeedSize(size));
+
+        return toFeedResponse(postSlice, after,
+                cursor -> methodOn(PostController.class).getPostsFeedByCategory(categoryId, cursor, size));
+    }
+
+    @GetMapping("/tag/{id}/feed")
+    public ResponseEntity<CollectionModel<PostSummaryResponse>> getPostsFeedByTag(@PathVariable("id") Long tagId,
+                                                                                  @RequestParam(value = "after", required = false) String after,
+                                                                                  @RequestParam(value = "size", defaultValue = "5") int size) {
+        Slice<PostSummary> postSlice = postService.getPostsByTagIdAfter(tagId, PostCursor.decode(after), validateFeedSize(size));
+
+        return toFeedResponse(postSlice, after,
+                cursor -> methodOn(PostController.class).getPostsFeedByTag(tagId, cursor, size));
+    }
+
+    @GetMapping("/user/{id}/feed")
+    public ResponseEntity<CollectionModel<PostSummaryResponse>> getPostsFeedByUser(@PathVariable("id") Long userId,
+                                                                                   @RequestParam(value = "after", required = false) String after,
+                                                                                   @RequestParam(value = "size", defaultValue = "5") int size) {
+        Slice<PostSummary> postSlice = postService.getPostsByUserIdAfter(userId, PostCursor.decode(after), validateFeedSize(size));
+
+        return toFeedResponse(postSlice, after,
+                cursor -> methodOn(PostController.class).getPostsFeedByUser(userId, cursor, size));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<CollectionModel<PostResponse>> search(@RequestParam("q") String query,
+                                                                @RequestParam(value = "size", defaultValue = "10") int size) {
+        List<Post> posts = postService.search(query, validateFeedSize(size));
+
+        if (posts.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NO_CONTENT).body(CollectionModel.empty());
+        }
+
+        return ResponseEntity.ok(postModelAssembler.toCollectionModel(posts)
+                .add(linkTo(methodOn(PostController.class).search(query, size)).withSelfRel()));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPosts(@RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+                                                             HttpServletRequest request) {
+        // streaming all posts outlasts spring.mvc.async.request-timeout, only this request gets a longer one
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(AsyncTimeout.class, exportTimeout);
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(gzip ? "posts.ndjson.gz" : "posts.ndjson").build().toString());
+
+        if (!gzip) {
+            return builder.body(postExportService::exportPosts);
+        }
+
+        return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(out -> {
+                    try (GZIPOutputStream gzipOut = new GZIPOutputStream(out, EXPORT_GZIP_BUFFER_SIZE)) {
+                        postExportService.exportPosts(gzipOut);
+                    }
+                });
+    }
+
     @GetMapping("{id}")
-    public ResponseEntity<PostResponse> getById(@PathVariable("id") Long id) {
+    public ResponseEntity<PostResponse> getById(@PathVariable("id") Long id, WebRequest request) {
         Post post = postService.getPostById(id);
 
-        return ResponseEntity.ok(detailedPostModelAssembler.toModel(post));
+        String eTag = ETags.of(post.getId(), PostRepresentationCache.version(post));
+        long lastModified = PostRepresentationCache.lastModified(post);
+        if (request.checkNotModified(eTag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        PostResponse response = detailedPostModelAssembler.toModel(post, postRepresentationCache);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(eTag);
+        if (lastModified > 0) {
+            builder.lastModified(lastModified);
+        }
+
+        return builder.body(response);
     }
 
     @PostMapping
@@ -97,6 +226,12 @@ public class PostController {
         return ResponseEntity.status(HttpStatus.CREATED).body(detailedPostModelAssembler.toModel(post));
     }
 
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<PostImportResult> importPosts(InputStream body,
+                                                        @CurrentUser UserPrincipal currentUser) throws IOException {
+        return ResponseEntity.ok(postImportService.importPosts(body, currentUser));
+    }
+
     @PutMapping("{id}")
     public ResponseEntity<PostResponse> update(@PathVariable("id") Long id,
                                                @Valid @RequestBody PostRequest request,
@@ -113,4 +248,42 @@ public class PostController {
 
         return ResponseEntity.status(HttpStatus.NO_CONTENT).body(null);
     }
+
+    private ResponseEntity<CollectionModel<PostSummaryResponse>> toFeedResponse(Slice<PostSummary> postSlice,
+                                                                                String after,
+                                                                                Function<String, Object> feedInvocation) {
+        if (postSlice.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NO_CONTENT).body(CollectionModel.empty());
+        }
+
+        CollectionModel<PostSummaryResponse> model = postSummaryModelAssembler.toCollectionModel(postSlice)
+                // the first page has no cursor, expanding drops the unset {&after} from the template
+                .add(linkTo(feedInvocation.apply(after)).withSelfRel().expand());
+
+        if (postSlice.hasNext()) {
+            PostSummary last = postSlice.getContent().get(postSlice.getNumberOfElements() - 1);
+            String next = PostCursor.after(last).encode();
+
+            model.add(linkTo(feedInvocation.apply(next)).withRel(IanaLinkRelations.NEXT));
+        }
+
+        return ResponseEntity.ok(model);
+    }
+
+    private static int validateFeedSize(int size) {
+        if (size < 1 || size > MAX_FEED_SIZE) {
+            throw new RequestValidationException("Size must be between 1 and %d".formatted(MAX_FEED_SIZE));
+        }
+        return size;
+    }
+
+    /**
+     * Replaces the async timeout of a request, applied right before its streaming body starts.
+     */
+    private record AsyncTimeout(Duration timeout) implements CallableProcessingInterceptor {
+        @Override
+        public <T> void beforeConcurrentHandling(@NonNull NativeWebRequest request, @NonNull Callable<T> task) {
+            ((AsyncWebRequest) request).setTimeout(timeout.toMillis());
+        }
+    }
 }
@@ -0,0 +1,46 @@
+package com.example.blog.post;
+
+import com.example.blog.exception.RequestValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the post feed, ordered by creation date and id (both descending).
+ * Exposed to clients as an opaque {@code after} token.
+ */
+public record PostCursor(long createdDate, long id) {
+    public static final PostCursor FIRST = new PostCursor(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private static final String SEPARATOR = ":";
+
+    public static PostCursor after(PostSummary post) {
+        return new PostCursor(post.createdDate(), post.id());
+    }
+
+    public static PostCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR);
+            if (parts.length != 2) {
+                throw new RequestValidationException("Invalid cursor [%s]".formatted(token));
+            }
+
+            return new PostCursor(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new RequestValidationException("Invalid cursor [%s]".formatted(token));
+        }
+    }
+
+    public String encode() {
+        String value = createdDate + SEPARATOR + id;
+
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
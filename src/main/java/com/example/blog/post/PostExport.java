@@ -0,0 +1,20 @@
+package com.example.blog.post;
+
+import com.example.blog.comment.CommentExport;
+
+import java.util.List;
+
+/**
+ * One line of the post export. Title, body, categoryId and tags use the {@link PostRequest} names,
+ * so an export can be fed back to the bulk import.
+ */
+public record PostExport(Long id,
+                         String title,
+                         String body,
+                         Long categoryId,
+                         Long userId,
+                         Long createdDate,
+                         Long modifiedDate,
+                         List<String> tags,
+                         List<CommentExport> comments) {
+}
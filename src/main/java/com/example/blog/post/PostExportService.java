@@ -0,0 +1,127 @@
+package com.example.blog.post;
+
+import com.example.blog.comment.CommentExport;
+import com.example.blog.comment.CommentRepository;
+import com.example.blog.entity.Post;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Writes all posts with their tag names and comments as NDJSON, one post per line, in id order.
+ * Posts are read in keyset batches, each batch in its own read-only transaction with one query for the posts,
+ * one for their tags and one for their comments. The persistence context is cleared after every batch and the
+ * output is flushed, so memory use doesn't grow with the number of posts.
+ */
+@Service
+public class PostExportService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostExportService.class);
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter lineWriter;
+    private final TransactionTemplate batchTransaction;
+    private final int batchSize;
+
+    public PostExportService(PostRepository postRepository,
+                             CommentRepository commentRepository,
+                             EntityManager entityManager,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.posts.export.batch-size:500}") int batchSize) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        // flushed once per batch, not after every post
+        this.lineWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setReadOnly(true);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Writes the export to {@code out}, the stream is flushed but not closed.
+     */
+    public void exportPosts(OutputStream out) throws IOException {
+        long exported = 0;
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // lines are terminated explicitly, no separator before the next root value
+            generator.setRootValueSeparator(null);
+
+            long lastId = 0;
+            List<PostExport> batch;
+            while (!(batch = nextBatch(lastId)).isEmpty()) {
+                for (PostExport post : batch) {
+                    lineWriter.writeValue(generator, post);
+                    generator.writeRaw('\n');
+                }
+                generator.flush();
+
+                exported += batch.size();
+                lastId = batch.get(batch.size() - 1).id();
+            }
+        }
+
+        LOGGER.info("Exported {} posts", exported);
+    }
+
+    private List<PostExport> nextBatch(long lastId) {
+        return batchTransaction.execute(status -> {
+            List<Post> posts = postRepository.findAllAfter(lastId, PageRequest.of(0, batchSize));
+            if (posts.isEmpty()) {
+                return List.of();
+            }
+
+            List<Long> ids = posts.stream().map(Post::getId).toList();
+            Map<Long, List<String>> tags = postRepository.findTagNamesByPostIdIn(ids).stream()
+                    .collect(Collectors.groupingBy(PostTagName::postId,
+                            Collectors.mapping(PostTagName::name, Collectors.toList())));
+            Map<Long, List<CommentExport>> comments = commentRepository.findExportsByPostIdIn(ids).stream()
+                    .collect(Collectors.groupingBy(CommentExport::postId));
+
+            List<PostExport> batch = posts.stream()
+                    .map(post -> toExport(post,
+                            tags.getOrDefault(post.getId(), List.of()),
+                            comments.getOrDefault(post.getId(), List.of())))
+                    .toList();
+
+            // with open-in-view the persistence context lives as long as the request, drop this batch from it
+            entityManager.clear();
+
+            return batch;
+        });
+    }
+
+    private static PostExport toExport(Post post, List<String> tags, List<CommentExport> comments) {
+        // category and user are lazy, reading the id of a proxy doesn't load it
+        return new PostExport(post.getId(),
+                post.getTitle(),
+                post.getBody(),
+                post.getCategory() == null ? null : post.getCategory().getId(),
+                post.getUser() == null ? null : post.getUser().getId(),
+                post.getCreatedDate(),
+                post.getModifiedDate(),
+                tags,
+                comments);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.blog.post;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Items are numbered from 0 in the order they appear in the request body,
+ * at most the configured number of errors is listed, {@code failed} counts all of them.
+ */
+public record PostImportResult(long imported,
+                               long failed,
+                               List<ItemError> errors) {
+
+    public record ItemError(long index, String title, String message) {
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.blog.post;
+
+import com.example.blog.category.CategoryRepository;
+import com.example.blog.entity.Category;
+import com.example.blog.entity.Post;
+import com.example.blog.entity.Tag;
+import com.example.blog.entity.User;
+import com.example.blog.search.PostSearchIndex;
+import com.example.blog.security.UserPrincipal;
+import com.example.blog.tag.TagConflictRetry;
+import com.example.blog.tag.TagResolver;
+import com.example.blog.uniqueness.UniqueKey;
+import com.example.blog.uniqueness.UniquenessIndex;
+import com.example.blog.user.UserRetrievalService;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk post import from an NDJSON stream or a JSON array. The body is read one post at a time with the
+ * Jackson streaming parser, valid posts are grouped into chunks and each chunk is checked with one query per
+ * concern (titles, categories, tags) and inserted in its own transaction. Failures are reported per item,
+ * a failed chunk doesn't roll back chunks committed before it.
+ */
+@Service
+public class PostImportService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostImportService.class);
+
+    private final PostRepository postRepository;
+    private final CategoryRepository categoryRepository;
+    private final TagResolver tagResolver;
+    private final TagConflictRetry tagConflictRetry;
+    private final UserRetrievalService userRetrievalService;
+    private final PostSearchIndex postSearchIndex;
+    private final UniquenessIndex uniquenessIndex;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public PostImportService(PostRepository postRepository,
+                             CategoryRepository categoryRepository,
+                             TagResolver tagResolver,
+                             TagConflictRetry tagConflictRetry,
+                             UserRetrievalService userRetrievalService,
+                             PostSearchIndex postSearchIndex,
+                             UniquenessIndex uniquenessIndex,
+                             ObjectMapper objectMapper,
+                             Validator validator,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.posts.import.chunk-size:1000}") int chunkSize,
+                             @Value("${app.posts.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.postRepository = postRepository;
+        this.categoryRepository = categoryRepository;
+        this.tagResolver = tagResolver;
+        this.tagConflictRetry = tagConflictRetry;
+        this.userRetrievalService = userRetrievalService;
+        this.postSearchIndex = postSearchIndex;
+        this.uniquenessIndex = uniquenessIndex;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        // a fresh persistence context per chunk, imported posts don't pile up in the request's one
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public PostImportResult importPosts(InputStream body, UserPrincipal currentUser) throws IOException {
+        Import anImport = new Import(userRetrievalService.getUserByEmail(currentUser.getEmail()));
+        List<Item> chunk = new ArrayList<>(chunkSize);
+        long index = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                token = parser.nextToken();
+            }
+
+            for (; token != null && token != JsonToken.END_ARRAY; token = parser.nextToken(), index++) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new JsonParseException(parser, "Expected a post object but found " + token);
+                }
+                // read as a tree first, a well-formed object of the wrong shape fails only this item
+                JsonNode node = objectMapper.readTree(parser);
+                Item item;
+                try {
+                    item = new Item(index, objectMapper.treeToValue(node, PostRequest.class));
+                } catch (MismatchedInputException ex) {
+                    anImport.fail(new Item(index, null), "Invalid post: " + ex.getOriginalMessage());
+                    continue;
+                }
+
+                String violations = validate(item.request());
+                if (violations != null) {
+                    anImport.fail(item, violations);
+                    continue;
+                }
+
+                chunk.add(item);
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, anImport);
+                    chunk.clear();
+                }
+            }
+        } catch (JsonProcessingException ex) {
+            // the rest of the stream can't be read reliably, keep what was parsed and stop
+            anImport.fail(new Item(index, null), "Malformed JSON, import stopped: " + ex.getOriginalMessage());
+        }
+
+        importChunk(chunk, anImport);
+
+        return anImport.result();
+    }
+
+    private void importChunk(List<Item> chunk, Import anImport) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        List<Item> valid = resolveCategories(checkTitles(chunk, anImport), anImport);
+        resolveTags(valid, anImport);
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        try {
+            chunkTransaction.executeWithoutResult(status -> insert(valid, anImport));
+            anImport.imported += valid.size();
+        } catch (RuntimeException ex) {
+            // e.g. a title taken concurrently, find the offending items one by one
+            LOGGER.warn("Importing chunk of {} posts failed, importing them one by one", valid.size(), ex);
+            for (Item item : valid) {
+                try {
+                    chunkTransaction.executeWithoutResult(status -> insert(List.of(item), anImport));
+                    anImport.imported++;
+                } catch (RuntimeException itemEx) {
+                    anImport.fail(item, "Post could not be saved");
+                }
+            }
+        }
+    }
+
+    private List<Item> checkTitles(List<Item> chunk, Import anImport) {
+        // titles definitely free aren't looked up, a chunk of new titles costs no query
+        List<String> candidates = chunk.stream()
+                .map(item -> item.request().getTitle())
+                .filter(title -> uniquenessIndex.mightExist(UniqueKey.POST_TITLE, title))
+                .toList();
+        // compared like the column's collation does, "Title" is taken by "title"
+        Set<String> existing = candidates.isEmpty() ? Set.of() : postRepository.findTitlesIn(candidates).stream()
+                .map(UniquenessIndex::normalize)
+                .collect(Collectors.toSet());
+
+        List<Item> valid = new ArrayList<>(chunk.size());
+        for (Item item : chunk) {
+            String title = item.request().getTitle();
+            String normalizedTitle = UniquenessIndex.normalize(title);
+            if (existing.contains(normalizedTitle)) {
+                anImport.fail(item, "Post with title [%s] already exists".formatted(title));
+            } else if (!anImport.titles.add(normalizedTitle)) {
+                anImport.fail(item, "Post with title [%s] appears more than once in the import".formatted(title));
+            } else {
+                valid.add(item);
+            }
+        }
+        return valid;
+    }
+
+    private List<Item> resolveCategories(List<Item> items, Import anImport) {
+        Set<Long> unknownIds = items.stream()
+                .map(item -> item.request().getCategoryId())
+                .filter(id -> !anImport.categories.containsKey(id))
+                .collect(Collectors.toSet());
+        if (!unknownIds.isEmpty()) {
+            categoryRepository.findByIdIn(unknownIds).forEach(c -> anImport.categories.put(c.getId(), c));
+            // remember missing ids too, so they aren't queried again for every chunk
+            unknownIds.forEach(id -> anImport.categories.putIfAbsent(id, null));
+        }
+
+        List<Item> valid = new ArrayList<>(items.size());
+        for (Item item : items) {
+            Long categoryId = item.request().getCategoryId();
+            if (anImport.categories.get(categoryId) == null) {
+                anImport.fail(item, "Category with id [%d] does not exists".formatted(categoryId));
+            } else {
+                valid.add(item);
+            }
+        }
+        return valid;
+    }
+
+    private void resolveTags(List<Item> items, Import anImport) {
+        Set<String> unknownNames = items.stream()
+                .flatMap(item -> item.request().getTags().stream())
+                .filter(name -> !anImport.tags.containsKey(UniquenessIndex.normalize(name)))
+                .collect(Collectors.toSet());
+        if (!unknownNames.isEmpty()) {
+            // committed ahead of the chunk, a chunk that fails later leaves its new tags to the orphan cleanup
+            tagConflictRetry.execute(status -> tagResolver.getOrCreateTags(unknownNames))
+                    .forEach(tag -> anImport.tags.put(UniquenessIndex.normalize(tag.getName()), tag));
+        }
+    }
+
+    private void insert(List<Item> items, Import anImport) {
+        List<Post> posts = postRepository.saveAll(items.stream()
+                .map(item -> toPost(item.request(), anImport))
+                .toList());
+
+        for (Post post : posts) {
+            postSearchIndex.indexAfterCommit(post);
+            uniquenessIndex.addAfterCommit(UniqueKey.POST_TITLE, post.getTitle());
+        }
+    }
+
+    private static Post toPost(PostRequest request, Import anImport) {
+        Set<Tag> tags = new HashSet<>();
+        for (String name : request.getTags()) {
+            tags.add(anImport.tags.get(UniquenessIndex.normalize(name)));
+        }
+
+        return Post.builder()
+                .title(request.getTitle())
+                .body(request.getBody())
+                .category(anImport.categories.get(request.getCategoryId()))
+                .user(anImport.user)
+                .tags(tags).build();
+    }
+
+    private String validate(PostRequest request) {
+        Set<ConstraintViolation<PostRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private record Item(long index, PostRequest request) {
+    }
+
+    /**
+     * State of one import: counters, reported errors and the categories and tags resolved so far.
+     * Cached entities are detached, they are only referenced by the new posts. Tags and titles are
+     * keyed by {@link UniquenessIndex#normalize(String)}, the way the database compares them.
+     */
+    private final class Import {
+        private final User user;
+        private final Map<Long, Category> categories = new HashMap<>();
+        private final Map<String, Tag> tags = new HashMap<>();
+        private final Set<String> titles = new HashSet<>();
+        private final List<PostImportResult.ItemError> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        private Import(User user) {
+            this.user = user;
+        }
+
+        private void fail(Item item, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                String title = item.request() == null ? null : item.request().getTitle();
+                errors.add(new PostImportResult.ItemError(item.index(), title, message));
+            }
+        }
+
+        private PostImportResult result() {
+            return new PostImportResult(imported, failed, List.copyOf(errors));
+        }
+    }
+}
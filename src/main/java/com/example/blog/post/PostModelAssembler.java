@@ -1,13 +1,12 @@
 package com.example.blog.post;
 
+import com.example.blog.base.LinkTemplates;
 import com.example.blog.entity.Post;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.server.mvc.RepresentationModelAssemblerSupport;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Component
 public class PostModelAssembler extends RepresentationModelAssemblerSupport<Post, PostResponse> {
     private final PostMapper mapper;
@@ -22,10 +21,7 @@ public class PostModelAssembler extends RepresentationModelAssemblerSupport<Post
     public PostResponse toModel(@NonNull Post post) {
         PostResponse postModel = mapper.apply(post);
 
-        postModel.add(
-                linkTo(methodOn(PostController.class)
-                        .getById(postModel.getId()))
-                .withSelfRel());
+        postModel.add(LinkTemplates.POST.link(IanaLinkRelations.SELF, postModel.getId()));
 
         return postModel;
     }
@@ -2,10 +2,13 @@ package com.example.blog.post;
 
 import com.example.blog.entity.Post;
 import com.example.blog.entity.Tag;
+import com.example.blog.search.SearchDocument;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.repository.NoRepositoryBean;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,7 +20,26 @@ public interface PostRepository {
     Page<Post> findByTagsIn(List<Tag> tags, Pageable pageable);
     Page<Post> findByCategoriesIn(List<Long> categoriesIds, Pageable pageable);
     Page<Post> findByUsersIn(List<Long> usersIds, Pageable pageable);
+    Slice<PostSummary> findSummariesAfter(Long createdDate, Long id, Pageable pageable);
+    Slice<PostSummary> findSummariesByCategoryAfter(Long categoryId, Long createdDate, Long id, Pageable pageable);
+    Slice<PostSummary> findSummariesByTagAfter(Long tagId, Long createdDate, Long id, Pageable pageable);
+    Slice<PostSummary> findSummariesByUserAfter(Long userId, Long createdDate, Long id, Pageable pageable);
+    List<Post> findByIdIn(Collection<Long> ids);
+    int incrementCommentCount(Long postId, Long commentedAt);
+    int incrementCommentCountBy(Long postId, long count, Long commentedAt);
+    int decrementCommentCount(Long postId);
+    List<SearchDocument> findSearchDocumentsAfter(Long id, Pageable pageable);
     List<Post> findAll();
+    List<Post> findAllAfter(Long id, Pageable pageable);
+    List<PostTagName> findTagNamesByPostIdIn(Collection<Long> postIds);
+    Post getReferenceById(Long id);
+    List<String> findTitlesIn(Collection<String> titles);
+    List<Long> findIdsByCategoryId(Long categoryId, Pageable pageable);
+    List<Long> findTagIdsByPostIdIn(Collection<Long> postIds);
+    int deleteTagLinksByPostIdIn(Collection<Long> postIds);
+    int deletePostsIn(Collection<Long> ids);
+    List<Long> findIdsByUserId(Long userId, Pageable pageable);
+    int recountComments(Collection<Long> postIds);
     boolean existsByTitle(String title);
     boolean existsById(Long id);
     Optional<Post> findById(Long id);
@@ -2,25 +2,157 @@ package com.example.blog.post;
 
 import com.example.blog.entity.Post;
 import com.example.blog.entity.Tag;
+import com.example.blog.search.SearchDocument;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository("post-jpa")
 public interface PostRepositoryJpa extends PostRepository, JpaRepository<Post, Long> {
+    // tag names are aggregated in a correlated subquery, one row per post without GROUP BY on post columns
+    String SUMMARY_SELECT = "SELECT new com.example.blog.post.PostSummary("
+            + "p.id, p.title, c.id, c.name, p.user.id, p.commentCount, p.lastCommentAt, p.createdDate, "
+            + "(SELECT listagg(t.name, '" + PostSummary.TAG_SEPARATOR + "') WITHIN GROUP (ORDER BY t.name) "
+            + "FROM Tag t JOIN t.posts tp WHERE tp.id = p.id)) "
+            + "FROM Post p LEFT JOIN p.category c ";
+
     boolean existsByTitle(String title);
     Optional<Post> findByTitle(String title);
+
+    // Post.category and Post.user are lazy, listings fetch category in the same query
+    // and read only the user id (available from the foreign key without loading the user)
+    @EntityGraph(attributePaths = "category")
+    Optional<Post> findById(Long id);
+
+    @EntityGraph(attributePaths = "category")
+    Page<Post> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = "category")
     Page<Post> findByTagsIn(List<Tag> tags, Pageable pageable);
 
+    @EntityGraph(attributePaths = "category")
     @Query("SELECT p FROM Post p WHERE p.user.id IN :ids")
     Page<Post> findByUsersIn(@Param("ids") List<Long> usersIds, Pageable pageable);
 
+    @EntityGraph(attributePaths = "category")
     @Query("SELECT p FROM Post p WHERE p.category.id IN :ids")
     Page<Post> findByCategoriesIn(@Param("ids") List<Long> categoriesIds, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + """
+            WHERE p.createdDate < :createdDate OR (p.createdDate = :createdDate AND p.id < :id)
+            ORDER BY p.createdDate DESC, p.id DESC""")
+    Slice<PostSummary> findSummariesAfter(@Param("createdDate") Long createdDate, @Param("id") Long id, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + """
+            WHERE c.id = :categoryId
+            AND (p.createdDate < :createdDate OR (p.createdDate = :createdDate AND p.id < :id))
+            ORDER BY p.createdDate DESC, p.id DESC""")
+    Slice<PostSummary> findSummariesByCategoryAfter(@Param("categoryId") Long categoryId,
+                                                    @Param("createdDate") Long createdDate,
+                                                    @Param("id") Long id,
+                                                    Pageable pageable);
+
+    @Query(SUMMARY_SELECT + """
+            JOIN p.tags pt
+            WHERE pt.id = :tagId
+            AND (p.createdDate < :createdDate OR (p.createdDate = :createdDate AND p.id < :id))
+            ORDER BY p.createdDate DESC, p.id DESC""")
+    Slice<PostSummary> findSummariesByTagAfter(@Param("tagId") Long tagId,
+                                               @Param("createdDate") Long createdDate,
+                                               @Param("id") Long id,
+                                               Pageable pageable);
+
+    @Query(SUMMARY_SELECT + """
+            WHERE p.user.id = :userId
+            AND (p.createdDate < :createdDate OR (p.createdDate = :createdDate AND p.id < :id))
+            ORDER BY p.createdDate DESC, p.id DESC""")
+    Slice<PostSummary> findSummariesByUserAfter(@Param("userId") Long userId,
+                                                @Param("createdDate") Long createdDate,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
+
+    @EntityGraph(attributePaths = "category")
+    List<Post> findByIdIn(Collection<Long> ids);
+
+    @Query("SELECT p.title FROM Post p WHERE p.title IN :titles")
+    List<String> findTitlesIn(@Param("titles") Collection<String> titles);
+
+    @Query("""
+            SELECT new com.example.blog.search.SearchDocument(p.id, p.title, p.body) FROM Post p
+            WHERE p.id > :id
+            ORDER BY p.id""")
+    List<SearchDocument> findSearchDocumentsAfter(@Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT p FROM Post p WHERE p.id > :id ORDER BY p.id")
+    List<Post> findAllAfter(@Param("id") Long id, Pageable pageable);
+
+    @Query("""
+            SELECT new com.example.blog.post.PostTagName(p.id, t.name) FROM Post p JOIN p.tags t
+            WHERE p.id IN :postIds
+            ORDER BY t.name""")
+    List<PostTagName> findTagNamesByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    @Query("SELECT p.id FROM Post p WHERE p.category.id = :categoryId ORDER BY p.id")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @Query(value = "SELECT DISTINCT tag_id FROM post_tag WHERE post_id IN (:postIds)", nativeQuery = true)
+    List<Long> findTagIdsByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM post_tag WHERE post_id IN (:postIds)", nativeQuery = true)
+    int deleteTagLinksByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    // bulk delete without loading the posts, comments and tag links must be deleted first
+    @Modifying
+    @Query(value = "DELETE FROM posts WHERE id IN (:ids)", nativeQuery = true)
+    int deletePostsIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id FROM Post p WHERE p.user.id = :userId ORDER BY p.createdDate, p.id")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // after comments of many posts were deleted at once, counters are computed again from what is left
+    @Modifying
+    @Query(value = """
+            UPDATE posts p
+            SET p.comment_count = (SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id),
+                p.last_comment_at = (SELECT MAX(c.created_date) FROM comments c WHERE c.post_id = p.id)
+            WHERE p.id IN (:postIds)""", nativeQuery = true)
+    int recountComments(@Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query(value = """
+            UPDATE posts
+            SET comment_count = comment_count + 1,
+                last_comment_at = GREATEST(COALESCE(last_comment_at, 0), :commentedAt)
+            WHERE id = :postId""", nativeQuery = true)
+    int incrementCommentCount(@Param("postId") Long postId, @Param("commentedAt") Long commentedAt);
+
+    @Modifying
+    @Query(value = """
+            UPDATE posts
+            SET comment_count = comment_count + :count,
+                last_comment_at = GREATEST(COALESCE(last_comment_at, 0), :commentedAt)
+            WHERE id = :postId""", nativeQuery = true)
+    int incrementCommentCountBy(@Param("postId") Long postId,
+                                @Param("count") long count,
+                                @Param("commentedAt") Long commentedAt);
+
+    // runs after the comment delete is flushed, last_comment_at falls back to the newest remaining comment
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE posts p
+            SET p.comment_count = GREATEST(p.comment_count - 1, 0),
+                p.last_comment_at = (SELECT MAX(c.created_date) FROM comments c WHERE c.post_id = p.id)
+            WHERE p.id = :postId""", nativeQuery = true)
+    int decrementCommentCount(@Param("postId") Long postId);
 }
@@ -0,0 +1,76 @@
+package com.example.blog.post;
+
+import com.example.blog.category.CategoryResponse;
+import com.example.blog.config.CacheConfig;
+import com.example.blog.entity.Category;
+import com.example.blog.entity.Post;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Keeps the mapped detailed representation of posts, keyed by post id and tagged with the version
+ * (modification dates of the post and its category) it was built from. Entries are evicted by
+ * {@link PostService#update} and {@link PostService#delete}; a cached model is also only served
+ * while the version matches, so an entry re-cached by a read racing the write is rebuilt.
+ * <p>
+ * Only the fields are cached, links are absolute and depend on the host of the request, so the caller adds
+ * them to the copy returned for each request.
+ */
+@Component
+public class PostRepresentationCache {
+    private final Cache cache;
+
+    public PostRepresentationCache(CacheManager cacheManager) {
+        Cache representations = cacheManager.getCache(CacheConfig.POST_REPRESENTATIONS);
+        this.cache = representations != null ? representations : new NoOpCache(CacheConfig.POST_REPRESENTATIONS);
+    }
+
+    public PostResponse get(Post post, Function<Post, PostResponse> mapper) {
+        String version = version(post);
+        Entry entry = cache.get(post.getId(), Entry.class);
+        if (entry != null && entry.version().equals(version)) {
+            return copyOf(entry.response());
+        }
+
+        PostResponse response = mapper.apply(post);
+        cache.put(post.getId(), new Entry(version, copyOf(response)));
+
+        return response;
+    }
+
+    public static String version(Post post) {
+        Category category = post.getCategory();
+
+        return post.getCreatedDate() + ":" + post.getModifiedDate() + ":"
+                + category.getId() + ":" + category.getModifiedDate();
+    }
+
+    public static long lastModified(Post post) {
+        long postModified = Objects.requireNonNullElse(post.getModifiedDate(),
+                Objects.requireNonNullElse(post.getCreatedDate(), -1L));
+        long categoryModified = Objects.requireNonNullElse(post.getCategory().getModifiedDate(), -1L);
+
+        return Math.max(postModified, categoryModified);
+    }
+
+    private static PostResponse copyOf(PostResponse response) {
+        CategoryResponse category = response.getCategory();
+
+        return PostResponse.builder()
+                .id(response.getId())
+                .title(response.getTitle())
+                .body(response.getBody())
+                .category(category == null ? null : CategoryResponse.builder()
+                        .id(category.getId())
+                        .name(category.getName()).build())
+                .build();
+    }
+
+    private record Entry(String version, PostResponse response) {
+    }
+}
@@ -1,50 +1,100 @@
 package com.example.blog.post;
 
 import com.example.blog.auth.AuthorizationService;
+import com.example.blog.config.CacheConfig;
 import com.example.blog.entity.Category;
 import com.example.blog.category.CategoryRepository;
 import com.example.blog.entity.Post;
 import com.example.blog.exception.DuplicateResourceException;
 import com.example.blog.exception.RequestValidationException;
 import com.example.blog.exception.ResourceNotFoundException;
+import com.example.blog.search.PostSearchIndex;
+import com.example.blog.search.SearchHit;
 import com.example.blog.security.UserPrincipal;
 import com.example.blog.entity.Tag;
+import com.example.blog.tag.OrphanedTagCleaner;
+import com.example.blog.tag.TagConflictRetry;
 import com.example.blog.tag.TagRepository;
+import com.example.blog.tag.TagResolver;
+import com.example.blog.uniqueness.UniqueKey;
+import com.example.blog.uniqueness.UniquenessIndex;
 import com.example.blog.entity.User;
 import com.example.blog.user.UserRetrievalService;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class PostService {
 
     private final PostRepository postRepository;
     private final TagRepository tagRepository;
+    private final TagResolver tagResolver;
+    private final TagConflictRetry tagConflictRetry;
+    private final OrphanedTagCleaner orphanedTagCleaner;
     private final CategoryRepository categoryRepository;
     private final UserRetrievalService userRetrievalService;
     private final AuthorizationService authorizationService;
+    private final PostSearchIndex postSearchIndex;
+    private final UniquenessIndex uniquenessIndex;
 
     public PostService(PostRepository postRepository,
                        TagRepository tagRepository,
+                       TagResolver tagResolver,
+                       TagConflictRetry tagConflictRetry,
+                       OrphanedTagCleaner orphanedTagCleaner,
                        CategoryRepository categoryRepository,
                        UserRetrievalService userRetrievalService,
-                       AuthorizationService authorizationService) {
+                       AuthorizationService authorizationService,
+                       PostSearchIndex postSearchIndex,
+                       UniquenessIndex uniquenessIndex) {
         this.postRepository = postRepository;
         this.tagRepository = tagRepository;
+        this.tagResolver = tagResolver;
+        this.tagConflictRetry = tagConflictRetry;
+        this.orphanedTagCleaner = orphanedTagCleaner;
         this.categoryRepository = categoryRepository;
         this.userRetrievalService = userRetrievalService;
         this.authorizationService = authorizationService;
+        this.postSearchIndex = postSearchIndex;
+        this.uniquenessIndex = uniquenessIndex;
     }
 
     public Page<Post> getPostsAsPage(Pageable pageable) {
         return postRepository.findAll(pageable);
     }
 
+    /**
+     * Posts matching the query, best match first.
+     */
+    public List<Post> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new RequestValidationException("Search query cannot be blank");
+        }
+
+        List<SearchHit> hits = postSearchIndex.search(query, limit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Post> posts = new HashMap<>();
+        for (Post post : postRepository.findByIdIn(hits.stream().map(SearchHit::postId).toList())) {
+            posts.put(post.getId(), post);
+        }
+
+        // the index may briefly lag behind deletes
+        return hits.stream()
+                .map(hit -> posts.get(hit.postId()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     public Post getPostById(Long id) {
         return postRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Post with id [%d] does not exist"
@@ -66,8 +116,36 @@ public class PostService {
         return postRepository.findByUsersIn(Collections.singletonList(user.getId()), pageable);
     }
 
-    @Transactional
+    public Slice<PostSummary> getPostsAfter(PostCursor cursor, int size) {
+        return postRepository.findSummariesAfter(cursor.createdDate(), cursor.id(), PageRequest.of(0, size));
+    }
+
+    public Slice<PostSummary> getPostsByTagIdAfter(Long tagId, PostCursor cursor, int size) {
+        Tag tag = getTagById(tagId);
+        return postRepository.findSummariesByTagAfter(tag.getId(), cursor.createdDate(), cursor.id(), PageRequest.of(0, size));
+    }
+
+    public Slice<PostSummary> getPostsByCategoryIdAfter(Long categoryId, PostCursor cursor, int size) {
+        Category category = getCategoryById(categoryId);
+        return postRepository.findSummariesByCategoryAfter(category.getId(), cursor.createdDate(), cursor.id(), PageRequest.of(0, size));
+    }
+
+    public Slice<PostSummary> getPostsByUserIdAfter(Long userId, PostCursor cursor, int size) {
+        User user = getUserById(userId);
+        return postRepository.findSummariesByUserAfter(user.getId(), cursor.createdDate(), cursor.id(), PageRequest.of(0, size));
+    }
+
     public Post save(PostRequest request, UserPrincipal currentUser) {
+        return tagConflictRetry.execute(status -> createPost(request, currentUser));
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.POST_REPRESENTATIONS, key = "#id")
+    public Post update(Long id, PostRequest request, UserPrincipal currentUser) {
+        return tagConflictRetry.execute(status -> updatePost(id, request, currentUser));
+    }
+
+    // save and update may create tags, they run through TagConflictRetry rather than @Transactional
+    private Post createPost(PostRequest request, UserPrincipal currentUser) {
         // Checking if title is unique
         validatePostRequest(request);
 
@@ -76,11 +154,14 @@ public class PostService {
         Set<Tag> tags = getOrCreateTags(request.getTags());
         Post post = buildPost(request, category, tags, user);
 
-        return postRepository.save(post);
+        Post savedPost = postRepository.save(post);
+        postSearchIndex.indexAfterCommit(savedPost);
+        uniquenessIndex.addAfterCommit(UniqueKey.POST_TITLE, post.getTitle());
+
+        return savedPost;
     }
 
-    @Transactional
-    public Post update(Long id, PostRequest request, UserPrincipal currentUser) {
+    private Post updatePost(Long id, PostRequest request, UserPrincipal currentUser) {
         Post post = getPostById(id);
         Category category = getCategoryById(request.getCategoryId());
 
@@ -90,42 +171,62 @@ public class PostService {
         // Checking if logged user can update this post
         hasAuthorizationForUpdateOrDeletePost(post, currentUser);
 
-        // Remove the post from existing tags
-        for (Tag tag : post.getTags()) {
-            tag.getPosts().remove(post);
-        }
-
         Set<Tag> tags = getOrCreateTags(request.getTags());
 
         post.setTitle(request.getTitle());
         post.setBody(request.getBody());
         post.setCategory(category);
-        post.setTags(tags);
+        Set<Long> removedTagIds = reassignTags(post, tags);
 
-       postRepository.save(post);
+        postRepository.save(post);
+        postSearchIndex.indexAfterCommit(post);
+        uniquenessIndex.addAfterCommit(UniqueKey.POST_TITLE, post.getTitle());
 
-        // Cleanup orphaned tags
-        cleanupOrphanedTags();
+        // Only tags detached by this edit can become orphaned
+        orphanedTagCleaner.checkAfterCommit(removedTagIds);
 
         return post;
     }
 
+    /**
+     * Applies the difference between the post's tags and {@code tags} to the owning side only, returns the ids
+     * of the removed tags. {@code Tag.posts} is never initialized and the post_tag rows of unchanged tags are
+     * kept, an edit costs one join row delete or insert per changed tag however many posts the tags have.
+     */
+    private static Set<Long> reassignTags(Post post, Set<Tag> tags) {
+        Set<Long> currentTagIds = getTagIds(post.getTags());
+        Set<Long> requestedTagIds = getTagIds(tags);
+
+        post.getTags().removeIf(tag -> !requestedTagIds.contains(tag.getId()));
+        for (Tag tag : tags) {
+            if (!currentTagIds.contains(tag.getId())) {
+                post.getTags().add(tag);
+            }
+        }
+
+        currentTagIds.removeAll(requestedTagIds);
+        return currentTagIds;
+    }
+
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.POST_REPRESENTATIONS, key = "#id")
     public void delete(Long id, UserPrincipal currentUser) {
         Post post = getPostById(id);
         hasAuthorizationForUpdateOrDeletePost(post, currentUser);
+        Set<Long> tagIds = getTagIds(post.getTags());
 
         postRepository.delete(post);
 
-        // Cleanup orphaned tags
-        cleanupOrphanedTags();
+        orphanedTagCleaner.checkAfterCommit(tagIds);
+        postSearchIndex.removeAfterCommit(id);
     }
 
-    private void cleanupOrphanedTags() {
-        List<Tag> orphanedTags = tagRepository.findOrphanedTags();
-        for (Tag orphanedTag : orphanedTags) {
-            tagRepository.delete(orphanedTag);
+    private static Set<Long> getTagIds(Set<Tag> tags) {
+        Set<Long> ids = new HashSet<>();
+        for (Tag tag : tags) {
+            ids.add(tag.getId());
         }
+        return ids;
     }
 
     private void validateTitle(Long id, String title) {
@@ -148,7 +249,7 @@ public class PostService {
     }
 
     private boolean titleAlreadyTaken(Long postId, String title) {
-        return postRepository.findByTitle(title)
+        return uniquenessIndex.mightExist(UniqueKey.POST_TITLE, title) && postRepository.findByTitle(title)
                 .filter(existingPost -> !existingPost.getId().equals(postId))
                 .isPresent();
     }
@@ -172,15 +273,12 @@ public class PostService {
     }
 
     private Set<Tag> getOrCreateTags(List<String> tagNames) {
-        return tagNames.stream()
-                .map(tagName -> tagRepository.findByName(tagName)
-                        .orElseGet(() -> tagRepository.save(new Tag(tagName))))
-                .collect(Collectors.toSet());
+        return tagResolver.getOrCreateTags(tagNames);
     }
 
     private void validatePostRequest(PostRequest request) {
         String title = request.getTitle();
-        if (postRepository.existsByTitle(title)) {
+        if (uniquenessIndex.mightExist(UniqueKey.POST_TITLE, title) && postRepository.existsByTitle(title)) {
             throw new DuplicateResourceException("Post with title [%s] already exists".formatted(title));
         }
     }
@@ -0,0 +1,41 @@
+package com.example.blog.post;
+
+import java.util.List;
+
+/**
+ * Read model for post listings: post columns, category name, comment counters and tag names,
+ * read with a single query without loading entities or comments.
+ */
+public record PostSummary(Long id,
+                          String title,
+                          Long categoryId,
+                          String categoryName,
+                          Long userId,
+                          long commentCount,
+                          Long lastCommentAt,
+                          Long createdDate,
+                          List<String> tags) {
+    /**
+     * Separates aggregated tag names, a control character not expected in tag names.
+     */
+    public static final String TAG_SEPARATOR = "\u001F";
+
+    public PostSummary(Long id,
+                       String title,
+                       Long categoryId,
+                       String categoryName,
+                       Long userId,
+                       long commentCount,
+                       Long lastCommentAt,
+                       Long createdDate,
+                       String tagNames) {
+        this(id, title, categoryId, categoryName, userId, commentCount, lastCommentAt, createdDate, splitTags(tagNames));
+    }
+
+    private static List<String> splitTags(String tagNames) {
+        if (tagNames == null || tagNames.isEmpty()) {
+            return List.of();
+        }
+        return List.of(tagNames.split(TAG_SEPARATOR));
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.blog.post;
+
+import com.example.blog.DTOMapper;
+import com.example.blog.category.CategoryResponse;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PostSummaryMapper implements DTOMapper<PostSummary, PostSummaryResponse> {
+    @Override
+    public PostSummaryResponse apply(PostSummary summary) {
+        CategoryResponse category = summary.categoryId() == null ? null : CategoryResponse.builder()
+                .id(summary.categoryId())
+                .name(summary.categoryName()).build();
+
+        return PostSummaryResponse.builder()
+                .id(summary.id())
+                .title(summary.title())
+                .category(category)
+                .tags(summary.tags())
+                .commentCount(summary.commentCount())
+                .lastCommentAt(summary.lastCommentAt())
+                .createdDate(summary.createdDate()).build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.blog.post;
+
+import com.example.blog.base.LinkTemplates;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.server.mvc.RepresentationModelAssemblerSupport;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PostSummaryModelAssembler extends RepresentationModelAssemblerSupport<PostSummary, PostSummaryResponse> {
+    private final PostSummaryMapper mapper;
+
+    public PostSummaryModelAssembler(PostSummaryMapper mapper) {
+        super(PostController.class, PostSummaryResponse.class);
+        this.mapper = mapper;
+    }
+
+    @Override
+    @NonNull
+    public PostSummaryResponse toModel(@NonNull PostSummary summary) {
+        PostSummaryResponse model = mapper.apply(summary);
+
+        model.add(LinkTemplates.POST.link(IanaLinkRelations.SELF, summary.id()));
+
+        return model;
+    }
+}
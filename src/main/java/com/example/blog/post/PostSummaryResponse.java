@@ -0,0 +1,23 @@
+package com.example.blog.post;
+
+import com.example.blog.category.CategoryResponse;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.util.List;
+
+@Getter @Setter
+@Builder
+@Relation(itemRelation = "post", collectionRelation = "posts")
+public class PostSummaryResponse extends RepresentationModel<PostSummaryResponse> {
+    private Long id;
+    private String title;
+    private CategoryResponse category;
+    private List<String> tags;
+    private long commentCount;
+    private Long lastCommentAt;
+    private Long createdDate;
+}
@@ -0,0 +1,7 @@
+package com.example.blog.post;
+
+/**
+ * Tag name of a post, read for a batch of posts without initializing their tag collections.
+ */
+public record PostTagName(Long postId, String name) {
+}
@@ -0,0 +1,213 @@
+package com.example.blog.search;
+
+import com.example.blog.entity.Post;
+import com.example.blog.post.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over post title and body, ranked with BM25.
+ * Rebuilt from the database on startup and updated by post writes once they commit.
+ * Title terms count {@value #TITLE_BOOST} times towards term frequency and document length.
+ */
+@Component
+public class PostSearchIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostSearchIndex.class);
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_BOOST = 2;
+
+    private final PostRepository postRepository;
+    private final int rebuildBatchSize;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, IndexedPost> posts = new HashMap<>();
+    private long totalLength;
+
+    public PostSearchIndex(PostRepository postRepository,
+                           @Value("${app.search.rebuild-batch-size:1000}") int rebuildBatchSize) {
+        this.postRepository = postRepository;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long lastId = 0;
+        int indexed = 0;
+        List<SearchDocument> batch;
+        while (!(batch = postRepository.findSearchDocumentsAfter(lastId, PageRequest.of(0, rebuildBatchSize))).isEmpty()) {
+            for (SearchDocument document : batch) {
+                // posts written since startup are already indexed with their latest content
+                if (put(document.id(), document.title(), document.body(), false)) {
+                    indexed++;
+                }
+                lastId = document.id();
+            }
+        }
+        LOGGER.info("Search index rebuilt with {} posts", indexed);
+    }
+
+    /**
+     * Indexes the current title and body of the post when the surrounding transaction commits.
+     */
+    public void indexAfterCommit(Post post) {
+        long id = post.getId();
+        String title = post.getTitle();
+        String body = post.getBody();
+        afterCommit(() -> put(id, title, body, true));
+    }
+
+    public void removeAfterCommit(Long postId) {
+        afterCommit(() -> remove(postId));
+    }
+
+    public List<SearchHit> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(SearchTokenizer.tokenize(query));
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int documentCount = posts.size();
+            if (documentCount == 0) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / documentCount;
+
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                PostingList postingList = postings.get(term);
+                if (postingList == null) {
+                    continue;
+                }
+                double idf = idf(documentCount, postingList.size());
+                for (int i = 0; i < postingList.size(); i++) {
+                    long id = postingList.id(i);
+                    int frequency = postingList.frequency(i);
+                    double norm = K1 * (1 - B + B * posts.get(id).length() / averageLength);
+                    scores.merge(id, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+                }
+            }
+
+            return topK(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return posts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    boolean put(long id, String title, String body, boolean replace) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String token : SearchTokenizer.tokenize(title)) {
+            frequencies.merge(token, TITLE_BOOST, Integer::sum);
+            length += TITLE_BOOST;
+        }
+        for (String token : SearchTokenizer.tokenize(body)) {
+            frequencies.merge(token, 1, Integer::sum);
+            length++;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (posts.containsKey(id)) {
+                if (!replace) {
+                    return false;
+                }
+                removeLocked(id);
+            }
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new PostingList()).put(id, entry.getValue());
+            }
+            posts.put(id, new IndexedPost(length, frequencies.keySet().toArray(String[]::new)));
+            totalLength += length;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(long id) {
+        IndexedPost post = posts.remove(id);
+        if (post == null) {
+            return;
+        }
+        for (String term : post.terms()) {
+            PostingList postingList = postings.get(term);
+            postingList.remove(id);
+            if (postingList.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= post.length();
+    }
+
+    private static double idf(int documentCount, int documentFrequency) {
+        return Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static List<SearchHit> topK(Map<Long, Double> scores, int limit) {
+        Comparator<SearchHit> byScore = Comparator.comparingDouble(SearchHit::score)
+                .thenComparing(SearchHit::postId, Comparator.reverseOrder());
+        PriorityQueue<SearchHit> heap = new PriorityQueue<>(limit, byScore);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            SearchHit hit = new SearchHit(entry.getKey(), entry.getValue());
+            if (heap.size() < limit) {
+                heap.add(hit);
+            } else if (byScore.compare(hit, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(hit);
+            }
+        }
+
+        List<SearchHit> hits = new ArrayList<>(heap);
+        hits.sort(byScore.reversed());
+        return hits;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record IndexedPost(int length, String[] terms) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.blog.search;
+
+/**
+ * Indexed fields of a post, read without loading the entity.
+ */
+public record SearchDocument(Long id, String title, String body) {
+}
@@ -0,0 +1,4 @@
+package com.example.blog.search;
+
+public record SearchHit(long postId, double score) {
+}
@@ -0,0 +1,160 @@
+package com.example.blog.security;
+
+import com.example.blog.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Runs a CPU heavy encoder (BCrypt) on pools of its own instead of on the request thread: password checks of
+ * logins on one sized to the cores, hashing of new passwords (registration, users added by an admin) on a second,
+ * smaller one, so a flood of sign-ups can't queue logins out and the other way round. Callers wait for a pool in
+ * a bounded queue; when the queue is full, or the hash doesn't start in time, they fail at once with
+ * {@link TooManyRequestsException}. Request threads serving everything else keep their CPU.
+ * <p>
+ * Records {@value #QUEUE_TIME_METRIC} (wait before hashing starts), {@value #HASHING_TIME_METRIC} and
+ * {@value #REJECTED_METRIC}, with the queue size as {@value #QUEUE_SIZE_METRIC}, each tagged
+ * {@value #OPERATION_TAG} {@code matches} or {@code encode}.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+    static final String QUEUE_TIME_METRIC = "password.hashing.queue.time";
+    static final String HASHING_TIME_METRIC = "password.hashing.time";
+    static final String REJECTED_METRIC = "password.hashing.rejected";
+    static final String QUEUE_SIZE_METRIC = "password.hashing.queue.size";
+    static final String OPERATION_TAG = "operation";
+
+    private final PasswordEncoder delegate;
+    private final HashingPool matching;
+    private final HashingPool encoding;
+
+    /**
+     * @param threads        threads checking passwords, the number of available processors when not positive
+     * @param encodeThreads  threads hashing new passwords, at least one
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate,
+                                  int threads,
+                                  int queueCapacity,
+                                  int encodeThreads,
+                                  int encodeQueueCapacity,
+                                  Duration timeout,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.matching = new HashingPool("matches", threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                queueCapacity, timeout, "Too many logins in progress, try again later", meterRegistry);
+        this.encoding = new HashingPool("encode", Math.max(1, encodeThreads),
+                encodeQueueCapacity, timeout, "Too many sign-ups in progress, try again later", meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encoding.run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return matching.run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        matching.executor.shutdownNow();
+        encoding.executor.shutdownNow();
+    }
+
+    private static class HashingPool {
+        private final ThreadPoolExecutor executor;
+        private final Duration timeout;
+        private final String rejectionMessage;
+        private final Timer queueTime;
+        private final Timer hashingTime;
+        private final Counter rejected;
+
+        HashingPool(String operation, int threads, int queueCapacity, Duration timeout, String rejectionMessage,
+                    MeterRegistry meterRegistry) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-" + operation + "-");
+            threadFactory.setDaemon(true);
+
+            this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+            this.timeout = timeout;
+            this.rejectionMessage = rejectionMessage;
+            this.queueTime = Timer.builder(QUEUE_TIME_METRIC)
+                    .description("Time a password hash waited for a hashing thread")
+                    .tag(OPERATION_TAG, operation)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.hashingTime = Timer.builder(HASHING_TIME_METRIC)
+                    .description("Time spent hashing or checking a password")
+                    .tag(OPERATION_TAG, operation)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.rejected = Counter.builder(REJECTED_METRIC)
+                    .description("Password hashes rejected because the hashing pool was saturated")
+                    .tag(OPERATION_TAG, operation)
+                    .register(meterRegistry);
+            Gauge.builder(QUEUE_SIZE_METRIC, executor, pool -> pool.getQueue().size())
+                    .description("Password hashes waiting for a hashing thread")
+                    .tag(OPERATION_TAG, operation)
+                    .register(meterRegistry);
+        }
+
+        <T> T run(Supplier<T> work) {
+            long submitted = System.nanoTime();
+            FutureTask<T> task = new FutureTask<>(() -> {
+                long started = System.nanoTime();
+                queueTime.record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    return work.get();
+                } finally {
+                    hashingTime.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            });
+
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException ex) {
+                return reject();
+            }
+
+            try {
+                try {
+                    return task.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+                } catch (TimeoutException ex) {
+                    // the deadline is for the queue only, a hash that already started is worth its result
+                    if (executor.remove(task)) {
+                        return reject();
+                    }
+                    return task.get();
+                }
+            } catch (InterruptedException ex) {
+                task.cancel(false);
+                executor.remove(task);
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for password hashing", ex);
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException("Password hashing failed", ex.getCause());
+            }
+        }
+
+        private <T> T reject() {
+            rejected.increment();
+            throw new TooManyRequestsException(rejectionMessage);
+        }
+    }
+}
@@ -1,23 +1,64 @@
 package com.example.blog.security;
 
 import com.example.blog.user.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
     private final UserRepository userRepository;
+    private final UserPrincipalCache principalCache;
+    // disabled flag by user id, a missing user counts as disabled
+    private final LoadingCache<Long, Boolean> accountStatuses;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    UserPrincipalCache principalCache,
+                                    @Value("${app.security.account-status.ttl:30s}") Duration statusTtl,
+                                    @Value("${app.security.account-status.max-size:10000}") long statusMaxSize) {
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.accountStatuses = Caffeine.newBuilder()
+                .expireAfterWrite(statusTtl)
+                .maximumSize(statusMaxSize)
+                .build(userId -> userRepository.findDisabledById(userId).orElse(true));
     }
 
+    /**
+     * Always reads the user from database (used by login), refreshing cached principal.
+     * A disabled user is returned with {@code isEnabled() == false} and is not cached.
+     */
     @Override
     public UserDetails loadUserByUsername(String emailOrUsername) throws UsernameNotFoundException {
-        return userRepository.findUserByEmailOrUsername(emailOrUsername)
-                .map(u -> new UserPrincipal(u.getId(), u.getEmail(), u.getUsername(), u.getPassword(), u.getRoles()))
+        UserPrincipal principal = userRepository.findUserByEmailOrUsername(emailOrUsername)
+                .map(u -> new UserPrincipal(u.getId(), u.getEmail(), u.getUsername(), u.getPassword(), u.getRoles(), !u.isDisabled()))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with given username or email [%s]".formatted(emailOrUsername)));
+
+        principalCache.put(emailOrUsername, principal);
+
+        return principal;
+    }
+
+    /**
+     * Used for already authenticated requests, answers from {@link UserPrincipalCache} when possible.
+     */
+    public UserDetails loadCachedUserByUsername(String emailOrUsername) throws UsernameNotFoundException {
+        return principalCache.get(emailOrUsername)
+                .map(UserDetails.class::cast)
+                .orElseGet(() -> loadUserByUsername(emailOrUsername));
+    }
+
+    /**
+     * True once the account deletion started or the user is gone, checked for principals that come from token
+     * claims. Deletions started on another node are seen once the looked up status expires.
+     */
+    public boolean isDisabled(Long userId) {
+        return principalCache.isDisabled(userId) || accountStatuses.get(userId);
     }
 }
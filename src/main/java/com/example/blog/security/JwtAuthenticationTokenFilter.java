@@ -1,13 +1,16 @@
 package com.example.blog.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -15,33 +18,66 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.nio.file.AccessDeniedException;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationTokenFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenUtil;
     private final CustomUserDetailsService detailsService;
+    private final boolean statelessPrincipal;
 
-    public JwtAuthenticationTokenFilter(JwtTokenProvider jwtTokenUtil, CustomUserDetailsService detailsService) {
+    public JwtAuthenticationTokenFilter(JwtTokenProvider jwtTokenUtil,
+                                        CustomUserDetailsService detailsService,
+                                        @Value("${app.security.stateless-principal:false}") boolean statelessPrincipal) {
         this.jwtTokenUtil = jwtTokenUtil;
         this.detailsService = detailsService;
+        this.statelessPrincipal = statelessPrincipal;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String token = getAuthorizationToken(request);
 
-        if (StringUtils.hasText(token) && jwtTokenUtil.isTokenValid(token) && SecurityContextHolder.getContext().getAuthentication() == null) {
-            String username = jwtTokenUtil.getSubject(token);
-            UserDetails userDetails = detailsService.loadUserByUsername(username);
+        if (StringUtils.hasText(token) && SecurityContextHolder.getContext().getAuthentication() == null) {
+            jwtTokenUtil.getVerifiedClaims(token)
+                    .ifPresent(claims -> authenticate(claims, request));
+        }
 
-            UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-            authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        filterChain.doFilter(request, response);
+    }
 
-            SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+    private void authenticate(Claims claims, HttpServletRequest request) {
+        UserDetails userDetails;
+        try {
+            userDetails = loadUser(claims);
+        } catch (UsernameNotFoundException ex) {
+            // token of a deleted account, the request stays anonymous
+            return;
+        }
+        if (!userDetails.isEnabled()) {
+            return;
         }
 
-        filterChain.doFilter(request, response);
+        UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+    }
+
+    /**
+     * In stateless mode principal is taken from token claims and the database is only asked whether the account
+     * is still enabled (cached briefly), role changes are visible after the user logs in again.
+     */
+    private UserDetails loadUser(Claims claims) {
+        if (statelessPrincipal) {
+            Optional<UserPrincipal> principal = jwtTokenUtil.getPrincipal(claims);
+            if (principal.isPresent() && !detailsService.isDisabled(principal.get().getId())) {
+                return principal.get();
+            }
+        }
+
+        return detailsService.loadCachedUserByUsername(claims.getSubject());
     }
 
     private String getAuthorizationToken(HttpServletRequest request) {
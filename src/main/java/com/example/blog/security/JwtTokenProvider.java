@@ -1,5 +1,6 @@
 package com.example.blog.security;
 
+import com.example.blog.role.AppRoles;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
@@ -12,10 +13,12 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 
 @Component
 @Slf4j
@@ -24,27 +27,79 @@ public class JwtTokenProvider {
     private static final Logger LOGGER = LoggerFactory.getLogger(JwtTokenProvider.class);
     private static final long EXPIRE_DURATION = 10; //days
 
-    @Value("${app.jwt.secret}")
-    private String SECRET_KEY;
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLES_CLAIM = "roles";
+
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public JwtTokenProvider(@Value("${app.jwt.secret}") String secretKey,
+                            @Value("${app.jwt.cache.max-size:10000}") int cacheMaxSize) {
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.verifiedTokenCache = new VerifiedTokenCache(cacheMaxSize);
+    }
 
     public String generateToken(Authentication user) {
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(user.getName())
                 .setIssuer("blog")
                 .setIssuedAt(Date.from(Instant.now()))
-                .setExpiration(Date.from(Instant.now().plus(EXPIRE_DURATION, ChronoUnit.DAYS)))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .setExpiration(Date.from(Instant.now().plus(EXPIRE_DURATION, ChronoUnit.DAYS)));
+
+        if (user.getPrincipal() instanceof UserPrincipal principal) {
+            builder
+                    .claim(USER_ID_CLAIM, principal.getId())
+                    .claim(ROLES_CLAIM, principal.getRoles().stream().map(Enum::name).sorted().toList());
+        }
+
+        return builder
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
     public String getSubject(String token) {
-        return getClaims(token).getSubject();
+        return getVerifiedSubject(token)
+                .orElseGet(() -> getClaims(token).getSubject());
     }
 
     public boolean isTokenValid(String token) {
+        return getVerifiedClaims(token).isPresent();
+    }
+
+    public Optional<String> getVerifiedSubject(String token) {
+        return getVerifiedClaims(token)
+                .map(Claims::getSubject);
+    }
+
+    /**
+     * Returns claims of the token if it has valid signature and is not expired.
+     * Token is parsed only on first use, subsequent calls are answered from {@link VerifiedTokenCache}.
+     */
+    public Optional<Claims> getVerifiedClaims(String token) {
+        long now = System.currentTimeMillis();
+
+        Optional<Claims> cachedClaims = verifiedTokenCache.get(token, now);
+        if (cachedClaims.isPresent()) {
+            return cachedClaims;
+        }
+
         try {
-            getSubject(token);
-            return isTokenNotExpired(token);
+            Claims claims = getClaims(token);
+            if (claims.getExpiration() == null) {
+                LOGGER.error("JWT token without expiration");
+                return Optional.empty();
+            }
+            if (claims.getSubject() == null) {
+                LOGGER.error("JWT token without subject");
+                return Optional.empty();
+            }
+            verifiedTokenCache.put(token, claims, now);
+
+            return Optional.of(claims);
         } catch (SignatureException ex) {
             LOGGER.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -56,22 +111,36 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             LOGGER.error("JWT claims string is empty");
         }
-        return false;
+        return Optional.empty();
     }
 
-    private boolean isTokenNotExpired(String token) {
-        Date now = Date.from(Instant.now());
-        return getClaims(token).getExpiration().after(now);
-    }
+    /**
+     * Rebuilds principal from id and roles carried by the token. The email isn't carried, anyone holding
+     * the token can read its claims, so the principal has none.
+     * Empty for tokens issued before these claims were added.
+     */
+    public Optional<UserPrincipal> getPrincipal(Claims claims) {
+        Number id = claims.get(USER_ID_CLAIM, Number.class);
+        Collection<?> roles = claims.get(ROLES_CLAIM, List.class);
+
+        if (id == null || roles == null) {
+            return Optional.empty();
+        }
+
+        try {
+            List<AppRoles> appRoles = roles.stream()
+                    .map(r -> AppRoles.valueOf(r.toString()))
+                    .toList();
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+            return Optional.of(UserPrincipal.withoutPassword(id.longValue(), claims.getSubject(), appRoles));
+        } catch (IllegalArgumentException ex) {
+            LOGGER.error("JWT token with unknown role");
+            return Optional.empty();
+        }
     }
 
     private Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
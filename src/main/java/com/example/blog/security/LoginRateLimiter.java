@@ -0,0 +1,75 @@
+package com.example.blog.security;
+
+import com.example.blog.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Admission control in front of login, checked before any password is hashed: a token bucket per client
+ * address and one per username, so neither a single client nor a spread-out attack on one account can
+ * keep the password hashing pool busy. Rejections are counted in {@value #REJECTED_METRIC}.
+ */
+@Component
+public class LoginRateLimiter {
+    static final String REJECTED_METRIC = "login.rate-limit.rejected";
+
+    private final boolean enabled;
+    private final StripedTokenBuckets addressBuckets;
+    private final StripedTokenBuckets usernameBuckets;
+    private final Counter addressRejected;
+    private final Counter usernameRejected;
+
+    public LoginRateLimiter(@Value("${app.security.login-rate-limit.enabled:true}") boolean enabled,
+                            @Value("${app.security.login-rate-limit.stripes:65536}") int stripes,
+                            @Value("${app.security.login-rate-limit.per-address.per-minute:60}") int addressPerMinute,
+                            @Value("${app.security.login-rate-limit.per-address.burst:20}") int addressBurst,
+                            @Value("${app.security.login-rate-limit.per-username.per-minute:10}") int usernamePerMinute,
+                            @Value("${app.security.login-rate-limit.per-username.burst:5}") int usernameBurst,
+                            MeterRegistry meterRegistry) {
+        this(enabled,
+                new StripedTokenBuckets(stripes, addressPerMinute, addressBurst),
+                new StripedTokenBuckets(stripes, usernamePerMinute, usernameBurst),
+                meterRegistry);
+    }
+
+    LoginRateLimiter(boolean enabled,
+                     StripedTokenBuckets addressBuckets,
+                     StripedTokenBuckets usernameBuckets,
+                     MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.addressBuckets = addressBuckets;
+        this.usernameBuckets = usernameBuckets;
+        this.addressRejected = rejectedCounter(meterRegistry, "address");
+        this.usernameRejected = rejectedCounter(meterRegistry, "username");
+    }
+
+    /**
+     * Takes a token for the client address and one for the username (email or username, case insensitive).
+     *
+     * @throws TooManyRequestsException when either bucket is empty
+     */
+    public void acquire(String address, String username) {
+        if (!enabled) {
+            return;
+        }
+        if (!addressBuckets.tryAcquire(address)) {
+            addressRejected.increment();
+            throw new TooManyRequestsException("Too many login attempts, try again later");
+        }
+        if (!usernameBuckets.tryAcquire(username.toLowerCase(Locale.ROOT))) {
+            usernameRejected.increment();
+            throw new TooManyRequestsException("Too many login attempts, try again later");
+        }
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String key) {
+        return Counter.builder(REJECTED_METRIC)
+                .description("Login attempts rejected before authentication")
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+}
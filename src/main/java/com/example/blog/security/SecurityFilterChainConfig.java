@@ -37,7 +37,8 @@ public class SecurityFilterChainConfig {
                         .requestMatchers(HttpMethod.POST,
                                 "/api/v1/categories",
                                 "/api/v1/tags",
-                                "/api/v1/users").hasRole("ADMIN")
+                                "/api/v1/users",
+                                "/api/v1/posts/import").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST,
                                 "/api/v1/posts/*/comments",
                                 "/api/v1/posts").hasAnyRole("USER")
@@ -49,13 +50,18 @@ public class SecurityFilterChainConfig {
                                 "/api/v1/posts/*").hasAnyRole("USER", "ADMIN")
                         .requestMatchers(HttpMethod.DELETE,
                                 "/api/v1/categories/*",
-                                "/api/v1/tags/*").hasRole("ADMIN")
+                                "/api/v1/tags/*",
+                                "/api/v1/users/*").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE,
                                 "/api/v1/posts/*/comments/*",
                                 "/api/v1/posts/*").hasAnyRole("USER", "ADMIN")
                         .requestMatchers(HttpMethod.PUT,
                                 "/api/v1/users/*/promote-to-admin",
                                 "/api/v1/users/*/remove-admin-role").hasRole("SUPER_ADMIN")
+                        .requestMatchers(HttpMethod.GET,
+                                "/api/v1/posts/export",
+                                "/api/v1/deletions/*",
+                                "/actuator/metrics/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET,
                                 "/api/v1/users/me",
                                 "/api/v1/users/me/comments").hasRole("USER")
@@ -0,0 +1,66 @@
+package com.example.blog.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets for an unbounded key space (client addresses, usernames) in a fixed array: a key is hashed to
+ * one of the stripes, keys that collide share a bucket, which only makes their limit stricter. Nothing is
+ * allocated per key, so a flood of distinct keys can't grow the heap. Keys are hashed with SipHash under a
+ * random key per instance, so which keys share a stripe can't be worked out in advance to exhaust someone
+ * else's bucket.
+ * <p>
+ * A bucket is kept as a single long, the time at which it is full again (the theoretical arrival time of GCRA,
+ * equivalent to a token bucket of {@code burst} tokens refilled at the given rate). Taking a token is one CAS,
+ * without a lock.
+ */
+final class StripedTokenBuckets {
+    private final AtomicLongArray fullAt;
+    private final int mask;
+    private final SipHash hash;
+    private final long nanosPerToken;
+    private final long capacityNanos;
+    private final LongSupplier nanoClock;
+    private final long origin;
+
+    StripedTokenBuckets(int stripes, int tokensPerMinute, int burst) {
+        this(stripes, tokensPerMinute, burst, System::nanoTime);
+    }
+
+    StripedTokenBuckets(int stripes, int tokensPerMinute, int burst, LongSupplier nanoClock) {
+        if (stripes <= 0 || tokensPerMinute <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("stripes, tokens per minute and burst must be positive");
+        }
+        int size = Integer.highestOneBit(stripes) == stripes ? stripes : Integer.highestOneBit(stripes) << 1;
+        this.fullAt = new AtomicLongArray(size);
+        this.mask = size - 1;
+        SecureRandom random = new SecureRandom();
+        this.hash = new SipHash(random.nextLong(), random.nextLong());
+        this.nanosPerToken = 60_000_000_000L / tokensPerMinute;
+        this.capacityNanos = nanosPerToken * burst;
+        this.nanoClock = nanoClock;
+        // nanoTime may be negative, the buckets count from zero (full) instead
+        this.origin = nanoClock.getAsLong() - capacityNanos;
+    }
+
+    boolean tryAcquire(String key) {
+        int stripe = stripe(key);
+        long now = nanoClock.getAsLong() - origin;
+        while (true) {
+            long current = fullAt.get(stripe);
+            long next = Math.max(current, now) + nanosPerToken;
+            if (next - now > capacityNanos) {
+                return false;
+            }
+            if (fullAt.compareAndSet(stripe, current, next)) {
+                return true;
+            }
+        }
+    }
+
+    private int stripe(String key) {
+        return (int) hash.hash(key.getBytes(StandardCharsets.UTF_8)) & mask;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.blog.security;
 
 import com.example.blog.entity.Role;
+import com.example.blog.role.AppRoles;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -10,28 +11,53 @@ import java.util.Collection;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * Immutable snapshot of the authenticated user, safe to share between requests.
+ */
 @Getter
 public class UserPrincipal implements UserDetails {
     private final Long id;
     private final String email;
     private final String username;
     private final String password;
-    private final Set<Role> roles;
+    private final Set<AppRoles> roles;
+    private final Set<GrantedAuthority> authorities;
+    private final boolean enabled;
 
     public UserPrincipal(Long id, String email, String username, String password, Set<Role> roles) {
+        this(id, email, username, password, roles, true);
+    }
+
+    public UserPrincipal(Long id, String email, String username, String password, Set<Role> roles, boolean enabled) {
+        this(id, email, username, password, roles
+                .stream()
+                .map(Role::getName)
+                .collect(Collectors.toSet()), enabled);
+    }
+
+    private UserPrincipal(Long id, String email, String username, String password, Collection<AppRoles> roles, boolean enabled) {
         this.id = id;
         this.email = email;
         this.username = username;
         this.password = password;
-        this.roles = roles;
+        this.enabled = enabled;
+        this.roles = Set.copyOf(roles);
+        this.authorities = this.roles
+                .stream()
+                .map(r -> new SimpleGrantedAuthority(r.name()))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Principal rebuilt from token claims, without password and email.
+     */
+    public static UserPrincipal withoutPassword(Long id, String username, Collection<AppRoles> roles) {
+        return new UserPrincipal(id, null, username, null, roles, true);
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return roles
-                .stream()
-                .map(r -> new SimpleGrantedAuthority(r.getName().name()))
-                .collect(Collectors.toSet());
+        return authorities;
     }
 
     @Override
@@ -59,8 +85,11 @@ public class UserPrincipal implements UserDetails {
         return true;
     }
 
+    /**
+     * False for an account being deleted, login then fails with {@code DisabledException}.
+     */
     @Override
     public boolean isEnabled() {
-        return true;
+        return enabled;
     }
 }
@@ -0,0 +1,105 @@
+package com.example.blog.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process store of {@link UserPrincipal} snapshots used by the JWT filter,
+ * so authenticated requests don't query the users table each time.
+ * Entries expire after configured ttl and must be evicted when user roles change.
+ * Users disabled on this node are remembered for a ttl and never served meanwhile, even if a concurrent login
+ * cached them again; whatever was cached before has gone stale by then.
+ */
+@Component
+public class UserPrincipalCache {
+    private final long ttlMillis;
+    private final int maxSize;
+    private final Map<String, CachedPrincipal> principals;
+    private final Cache<Long, Boolean> disabledUsers;
+
+    public UserPrincipalCache(@Value("${app.security.principal-cache.ttl:5m}") Duration ttl,
+                              @Value("${app.security.principal-cache.max-size:10000}") int maxSize) {
+        this.ttlMillis = ttl.toMillis();
+        this.maxSize = maxSize;
+        this.principals = new ConcurrentHashMap<>();
+        this.disabledUsers = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public Optional<UserPrincipal> get(String username) {
+        if (maxSize <= 0) {
+            return Optional.empty();
+        }
+
+        CachedPrincipal cachedPrincipal = principals.get(username);
+        if (cachedPrincipal == null) {
+            return Optional.empty();
+        }
+        if (isStale(cachedPrincipal, System.currentTimeMillis()) || isDisabled(cachedPrincipal.principal().getId())) {
+            principals.remove(username, cachedPrincipal);
+            return Optional.empty();
+        }
+
+        return Optional.of(cachedPrincipal.principal());
+    }
+
+    public void put(String username, UserPrincipal principal) {
+        if (maxSize <= 0 || !principal.isEnabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (principals.size() >= maxSize) {
+            evict(now);
+        }
+
+        principals.put(username, new CachedPrincipal(principal, now));
+    }
+
+    public void evictUser(Long userId) {
+        principals.values().removeIf(p -> p.principal().getId().equals(userId));
+    }
+
+    public void disableUser(Long userId) {
+        disabledUsers.put(userId, Boolean.TRUE);
+        evictUser(userId);
+    }
+
+    public boolean isDisabled(Long userId) {
+        return disabledUsers.getIfPresent(userId) != null;
+    }
+
+    public void clear() {
+        principals.clear();
+    }
+
+    private boolean isStale(CachedPrincipal cachedPrincipal, long now) {
+        return now - cachedPrincipal.loadedAt() >= ttlMillis;
+    }
+
+    private void evict(long now) {
+        principals.values().removeIf(p -> isStale(p, now));
+
+        if (principals.size() < maxSize) {
+            return;
+        }
+
+        Iterator<String> iterator = principals.keySet().iterator();
+        int toRemove = principals.size() - maxSize + Math.max(1, maxSize / 10);
+        while (toRemove-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private record CachedPrincipal(UserPrincipal principal, long loadedAt) {
+    }
+}
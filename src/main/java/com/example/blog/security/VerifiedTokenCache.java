@@ -0,0 +1,92 @@
+package com.example.blog.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of tokens whose signature was already verified.
+ * Entries are keyed by SHA-256 digest of the token (raw tokens are never kept in memory)
+ * and live no longer than the token itself.
+ */
+class VerifiedTokenCache {
+    private final int maxSize;
+    private final Map<String, VerifiedToken> tokens;
+
+    VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.tokens = new ConcurrentHashMap<>();
+    }
+
+    Optional<Claims> get(String token, long now) {
+        if (maxSize <= 0) {
+            return Optional.empty();
+        }
+
+        String key = digest(token);
+        VerifiedToken verifiedToken = tokens.get(key);
+
+        if (verifiedToken == null) {
+            return Optional.empty();
+        }
+        if (verifiedToken.expiresAt() <= now) {
+            tokens.remove(key, verifiedToken);
+            return Optional.empty();
+        }
+
+        return Optional.of(verifiedToken.claims());
+    }
+
+    void put(String token, Claims claims, long now) {
+        long expiresAt = claims.getExpiration().getTime();
+        if (maxSize <= 0 || expiresAt <= now) {
+            return;
+        }
+        if (tokens.size() >= maxSize) {
+            evict(now);
+        }
+
+        tokens.put(digest(token), new VerifiedToken(claims, expiresAt));
+    }
+
+    int size() {
+        return tokens.size();
+    }
+
+    private void evict(long now) {
+        tokens.values().removeIf(t -> t.expiresAt() <= now);
+
+        if (tokens.size() < maxSize) {
+            return;
+        }
+
+        // Still full with live tokens - drop an arbitrary tenth, they will be verified again on next use
+        Iterator<String> iterator = tokens.keySet().iterator();
+        int toRemove = tokens.size() - maxSize + Math.max(1, maxSize / 10);
+        while (toRemove-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = messageDigest.digest(token.getBytes(StandardCharsets.UTF_8));
+
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    }
+
+    private record VerifiedToken(Claims claims, long expiresAt) {
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.blog.tag;
+
+import com.example.blog.config.CacheConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deletes tags that are no longer attached to any post, outside of user request transactions.
+ * Post writes only report tags they detached, those are checked on the next run with bulk deletes.
+ * A periodic sweep catches tags orphaned by other paths (e.g. category removal).
+ */
+@Component
+public class OrphanedTagCleaner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OrphanedTagCleaner.class);
+
+    private final TagRepository tagRepository;
+    private final CacheManager cacheManager;
+    private final int batchSize;
+    private final Set<Long> candidates;
+
+    public OrphanedTagCleaner(TagRepository tagRepository,
+                              CacheManager cacheManager,
+                              @Value("${app.tags.orphan-cleanup.batch-size:500}") int batchSize) {
+        this.tagRepository = tagRepository;
+        this.cacheManager = cacheManager;
+        this.batchSize = batchSize;
+        this.candidates = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Registers tags detached from a post, they become candidates once the current transaction commits.
+     */
+    public void checkAfterCommit(Collection<Long> tagIds) {
+        if (tagIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            candidates.addAll(tagIds);
+            return;
+        }
+
+        List<Long> ids = List.copyOf(tagIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                candidates.addAll(ids);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.tags.orphan-cleanup.delay-ms:10000}")
+    public void deleteCandidates() {
+        List<Long> batch;
+        while (!(batch = nextCandidates()).isEmpty()) {
+            try {
+                int deleted = tagRepository.deleteOrphanedTagsIn(batch);
+                LOGGER.debug("Deleted {} of {} orphaned tag candidates", deleted, batch.size());
+                if (deleted > 0) {
+                    evict(batch);
+                }
+            } catch (RuntimeException ex) {
+                LOGGER.error("Orphaned tags cleanup failed, will retry on next run", ex);
+                candidates.addAll(batch);
+                return;
+            }
+        }
+    }
+
+    @Scheduled(cron = "${app.tags.orphan-cleanup.sweep-cron:0 0 3 * * *}")
+    public void sweep() {
+        int total = 0;
+        List<Long> batch;
+        while (!(batch = tagRepository.findOrphanedTagIds(batchSize)).isEmpty()) {
+            int deleted = tagRepository.deleteOrphanedTagsIn(batch);
+            if (deleted == 0) {
+                break;
+            }
+            evict(batch);
+            total += deleted;
+        }
+        LOGGER.info("Orphaned tags sweep deleted {} tags", total);
+    }
+
+    int pendingCandidates() {
+        return candidates.size();
+    }
+
+    private void evict(List<Long> tagIds) {
+        Cache tags = cacheManager.getCache(CacheConfig.TAGS);
+        if (tags != null) {
+            tagIds.forEach(tags::evict);
+        }
+        Cache tagPages = cacheManager.getCache(CacheConfig.TAG_PAGES);
+        if (tagPages != null) {
+            tagPages.clear();
+        }
+    }
+
+    private List<Long> nextCandidates() {
+        List<Long> batch = new ArrayList<>(batchSize);
+        Iterator<Long> iterator = candidates.iterator();
+        while (batch.size() < batchSize && iterator.hasNext()) {
+            batch.add(iterator.next());
+            iterator.remove();
+        }
+        return batch;
+    }
+}
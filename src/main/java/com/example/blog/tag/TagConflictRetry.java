@@ -0,0 +1,41 @@
+package com.example.blog.tag;
+
+import com.example.blog.uniqueness.UniqueKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs work that may create tags through {@link TagResolver} in a transaction, and runs it again when the
+ * transaction failed because a concurrent request created one of the tags first. The rollback takes the
+ * failed insert with it, the next attempt finds the tag. Must be called outside a transaction, inside one
+ * the work would join it and couldn't be retried.
+ */
+@Component
+public class TagConflictRetry {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TagConflictRetry.class);
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final TransactionTemplate transaction;
+
+    public TagConflictRetry(PlatformTransactionManager transactionManager) {
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    public <T> T execute(TransactionCallback<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transaction.execute(work);
+            } catch (DataIntegrityViolationException ex) {
+                if (attempt == MAX_ATTEMPTS || UniqueKey.violatedBy(ex).filter(UniqueKey.TAG_NAME::equals).isEmpty()) {
+                    throw ex;
+                }
+                LOGGER.warn("A tag was created concurrently, running the transaction again");
+            }
+        }
+    }
+}
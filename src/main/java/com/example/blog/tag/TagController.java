@@ -1,15 +1,19 @@
 package com.example.blog.tag;
 
-import com.example.blog.entity.Tag;
+import com.example.blog.base.ETags;
+import com.example.blog.deletion.DeletionJobModelAssembler;
+import com.example.blog.deletion.DeletionJobResponse;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 
 @RestController
@@ -17,29 +21,40 @@ import org.springframework.web.bind.annotation.*;
 public class TagController {
     private final TagService tagService;
     private final TagModelAssembler tagModelAssembler;
-    private final PagedResourcesAssembler<Tag> pagedResourcesAssembler;
+    private final PagedResourcesAssembler<TagSummary> pagedResourcesAssembler;
+    private final DeletionJobModelAssembler deletionJobModelAssembler;
 
-    public TagController(TagService tagService, TagModelAssembler tagModelAssembler, PagedResourcesAssembler<Tag> pagedResourcesAssembler) {
+    public TagController(TagService tagService, TagModelAssembler tagModelAssembler, PagedResourcesAssembler<TagSummary> pagedResourcesAssembler,
+                         DeletionJobModelAssembler deletionJobModelAssembler) {
         this.tagService = tagService;
         this.tagModelAssembler = tagModelAssembler;
         this.pagedResourcesAssembler = pagedResourcesAssembler;
+        this.deletionJobModelAssembler = deletionJobModelAssembler;
     }
 
     @GetMapping
-    public ResponseEntity<PagedModel<TagResponse>> getTagsAsPage(@PageableDefault(size = 5) Pageable pageable) {
-        Page<Tag> tagPage = tagService.getTagsAsPage(pageable);
+    public ResponseEntity<PagedModel<TagResponse>> getTagsAsPage(@PageableDefault(size = 5) Pageable pageable,
+                                                                 WebRequest request) {
+        Page<TagSummary> tagPage = tagService.getTagsAsPage(pageable);
 
         if (tagPage.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NO_CONTENT).body(PagedModel.empty());
         }
 
-        return ResponseEntity.ok(pagedResourcesAssembler.toModel(tagPage, tagModelAssembler));
+        String eTag = ETags.ofPage(tagPage, TagController::fingerprint);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(pagedResourcesAssembler.toModel(tagPage, tagModelAssembler));
     }
 
     @GetMapping("/post/{id}")
     public ResponseEntity<PagedModel<TagResponse>> getTagsForPost(@PathVariable("id") Long postId,
                                                                   @PageableDefault(size = 5) Pageable pageable) {
-        Page<Tag> tagPage = tagService.getTagsForPostAsPage(postId, pageable);
+        Page<TagSummary> tagPage = tagService.getTagsForPostAsPage(postId, pageable);
 
         if (tagPage.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NO_CONTENT).body(PagedModel.empty());
@@ -49,30 +64,43 @@ public class TagController {
     }
 
     @GetMapping("{id}")
-    public ResponseEntity<TagResponse> get(@PathVariable("id") Long tagId) {
-        Tag tag = tagService.getTagById(tagId);
+    public ResponseEntity<TagResponse> get(@PathVariable("id") Long tagId, WebRequest request) {
+        TagSummary tag = tagService.getTagById(tagId);
 
-        return ResponseEntity.ok(tagModelAssembler.toModel(tag));
+        String eTag = ETags.of(fingerprint(tag));
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(tagModelAssembler.toModel(tag));
     }
 
     @PostMapping
     public ResponseEntity<TagResponse> save(@Valid @RequestBody TagRequest request) {
-        Tag tag = tagService.save(request);
+        TagSummary tag = tagService.save(request);
 
         return ResponseEntity.status(HttpStatus.CREATED).body(tagModelAssembler.toModel(tag));
     }
 
     @PutMapping("{id}")
     public ResponseEntity<TagResponse> update(@PathVariable("id") Long tagId, @Valid @RequestBody TagRequest request) {
-        Tag tag = tagService.update(tagId, request);
+        TagSummary tag = tagService.update(tagId, request);
 
         return ResponseEntity.ok(tagModelAssembler.toModel(tag));
     }
 
     @DeleteMapping("{id}")
-    public ResponseEntity<String> delete(@PathVariable("id") Long tagId) {
-        tagService.delete(tagId);
+    public ResponseEntity<DeletionJobResponse> delete(@PathVariable("id") Long tagId) {
+        DeletionJobResponse deletion = deletionJobModelAssembler.toModel(tagService.delete(tagId));
+
+        return ResponseEntity.accepted()
+                .location(deletion.getRequiredLink(IanaLinkRelations.SELF).toUri())
+                .body(deletion);
+    }
 
-        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+    private static String fingerprint(TagSummary tag) {
+        return tag.id() + ":" + tag.name() + ":" + tag.modifiedDate();
     }
 }
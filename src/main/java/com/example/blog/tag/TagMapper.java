@@ -1,16 +1,15 @@
 package com.example.blog.tag;
 
 import com.example.blog.DTOMapper;
-import com.example.blog.entity.Tag;
 import org.springframework.stereotype.Component;
 
 @Component
-public class TagMapper implements DTOMapper<Tag, TagResponse> {
+public class TagMapper implements DTOMapper<TagSummary, TagResponse> {
     @Override
-    public TagResponse apply(Tag tag) {
+    public TagResponse apply(TagSummary tag) {
         return TagResponse.builder()
-                .id(tag.getId())
-                .name(tag.getName())
+                .id(tag.id())
+                .name(tag.name())
                 .build();
     }
 }
\ No newline at end of file
@@ -1,16 +1,13 @@
 package com.example.blog.tag;
 
-import com.example.blog.entity.Tag;
-import com.example.blog.post.PostController;
+import com.example.blog.base.LinkTemplates;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.server.mvc.RepresentationModelAssemblerSupport;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Component
-public class TagModelAssembler extends RepresentationModelAssemblerSupport<Tag, TagResponse> {
+public class TagModelAssembler extends RepresentationModelAssemblerSupport<TagSummary, TagResponse> {
     private final TagMapper mapper;
 
     public TagModelAssembler(TagMapper mapper) {
@@ -20,17 +17,12 @@ public class TagModelAssembler extends RepresentationModelAssemblerSupport<Tag,
 
     @Override
     @NonNull
-    public TagResponse toModel(@NonNull Tag tag) {
+    public TagResponse toModel(@NonNull TagSummary tag) {
         TagResponse tagModel = mapper.apply(tag);
 
-        tagModel.add(
-                linkTo(methodOn(TagController.class).get(tag.getId()))
-                        .withSelfRel());
+        tagModel.add(LinkTemplates.TAG.link(IanaLinkRelations.SELF, tag.id()));
 
-        tagModel.add(
-                linkTo(methodOn(PostController.class)
-                        .getPostsByTag(tagModel.getId(), null))
-                        .withRel("posts"));
+        tagModel.add(LinkTemplates.POSTS_BY_TAG.link("posts", tagModel.getId()));
 
         return tagModel;
     }
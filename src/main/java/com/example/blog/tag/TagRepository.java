@@ -6,17 +6,26 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.data.domain.Page;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @NoRepositoryBean
 public interface TagRepository {
     Tag save(Tag tag);
+    <S extends Tag> List<S> saveAll(Iterable<S> tags);
+    <S extends Tag> List<S> saveAllAndFlush(Iterable<S> tags);
     Page<Tag> findAll(Pageable pageable);
     Optional<Tag> findById(Long id);
     Optional<Tag> findByName(String name);
+    List<Tag> findByNameIn(Collection<String> names);
     Page<Tag> findByPostsIn(List<Post> posts, Pageable pageable);
     boolean existsByName(String name);
     void delete(Tag tag);
     List<Tag> findOrphanedTags();
+    List<Long> findOrphanedTagIds(int limit);
+    int deleteOrphanedTagsIn(Collection<Long> ids);
+    List<Long> findPostIdsByTagId(Long tagId, int limit);
+    int deletePostLinks(Long tagId, Collection<Long> postIds);
+    int deleteTagById(Long id);
 }
@@ -5,15 +5,43 @@ import com.example.blog.entity.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository("tag-jpa")
 public interface TagRepositoryJpa extends TagRepository, JpaRepository<Tag, Long> {
     Page<Tag> findByPostsIn(List<Post> posts, Pageable pageable);
+    List<Tag> findByNameIn(Collection<String> names);
 
     @Query("SELECT t FROM Tag t WHERE t.posts IS EMPTY")
     List<Tag> findOrphanedTags();
+
+    @Query(value = "SELECT t.id FROM tags t " +
+            "WHERE NOT EXISTS (SELECT 1 FROM post_tag pt WHERE pt.tag_id = t.id) " +
+            "ORDER BY t.id LIMIT :limit", nativeQuery = true)
+    List<Long> findOrphanedTagIds(@Param("limit") int limit);
+
+    // Orphan check is repeated in the delete, so a tag attached to a post in the meantime survives
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM tags WHERE id IN (:ids) " +
+            "AND NOT EXISTS (SELECT 1 FROM post_tag pt WHERE pt.tag_id = tags.id)", nativeQuery = true)
+    int deleteOrphanedTagsIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT post_id FROM post_tag WHERE tag_id = :tagId ORDER BY post_id LIMIT :limit", nativeQuery = true)
+    List<Long> findPostIdsByTagId(@Param("tagId") Long tagId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM post_tag WHERE tag_id = :tagId AND post_id IN (:postIds)", nativeQuery = true)
+    int deletePostLinks(@Param("tagId") Long tagId, @Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query("DELETE FROM Tag t WHERE t.id = :id")
+    int deleteTagById(@Param("id") Long id);
 }
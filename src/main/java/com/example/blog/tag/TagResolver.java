@@ -0,0 +1,101 @@
+package com.example.blog.tag;
+
+import com.example.blog.config.CacheConfig;
+import com.example.blog.entity.Tag;
+import com.example.blog.uniqueness.UniqueKey;
+import com.example.blog.uniqueness.UniquenessIndex;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves tag names to tags with one query, inserting missing tags as a single batch in the caller's transaction,
+ * so they are rolled back with it. A tag created by a concurrent request between the query and the insert fails
+ * the insert and with it the caller's transaction, callers run through {@link TagConflictRetry} to try again.
+ */
+@Service
+public class TagResolver {
+    private final TagRepository tagRepository;
+    private final CacheManager cacheManager;
+    private final UniquenessIndex uniquenessIndex;
+
+    public TagResolver(TagRepository tagRepository,
+                       CacheManager cacheManager,
+                       UniquenessIndex uniquenessIndex) {
+        this.tagRepository = tagRepository;
+        this.cacheManager = cacheManager;
+        this.uniquenessIndex = uniquenessIndex;
+    }
+
+    public Set<Tag> getOrCreateTags(Collection<String> tagNames) {
+        Set<String> names = distinctNames(tagNames);
+        if (names.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        Map<String, Tag> tags = byName(tagRepository.findByNameIn(names));
+
+        List<String> missingNames = missingNames(names, tags);
+        if (!missingNames.isEmpty()) {
+            tags.putAll(byName(insert(missingNames)));
+            evictTagPagesAfterCommit();
+        }
+
+        return new HashSet<>(tags.values());
+    }
+
+    private List<Tag> insert(List<String> names) {
+        List<Tag> tags = names.stream()
+                .map(Tag::new)
+                .toList();
+
+        // flushed, so a name taken concurrently fails here rather than at commit
+        List<Tag> savedTags = tagRepository.saveAllAndFlush(tags);
+        names.forEach(name -> uniquenessIndex.addAfterCommit(UniqueKey.TAG_NAME, name));
+
+        return savedTags;
+    }
+
+    private void evictTagPagesAfterCommit() {
+        Cache tagPages = cacheManager.getCache(CacheConfig.TAG_PAGES);
+        if (tagPages == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            tagPages.clear();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                tagPages.clear();
+            }
+        });
+    }
+
+    // the name column's collation ignores case and accents, "Java" and "java" are the same tag
+    private static Set<String> distinctNames(Collection<String> tagNames) {
+        Map<String, String> names = new LinkedHashMap<>();
+        tagNames.forEach(name -> names.putIfAbsent(UniquenessIndex.normalize(name), name));
+        return new LinkedHashSet<>(names.values());
+    }
+
+    private static List<String> missingNames(Set<String> names, Map<String, Tag> tags) {
+        return names.stream()
+                .filter(name -> !tags.containsKey(UniquenessIndex.normalize(name)))
+                .toList();
+    }
+
+    private static Map<String, Tag> byName(List<Tag> tags) {
+        return tags.stream()
+                .collect(Collectors.toMap(tag -> UniquenessIndex.normalize(tag.getName()), Function.identity(),
+                        (a, b) -> a, HashMap::new));
+    }
+}
@@ -1,14 +1,22 @@
 package com.example.blog.tag;
 
+import com.example.blog.config.CacheConfig;
+import com.example.blog.deletion.BulkDeleter;
+import com.example.blog.deletion.DeletionJob;
+import com.example.blog.deletion.DeletionJobs;
 import com.example.blog.entity.Tag;
 import com.example.blog.exception.DuplicateResourceException;
 import com.example.blog.exception.ResourceNotFoundException;
 import com.example.blog.entity.Post;
 import com.example.blog.post.PostRepository;
+import com.example.blog.uniqueness.UniqueKey;
+import com.example.blog.uniqueness.UniquenessIndex;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -17,55 +25,78 @@ public class TagService {
     private final TagRepository tagRepository;
 
     private final PostRepository postRepository;
-
-    public TagService(TagRepository tagRepository, PostRepository postRepository) {
+    private final DeletionJobs deletionJobs;
+    private final BulkDeleter bulkDeleter;
+    private final UniquenessIndex uniquenessIndex;
+
+    public TagService(TagRepository tagRepository,
+                      PostRepository postRepository,
+                      DeletionJobs deletionJobs,
+                      BulkDeleter bulkDeleter,
+                      UniquenessIndex uniquenessIndex) {
         this.tagRepository = tagRepository;
         this.postRepository = postRepository;
+        this.deletionJobs = deletionJobs;
+        this.bulkDeleter = bulkDeleter;
+        this.uniquenessIndex = uniquenessIndex;
     }
 
-    public Page<Tag> getTagsAsPage(Pageable pageable) {
-        return tagRepository.findAll(pageable);
+    @Cacheable(CacheConfig.TAG_PAGES)
+    public Page<TagSummary> getTagsAsPage(Pageable pageable) {
+        return tagRepository.findAll(pageable).map(TagSummary::of);
     }
 
-    public Page<Tag> getTagsForPostAsPage(Long postId, Pageable pageable) {
+    public Page<TagSummary> getTagsForPostAsPage(Long postId, Pageable pageable) {
         Post post = getPostById(postId);
 
-        return tagRepository.findByPostsIn(List.of(post), pageable);
+        return tagRepository.findByPostsIn(List.of(post), pageable).map(TagSummary::of);
     }
 
-    public Tag getTagById(Long tagId) {
-        return tagRepository.findById(tagId)
-                .orElseThrow(() -> new ResourceNotFoundException("Tag with id [%d] not found".formatted(tagId)));
+    @Cacheable(CacheConfig.TAGS)
+    public TagSummary getTagById(Long tagId) {
+        return TagSummary.of(getTag(tagId));
     }
 
-    public Tag save(TagRequest request) {
+    @CacheEvict(cacheNames = CacheConfig.TAG_PAGES, allEntries = true)
+    public TagSummary save(TagRequest request) {
         validateRequest(request);
         Tag tag = Tag.builder()
                 .name(request.getName()).build();
 
-        return tagRepository.save(tag);
+        Tag savedTag = tagRepository.save(tag);
+        uniquenessIndex.addAfterCommit(UniqueKey.TAG_NAME, tag.getName());
+
+        return TagSummary.of(savedTag);
     }
 
-    public Tag update(Long tagId, TagRequest request) {
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TAGS, key = "#tagId"),
+            @CacheEvict(cacheNames = CacheConfig.TAG_PAGES, allEntries = true)
+    })
+    public TagSummary update(Long tagId, TagRequest request) {
         validateRequest(request);
-        Tag tag = getTagById(tagId);
+        Tag tag = getTag(tagId);
         tag.setName(request.getName());
 
-        return tagRepository.save(tag);
+        Tag savedTag = tagRepository.save(tag);
+        uniquenessIndex.addAfterCommit(UniqueKey.TAG_NAME, tag.getName());
+
+        return TagSummary.of(savedTag);
     }
 
-    @Transactional
-    public void delete(Long tagId) {
-        Tag tag = getTagById(tagId);
-        removeAssociationWithPosts(tag);
+    /**
+     * Starts detaching the tag from its posts and deleting it in the background, caches are evicted by
+     * {@link BulkDeleter} once the tag row is gone.
+     */
+    public DeletionJob delete(Long tagId) {
+        getTag(tagId);
 
-        tagRepository.delete(tag);
+        return deletionJobs.start(DeletionJob.Resource.TAG, tagId, bulkDeleter::deleteTag);
     }
 
-    private static void removeAssociationWithPosts(Tag tag) {
-        for (Post post : tag.getPosts()) {
-            post.removeTag(tag);
-        }
+    private Tag getTag(Long tagId) {
+        return tagRepository.findById(tagId)
+                .orElseThrow(() -> new ResourceNotFoundException("Tag with id [%d] not found".formatted(tagId)));
     }
 
     private Post getPostById(Long postId) {
@@ -78,7 +109,7 @@ public class TagService {
     }
 
     private void validateTagName(String requestName) {
-        if (tagRepository.existsByName(requestName)) {
+        if (uniquenessIndex.mightExist(UniqueKey.TAG_NAME, requestName) && tagRepository.existsByName(requestName)) {
             throw new DuplicateResourceException("Tag with name [%s] already exists".formatted(requestName));
         }
     }
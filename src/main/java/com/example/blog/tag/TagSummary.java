@@ -0,0 +1,15 @@
+package com.example.blog.tag;
+
+import com.example.blog.entity.Tag;
+
+/**
+ * Immutable copy of the tag columns the API exposes, what the tag caches hold instead of entities.
+ */
+public record TagSummary(Long id,
+                         String name,
+                         Long modifiedDate) {
+
+    public static TagSummary of(Tag tag) {
+        return new TagSummary(tag.getId(), tag.getName(), tag.getModifiedDate());
+    }
+}
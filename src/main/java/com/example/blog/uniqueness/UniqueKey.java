@@ -0,0 +1,103 @@
+package com.example.blog.uniqueness;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Unique columns pre-checked by {@link UniquenessIndex}, with the constraint enforcing each of them.
+ * Table and column names are fixed here, they can't be bound as parameters.
+ */
+public enum UniqueKey {
+    USER_EMAIL("users", "email", "uk_users_email", "email already taken"),
+    USER_USERNAME("users", "username", "uk_users_username", "username already taken"),
+    POST_TITLE("posts", "title", "uk_posts_title", "Post title already taken"),
+    TAG_NAME("tags", "name", "uk_tags_name", "Tag name already taken"),
+    CATEGORY_NAME("categories", "name", "uk_categories_name", "Category name already taken");
+
+    // MySQL ER_DUP_ENTRY
+    private static final int DUPLICATE_ENTRY = 1062;
+
+    private final String table;
+    private final String column;
+    private final String constraint;
+    // the name ddl-auto gave the constraint, in case a database hasn't been through V4 yet
+    private final String generatedConstraint;
+    private final String conflictMessage;
+
+    UniqueKey(String table, String column, String constraint, String conflictMessage) {
+        this.table = table;
+        this.column = column;
+        this.constraint = constraint;
+        this.generatedConstraint = generatedConstraintName(table, column);
+        this.conflictMessage = conflictMessage;
+    }
+
+    String table() {
+        return table;
+    }
+
+    String column() {
+        return column;
+    }
+
+    public String conflictMessage() {
+        return conflictMessage;
+    }
+
+    String generatedConstraint() {
+        return generatedConstraint;
+    }
+
+    /**
+     * The key whose constraint is named in a duplicate entry error, e.g.
+     * {@code Duplicate entry 'x' for key 'users.uk_users_email'}, or
+     * {@code Duplicate entry 'x' for key 'users.UK_6dotkott2kjsp8vw4d0m25fb7'} on a schema Hibernate created.
+     */
+    public static Optional<UniqueKey> fromErrorMessage(String message) {
+        if (message == null) {
+            return Optional.empty();
+        }
+        return Arrays.stream(values())
+                .filter(key -> message.contains(key.constraint + "'") || message.contains(key.generatedConstraint + "'"))
+                .findFirst();
+    }
+
+    /**
+     * The key violated by a duplicate entry error in the cause chain of {@code e}.
+     */
+    public static Optional<UniqueKey> violatedBy(Throwable e) {
+        return duplicateEntry(e).flatMap(duplicateEntry -> fromErrorMessage(duplicateEntry.getMessage()));
+    }
+
+    /**
+     * The duplicate entry error in the cause chain of {@code e}, whichever key it violated.
+     */
+    public static Optional<SQLException> duplicateEntry(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && sqlException.getErrorCode() == DUPLICATE_ENTRY) {
+                return Optional.of(sqlException);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The name Hibernate's implicit naming gives a single column unique key: {@code UK_} followed by the MD5 of
+     * table and column in base 35. Computed here rather than through Hibernate's internal naming helper, the
+     * names in existing databases must not change with a Hibernate upgrade.
+     */
+    private static String generatedConstraintName(String table, String column) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5")
+                    .digest(("table`" + table + "`column`" + column + "`").getBytes(StandardCharsets.UTF_8));
+            return "UK_" + new BigInteger(1, digest).toString(35);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("MD5 not available", ex);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.blog.uniqueness;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Answers "definitely free" for a value of a {@link UniqueKey} column without a query, from a Bloom filter per
+ * column. The filters are loaded on startup, values written by this node are added once their transaction
+ * commits, and a filter is rebuilt when it outgrew its size or {@code app.uniqueness.max-age} passed - renamed
+ * and deleted values only fade out then, and values written by other nodes only show up then.
+ * <p>
+ * So a "free" answer can be wrong, the unique constraints stay the source of truth and a violation is answered
+ * with 409 like a failed check. Until a filter is loaded every value might exist and callers query as before.
+ * Checks are counted in {@value #CHECKS_METRIC}, tagged with the key and {@code result:free} or {@code result:maybe}.
+ */
+@Component
+public class UniquenessIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(UniquenessIndex.class);
+    static final String CHECKS_METRIC = "uniqueness.filter.checks";
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    // sized for twice the rows on load, so it doesn't saturate right after a rebuild
+    private static final int GROWTH_FACTOR = 2;
+    private static final long MIN_CAPACITY = 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int loadBatchSize;
+    private final double falsePositiveRate;
+    private final long maxAgeNanos;
+    private final Map<UniqueKey, Slot> slots = new EnumMap<>(UniqueKey.class);
+
+    public UniquenessIndex(DataSource dataSource,
+                           @Value("${app.uniqueness.load-batch-size:10000}") int loadBatchSize,
+                           @Value("${app.uniqueness.false-positive-rate:0.01}") double falsePositiveRate,
+                           @Value("${app.uniqueness.max-age:6h}") Duration maxAge,
+                           MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.loadBatchSize = loadBatchSize;
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxAgeNanos = maxAge.toNanos();
+        for (UniqueKey key : UniqueKey.values()) {
+            slots.put(key, new Slot(checksCounter(meterRegistry, key, "free"), checksCounter(meterRegistry, key, "maybe")));
+        }
+    }
+
+    /**
+     * False when no row holds the value (compared case and accent insensitively, like the column collation),
+     * true when one might.
+     */
+    public boolean mightExist(UniqueKey key, String value) {
+        Slot slot = slots.get(key);
+        BloomFilter filter = slot.current;
+        if (filter == null || value == null) {
+            return true;
+        }
+
+        boolean mightExist = filter.mightContain(normalize(value));
+        (mightExist ? slot.maybe : slot.free).increment();
+        return mightExist;
+    }
+
+    /**
+     * Adds the value when the surrounding transaction commits, right away outside of one.
+     */
+    public void addAfterCommit(UniqueKey key, String value) {
+        if (value == null) {
+            return;
+        }
+        Slot slot = slots.get(key);
+        String normalized = normalize(value);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            slot.add(normalized);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                slot.add(normalized);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (UniqueKey key : UniqueKey.values()) {
+            rebuild(key);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.uniqueness.refresh-check-ms:60000}",
+            initialDelayString = "${app.uniqueness.refresh-check-ms:60000}")
+    public void refreshStale() {
+        long now = System.nanoTime();
+        for (UniqueKey key : UniqueKey.values()) {
+            Slot slot = slots.get(key);
+            BloomFilter filter = slot.current;
+            if (filter == null || filter.isSaturated() || now - slot.builtAt > maxAgeNanos) {
+                rebuild(key);
+            }
+        }
+    }
+
+    void rebuild(UniqueKey key) {
+        Slot slot = slots.get(key);
+        slot.rebuilding.lock();
+        try {
+            long started = System.nanoTime();
+            try {
+                Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM %s".formatted(key.table()), Long.class);
+                BloomFilter filter = new BloomFilter(Math.max(MIN_CAPACITY, (rows == null ? 0 : rows) * GROWTH_FACTOR),
+                        falsePositiveRate);
+
+                // values committed from here on go to the new filter too, the scan below sees those committed before
+                slot.building = filter;
+                long loaded = load(key, filter);
+                slot.current = filter;
+                slot.builtAt = System.nanoTime();
+                LOGGER.info("Uniqueness filter for {} loaded with {} values in {} ms", key, loaded,
+                        Duration.ofNanos(System.nanoTime() - started).toMillis());
+            } catch (RuntimeException ex) {
+                LOGGER.error("Loading uniqueness filter for {} failed, will retry on next check", key, ex);
+            } finally {
+                slot.building = null;
+            }
+        } finally {
+            slot.rebuilding.unlock();
+        }
+    }
+
+    private long load(UniqueKey key, BloomFilter filter) {
+        String sql = "SELECT id, %s FROM %s WHERE id > ? ORDER BY id LIMIT ?".formatted(key.column(), key.table());
+        BatchLoader loader = new BatchLoader(filter);
+        long loaded = 0;
+        int read;
+        do {
+            loader.read = 0;
+            jdbcTemplate.query(sql, loader, loader.lastId, loadBatchSize);
+            read = loader.read;
+            loaded += read;
+        } while (read == loadBatchSize);
+        return loaded;
+    }
+
+    /**
+     * Folds a value the way the database collation compares it, case and accent insensitive.
+     */
+    public static String normalize(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter checksCounter(MeterRegistry meterRegistry, UniqueKey key, String result) {
+        return Counter.builder(CHECKS_METRIC)
+                .description("Uniqueness checks answered by the Bloom filter")
+                .tag("key", key.name().toLowerCase(Locale.ROOT))
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static final class Slot {
+        private final Counter free;
+        private final Counter maybe;
+        // not a monitor, the scan waits on JDBC and would pin a virtual thread
+        private final ReentrantLock rebuilding = new ReentrantLock();
+        private volatile BloomFilter current;
+        private volatile BloomFilter building;
+        private volatile long builtAt;
+
+        private Slot(Counter free, Counter maybe) {
+            this.free = free;
+            this.maybe = maybe;
+        }
+
+        private void add(String normalized) {
+            BloomFilter building = this.building;
+            if (building != null) {
+                building.put(normalized);
+            }
+            BloomFilter current = this.current;
+            if (current != null && current != building) {
+                current.put(normalized);
+            }
+        }
+    }
+
+    private static final class BatchLoader implements RowCallbackHandler {
+        private final BloomFilter filter;
+        private long lastId;
+        private int read;
+
+        private BatchLoader(BloomFilter filter) {
+            this.filter = filter;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            lastId = rs.getLong(1);
+            filter.put(normalize(rs.getString(2)));
+            read++;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.blog.user;
 
 import com.example.blog.config.OpenApiConfig;
+import com.example.blog.deletion.DeletionJobModelAssembler;
+import com.example.blog.deletion.DeletionJobResponse;
 import com.example.blog.entity.Comment;
 import com.example.blog.comment.CommentResponse;
 import com.example.blog.comment.CommentModelAssembler;
@@ -17,6 +19,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -29,15 +32,18 @@ public class UserController {
     private final UserModelAssembler userModelAssembler;
     private final PagedResourcesAssembler<Comment> pagedResourcesAssembler;
     private final CommentModelAssembler commentModelAssembler;
+    private final DeletionJobModelAssembler deletionJobModelAssembler;
 
     public UserController(UserService userService,
                           UserModelAssembler userModelAssembler,
                           PagedResourcesAssembler<Comment> pagedResourcesAssembler,
-                          CommentModelAssembler commentModelAssembler) {
+                          CommentModelAssembler commentModelAssembler,
+                          DeletionJobModelAssembler deletionJobModelAssembler) {
         this.userService = userService;
         this.userModelAssembler = userModelAssembler;
         this.pagedResourcesAssembler = pagedResourcesAssembler;
         this.commentModelAssembler = commentModelAssembler;
+        this.deletionJobModelAssembler = deletionJobModelAssembler;
     }
 
     @GetMapping("{id}")
@@ -172,6 +178,31 @@ public class UserController {
         return ResponseEntity.ok(userModelAssembler.toModel(user));
     }
 
+    @DeleteMapping("{id}")
+    @Operation(
+            description = "Delete user account: disabled at once, posts and comments purged in the background",
+            responses = {
+                    @ApiResponse(
+                            description = "Accepted, poll the Location for progress",
+                            responseCode = "202",
+                            content = @Content(
+                                    mediaType = "application/hal+json",
+                                    schema = @Schema(implementation = DeletionJobResponse.class))
+                    ),
+                    @ApiResponse(ref = OpenApiConfig.RESPONSE_400),
+                    @ApiResponse(ref = OpenApiConfig.RESPONSE_404),
+                    @ApiResponse(ref = OpenApiConfig.RESPONSE_401)
+            }
+    )
+    public ResponseEntity<DeletionJobResponse> deleteUser(@PathVariable("id") Long userId,
+                                                          @CurrentUser UserPrincipal currentUser) {
+        DeletionJobResponse deletion = deletionJobModelAssembler.toModel(userService.delete(userId, currentUser));
+
+        return ResponseEntity.accepted()
+                .location(deletion.getRequiredLink(IanaLinkRelations.SELF).toUri())
+                .body(deletion);
+    }
+
     @GetMapping("/identities/email/{email}")
     @Operation(
             description = "Getting user by email (if response status is 404 it means that email is unique and free to take)",
@@ -1,14 +1,12 @@
 package com.example.blog.user;
 
 
+import com.example.blog.base.LinkTemplates;
 import com.example.blog.entity.User;
-import com.example.blog.post.PostController;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.server.mvc.RepresentationModelAssemblerSupport;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Component
 public class UserModelAssembler extends RepresentationModelAssemblerSupport<User, UserResponse> {
     private final UserMapper mapper;
@@ -23,9 +21,9 @@ public class UserModelAssembler extends RepresentationModelAssemblerSupport<User
         UserResponse user = mapper.apply(entity);
 
         user
-                .add(linkTo(methodOn(UserController.class).getUser(user.getId())).withSelfRel())
-                .add(linkTo(methodOn(PostController.class).getPostsByUser(user.getId(), null)).withRel("posts"))
-                .add(linkTo(methodOn(UserController.class).getCommentsForCurrentUser(null, null)).withRel("comments"));
+                .add(LinkTemplates.USER.link(IanaLinkRelations.SELF, user.getId()))
+                .add(LinkTemplates.POSTS_BY_USER.link("posts", user.getId()))
+                .add(LinkTemplates.CURRENT_USER_COMMENTS.link("comments"));
 
         return user;
     }
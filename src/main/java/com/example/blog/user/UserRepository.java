@@ -7,10 +7,14 @@ import java.util.Optional;
 public interface UserRepository {
     User save(User user);
     Optional<User> findById(Long id);
+    User getReferenceById(Long id);
     Optional<User> findByEmail(String email);
     Optional<User> findByUsername(String username);
     Optional<User> findUserByEmailOrUsername(String emailOrUsername);
+    Optional<Boolean> findDisabledById(Long id);
     boolean existsByEmail(String email);
     boolean existsByUsername(String username);
     long count();
+    int deleteRolesByUserId(Long userId);
+    int deleteUserById(Long id);
 }
@@ -2,6 +2,7 @@ package com.example.blog.user;
 
 import com.example.blog.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -15,4 +16,15 @@ public interface UserRepositoryJpa extends UserRepository, JpaRepository<User, L
     Optional<User> findByUsername(String username);
     @Query("SELECT u FROM User u WHERE u.email=?1 OR u.username=?1")
     Optional<User> findUserByEmailOrUsername(String emailOrUsername);
+    @Query("SELECT u.disabled FROM User u WHERE u.id=?1")
+    Optional<Boolean> findDisabledById(Long id);
+
+    @Modifying
+    @Query(value = "DELETE FROM users_roles WHERE user_id = ?1", nativeQuery = true)
+    int deleteRolesByUserId(Long userId);
+
+    // posts, comments and role links must be deleted first
+    @Modifying
+    @Query(value = "DELETE FROM users WHERE id = ?1", nativeQuery = true)
+    int deleteUserById(Long id);
 }
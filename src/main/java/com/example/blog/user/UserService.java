@@ -2,12 +2,21 @@ package com.example.blog.user;
 
 import com.example.blog.entity.Comment;
 import com.example.blog.comment.CommentRepository;
+import com.example.blog.deletion.BulkDeleter;
+import com.example.blog.deletion.DeletionJob;
+import com.example.blog.deletion.DeletionJobs;
 import com.example.blog.entity.User;
+import com.example.blog.exception.CustomAuthorizationException;
 import com.example.blog.exception.DuplicateResourceException;
+import com.example.blog.exception.RequestValidationException;
 import com.example.blog.exception.ResourceNotFoundException;
 import com.example.blog.role.AppRoles;
 import com.example.blog.entity.Role;
 import com.example.blog.role.RoleRepository;
+import com.example.blog.security.UserPrincipal;
+import com.example.blog.security.UserPrincipalCache;
+import com.example.blog.uniqueness.UniqueKey;
+import com.example.blog.uniqueness.UniquenessIndex;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -21,15 +30,27 @@ public class UserService {
     private final PasswordEncoder passwordEncoder;
     private final RoleRepository roleRepository;
     private final CommentRepository commentRepository;
+    private final UserPrincipalCache principalCache;
+    private final DeletionJobs deletionJobs;
+    private final BulkDeleter bulkDeleter;
+    private final UniquenessIndex uniquenessIndex;
 
     public UserService(UserRepository userRepository,
                        PasswordEncoder passwordEncoder,
                        RoleRepository roleRepository,
-                       CommentRepository commentRepository) {
+                       CommentRepository commentRepository,
+                       UserPrincipalCache principalCache,
+                       DeletionJobs deletionJobs,
+                       BulkDeleter bulkDeleter,
+                       UniquenessIndex uniquenessIndex) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.roleRepository = roleRepository;
         this.commentRepository = commentRepository;
+        this.principalCache = principalCache;
+        this.deletionJobs = deletionJobs;
+        this.bulkDeleter = bulkDeleter;
+        this.uniquenessIndex = uniquenessIndex;
     }
 
     public User getById(Long id) {
@@ -58,7 +79,11 @@ public class UserService {
         Role userRole = getUserRole();
         User user = buildUser(userRegistrationRequest, userRole);
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        uniquenessIndex.addAfterCommit(UniqueKey.USER_EMAIL, user.getEmail());
+        uniquenessIndex.addAfterCommit(UniqueKey.USER_USERNAME, user.getUsername());
+
+        return savedUser;
     }
 
     public User addAdminRole(Long userId) {
@@ -67,8 +92,10 @@ public class UserService {
         Role adminRole = getAdminRole();
         
         userToPromote.addRole(adminRole);
+        User savedUser = userRepository.save(userToPromote);
+        principalCache.evictUser(userId);
 
-        return userRepository.save(userToPromote);
+        return savedUser;
     }
 
     public User removeAdminRole(Long userId) {
@@ -77,8 +104,28 @@ public class UserService {
         Role adminRole = getAdminRole();
 
         userToDegraded.removeRole(adminRole);
+        User savedUser = userRepository.save(userToDegraded);
+        principalCache.evictUser(userId);
+
+        return savedUser;
+    }
 
-        return userRepository.save(userToDegraded);
+    /**
+     * Disables the account right away, so neither login nor issued tokens are accepted anymore, then purges
+     * the user's comments, posts and finally the account in the background. Neither a super admin nor the
+     * caller's own account can be deleted.
+     */
+    public DeletionJob delete(Long userId, UserPrincipal currentUser) {
+        ensureNotCurrentUser(userId, currentUser);
+        User user = getById(userId);
+        ensureUserNotSuperAdmin(user);
+        if (!user.isDisabled()) {
+            user.setDisabled(true);
+            userRepository.save(user);
+        }
+        principalCache.disableUser(userId);
+
+        return deletionJobs.start(DeletionJob.Resource.USER, userId, bulkDeleter::deleteUser);
     }
 
     private Role getUserRole() {
@@ -105,13 +152,13 @@ public class UserService {
     private void validateUserRegistrationRequest(UserRegistrationRequest userRegistrationRequest) {
         //check if email exist
         String email = userRegistrationRequest.getEmail();
-        if (userRepository.existsByEmail(email)) {
+        if (uniquenessIndex.mightExist(UniqueKey.USER_EMAIL, email) && userRepository.existsByEmail(email)) {
             throw new DuplicateResourceException("email already taken");
         }
 
         //check if username exist
         String username = userRegistrationRequest.getUsername();
-        if (userRepository.existsByUsername(username)) {
+        if (uniquenessIndex.mightExist(UniqueKey.USER_USERNAME, username) && userRepository.existsByUsername(username)) {
             throw new DuplicateResourceException("username already taken");
         }
     }
@@ -123,6 +170,19 @@ public class UserService {
         }
     }
 
+    private void ensureNotCurrentUser(Long userId, UserPrincipal currentUser) {
+        if (userId.equals(currentUser.getId())) {
+            throw new RequestValidationException("You can't delete your own account");
+        }
+    }
+
+    private void ensureUserNotSuperAdmin(User user) {
+        if (user.getRoles().stream().anyMatch(r -> r.getName().equals(AppRoles.ROLE_SUPER_ADMIN))) {
+            throw new CustomAuthorizationException("User with id [%d] is a super admin and can't be deleted"
+                    .formatted(user.getId()));
+        }
+    }
+
     private void ensureUserAdminAlready(User userToDegraded) {
         userToDegraded.getRoles()
                 .stream()
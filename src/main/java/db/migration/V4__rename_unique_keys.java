@@ -0,0 +1,69 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gives the unique keys the names the entities declare. V1, like a database created by ddl-auto=update and
+ * baselined at it, has them under generated names (UK_ followed by a hash of table and column), so they are
+ * looked up by table and column instead of by name. Keys already named uk_* are left alone.
+ */
+public class V4__rename_unique_keys extends BaseJavaMigration {
+    private static final List<UniqueKeyName> UNIQUE_KEYS = List.of(
+            new UniqueKeyName("roles", "name", "uk_roles_name"),
+            new UniqueKeyName("users", "email", "uk_users_email"),
+            new UniqueKeyName("users", "username", "uk_users_username"),
+            new UniqueKeyName("categories", "name", "uk_categories_name"),
+            new UniqueKeyName("tags", "name", "uk_tags_name"),
+            new UniqueKeyName("posts", "title", "uk_posts_title")
+    );
+
+    // unique indexes over the given column only, the primary key excluded
+    private static final String FIND_UNIQUE_INDEXES = """
+            SELECT index_name
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = ? AND non_unique = 0 AND index_name <> 'PRIMARY'
+            GROUP BY index_name
+            HAVING COUNT(*) = 1 AND MAX(column_name) = ?
+            """;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        for (UniqueKeyName key : UNIQUE_KEYS) {
+            List<String> indexNames = uniqueIndexes(connection, key);
+            if (indexNames.isEmpty() || indexNames.stream().anyMatch(key.name()::equalsIgnoreCase)) {
+                continue;
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ALTER TABLE `%s` RENAME INDEX `%s` TO `%s`"
+                        .formatted(key.table(), indexNames.get(0), key.name()));
+            }
+        }
+    }
+
+    private static List<String> uniqueIndexes(Connection connection, UniqueKeyName key) throws SQLException {
+        List<String> indexNames = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(FIND_UNIQUE_INDEXES)) {
+            statement.setString(1, key.table());
+            statement.setString(2, key.column());
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    indexNames.add(rs.getString(1));
+                }
+            }
+        }
+        return indexNames;
+    }
+
+    private record UniqueKeyName(String table, String column, String name) {
+    }
+}
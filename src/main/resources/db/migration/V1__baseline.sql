@@ -0,0 +1,94 @@
+-- Schema as generated by Hibernate (ddl-auto=update) before migrations took over, constraint names included.
+-- Databases created that way are baselined at this version (spring.flyway.baseline-on-migrate) and only get
+-- the later migrations, so nothing may be added here: a change of the schema goes into a new migration.
+
+CREATE TABLE roles (
+    id INTEGER NOT NULL AUTO_INCREMENT,
+    description VARCHAR(150),
+    name ENUM ('ROLE_ADMIN', 'ROLE_SUPER_ADMIN', 'ROLE_USER') NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UK_ofx66keruapi6vyqpv6f2or37 UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    created_date BIGINT NOT NULL,
+    modified_date BIGINT,
+    email VARCHAR(255) NOT NULL,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    phone VARCHAR(255) NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UK_6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email),
+    CONSTRAINT UK_r43af9ap4edm43mmtq01oddj6 UNIQUE (username)
+) ENGINE = InnoDB;
+
+CREATE TABLE users_roles (
+    user_id BIGINT NOT NULL,
+    role_id INTEGER NOT NULL,
+    PRIMARY KEY (user_id, role_id),
+    CONSTRAINT FKj6m8fwv7oqv74fcehir1a9ffy FOREIGN KEY (role_id) REFERENCES roles (id),
+    CONSTRAINT FK2o0jvgh89lemvvo17cbqvdxaa FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE categories (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    created_date BIGINT NOT NULL,
+    modified_date BIGINT,
+    created_by BIGINT NOT NULL,
+    updated_by BIGINT,
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UK_t8o6pivur7nn124jehx7cygw5 UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE tags (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    created_date BIGINT NOT NULL,
+    modified_date BIGINT,
+    created_by BIGINT NOT NULL,
+    updated_by BIGINT,
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UK_t48xdq560gs3gap9g7jg36kgc UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE posts (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    created_date BIGINT NOT NULL,
+    modified_date BIGINT,
+    created_by BIGINT NOT NULL,
+    updated_by BIGINT,
+    body VARCHAR(255) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    category_id BIGINT,
+    user_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT UK_mchce1gm7f6otpphxd6ixsdps UNIQUE (title),
+    CONSTRAINT FKijnwr3brs8vaosl80jg9rp7uc FOREIGN KEY (category_id) REFERENCES categories (id),
+    CONSTRAINT FK5lidm6cqbc7u4xhqpxm898qme FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE post_tag (
+    post_id BIGINT NOT NULL,
+    tag_id BIGINT NOT NULL,
+    PRIMARY KEY (post_id, tag_id),
+    CONSTRAINT FK98d0eqovrn75s8a74oebe4sn1 FOREIGN KEY (tag_id) REFERENCES tags (id),
+    CONSTRAINT FKogo3xicgxxbhoekuj3i4aiatb FOREIGN KEY (post_id) REFERENCES posts (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE comments (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    created_date BIGINT NOT NULL,
+    modified_date BIGINT,
+    created_by BIGINT NOT NULL,
+    updated_by BIGINT,
+    body VARCHAR(255) NOT NULL,
+    post_id BIGINT,
+    user_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT FKh4c7lvsc298whoyd4w9ta25cr FOREIGN KEY (post_id) REFERENCES posts (id),
+    CONSTRAINT FK8omq0tc18jd43bu5tjh6jvraq FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,5 @@
+-- Comments of a post and of a user, paged in creation order. The indexes MySQL created implicitly for the
+-- post_id and user_id foreign keys are left to MySQL, which may drop them now that these can serve the keys.
+ALTER TABLE comments
+    ADD INDEX idx_comments_post_created_date_id (post_id, created_date, id),
+    ADD INDEX idx_comments_user_created_date_id (user_id, created_date, id);
@@ -0,0 +1,12 @@
+-- Comment counters kept on the post, so listings don't count comments per row. Posts commented on before
+-- need them computed once, CommentService keeps them up to date afterwards.
+ALTER TABLE posts
+    ADD COLUMN comment_count BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN last_comment_at BIGINT;
+
+UPDATE posts p
+    JOIN (SELECT post_id, COUNT(*) AS comments, MAX(created_date) AS last_comment_at
+          FROM comments
+          GROUP BY post_id) c ON c.post_id = p.id
+SET p.comment_count   = c.comments,
+    p.last_comment_at = c.last_comment_at;
@@ -0,0 +1,8 @@
+-- Keyset pagination of the post feeds on (created_date, id), overall and by category, user and tag.
+ALTER TABLE posts
+    ADD INDEX idx_posts_created_date_id (created_date, id),
+    ADD INDEX idx_posts_category_created_date_id (category_id, created_date, id),
+    ADD INDEX idx_posts_user_created_date_id (user_id, created_date, id);
+
+ALTER TABLE post_tag
+    ADD INDEX idx_post_tag_tag_id_post_id (tag_id, post_id);
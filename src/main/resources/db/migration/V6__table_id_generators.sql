@@ -0,0 +1,18 @@
+-- Entity ids come from hi/lo blocks reserved in id_sequences (see IdGenerators) instead of AUTO_INCREMENT.
+-- The rows are created and moved past the ids already taken by IdSequenceSeeder on startup.
+CREATE TABLE id_sequences (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (sequence_name)
+) ENGINE = InnoDB;
+
+-- the ids are referenced by foreign keys, MySQL refuses to modify them while the checks are on
+SET FOREIGN_KEY_CHECKS = 0;
+
+ALTER TABLE users MODIFY id BIGINT NOT NULL;
+ALTER TABLE categories MODIFY id BIGINT NOT NULL;
+ALTER TABLE tags MODIFY id BIGINT NOT NULL;
+ALTER TABLE posts MODIFY id BIGINT NOT NULL;
+ALTER TABLE comments MODIFY id BIGINT NOT NULL;
+
+SET FOREIGN_KEY_CHECKS = 1;
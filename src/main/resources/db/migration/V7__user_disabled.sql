@@ -0,0 +1,4 @@
+-- Set when an account is deleted: the user can no longer log in or authenticate with an issued token
+-- while their posts and comments are purged in the background, the row goes last.
+ALTER TABLE users
+    ADD COLUMN disabled BIT(1) NOT NULL DEFAULT 0;
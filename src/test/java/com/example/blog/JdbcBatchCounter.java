@@ -0,0 +1,26 @@
+package com.example.blog;
+
+import org.hibernate.SessionEventListener;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts JDBC batches executed by Hibernate sessions, registered in tests with
+ * {@code spring.jpa.properties.hibernate.session.events.auto}.
+ */
+public class JdbcBatchCounter implements SessionEventListener {
+    private static final AtomicInteger EXECUTED_BATCHES = new AtomicInteger();
+
+    public static void reset() {
+        EXECUTED_BATCHES.set(0);
+    }
+
+    public static int executedBatches() {
+        return EXECUTED_BATCHES.get();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        EXECUTED_BATCHES.incrementAndGet();
+    }
+}
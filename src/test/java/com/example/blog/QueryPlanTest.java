@@ -0,0 +1,220 @@
+package com.example.blog;
+
+import com.example.blog.audit.UserDateAudit;
+import com.example.blog.category.CategoryRepository;
+import com.example.blog.comment.CommentRepository;
+import com.example.blog.config.IdSequenceSeeder;
+import com.example.blog.entity.*;
+import com.example.blog.post.PostRepository;
+import com.example.blog.tag.TagRepository;
+import com.example.blog.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@code EXPLAIN} on the SQL behind the repository queries of the request path and fails when a table
+ * is read with a full scan no index could have avoided ({@code type = ALL} without {@code possible_keys}).
+ * On the few rows seeded here MySQL may still prefer a scan over a usable index, that is not reported.
+ * <p>
+ * The SQL is captured as Hibernate prepares it and explained with every parameter bound as {@code '1'},
+ * MySQL compares a string constant with numeric and text columns alike without losing the index.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.blog.StatementCapture")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(IdSequenceSeeder.class)
+class QueryPlanTest {
+    private static final Pattern LIMIT_PARAMETERS = Pattern.compile("(?i)\\blimit\\s+\\?(\\s*,\\s*\\?)?");
+    private static final PageRequest PAGE = PageRequest.of(0, 5);
+    private static final PageRequest PAGE_BY_CREATED_DATE = PageRequest.of(0, 5, Sort.by("createdDate"));
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Category category;
+    private Tag tag;
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        List<User> users = new ArrayList<>();
+        List<Category> categories = new ArrayList<>();
+        List<Tag> tags = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            User u = User.builder()
+                    .email("plan" + i + "@example.com")
+                    .username("plan_user_" + i)
+                    .firstName("Plan")
+                    .lastName("User")
+                    .password("Qqqwejk1!JE")
+                    .phone("123456789").build();
+            u.setCreatedDate(1L);
+            users.add(entityManager.persist(u));
+            categories.add(entityManager.persist(audited(Category.builder().name("plan category " + i).build())));
+        }
+        for (int i = 0; i < 8; i++) {
+            tags.add(entityManager.persist(audited(Tag.builder().name("plan tag " + i).build())));
+        }
+
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            posts.add(entityManager.persist(audited(Post.builder()
+                    .title("Plan post " + i)
+                    .body("Plan post body " + i)
+                    .user(users.get(i % users.size()))
+                    .category(categories.get(i % categories.size()))
+                    .tags(new HashSet<>(Set.of(tags.get(i % tags.size()), tags.get((i + 1) % tags.size())))).build())));
+        }
+        for (int i = 0; i < 400; i++) {
+            entityManager.persist(audited(Comment.builder()
+                    .body("Plan comment " + i)
+                    .user(users.get(i % users.size()))
+                    .post(posts.get(i % posts.size())).build()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        user = users.get(0);
+        category = categories.get(0);
+        tag = tags.get(0);
+        post = posts.get(0);
+    }
+
+    @Test
+    public void comments_in_post_use_an_index() {
+        assertNoFullScan(() -> commentRepository.findAllInPost(post.getId(), PAGE_BY_CREATED_DATE));
+    }
+
+    @Test
+    public void comments_in_user_use_an_index() {
+        assertNoFullScan(() -> commentRepository.findAllInUser(user.getId(), PAGE_BY_CREATED_DATE));
+    }
+
+    @Test
+    public void comment_exports_use_an_index() {
+        assertNoFullScan(() -> commentRepository.findExportsByPostIdIn(List.of(post.getId())));
+    }
+
+    @Test
+    public void posts_by_category_use_an_index() {
+        assertNoFullScan(() -> postRepository.findByCategoriesIn(List.of(category.getId()), PAGE));
+    }
+
+    @Test
+    public void posts_by_user_use_an_index() {
+        assertNoFullScan(() -> postRepository.findByUsersIn(List.of(user.getId()), PAGE));
+    }
+
+    @Test
+    public void posts_by_tag_use_an_index() {
+        assertNoFullScan(() -> postRepository.findByTagsIn(Collections.singletonList(tag), PAGE));
+    }
+
+    @Test
+    public void post_feeds_use_an_index() {
+        assertNoFullScan(() -> postRepository.findSummariesAfter(Long.MAX_VALUE, Long.MAX_VALUE, PAGE));
+        assertNoFullScan(() -> postRepository.findSummariesByCategoryAfter(category.getId(), Long.MAX_VALUE, Long.MAX_VALUE, PAGE));
+        assertNoFullScan(() -> postRepository.findSummariesByTagAfter(tag.getId(), Long.MAX_VALUE, Long.MAX_VALUE, PAGE));
+        assertNoFullScan(() -> postRepository.findSummariesByUserAfter(user.getId(), Long.MAX_VALUE, Long.MAX_VALUE, PAGE));
+    }
+
+    @Test
+    public void post_lookups_use_an_index() {
+        assertNoFullScan(() -> postRepository.findById(post.getId()));
+        assertNoFullScan(() -> postRepository.findByIdIn(List.of(post.getId())));
+        assertNoFullScan(() -> postRepository.findByTitle(post.getTitle()));
+        assertNoFullScan(() -> postRepository.existsByTitle(post.getTitle()));
+        assertNoFullScan(() -> postRepository.findTitlesIn(List.of(post.getTitle())));
+        assertNoFullScan(() -> postRepository.findTagNamesByPostIdIn(List.of(post.getId())));
+    }
+
+    @Test
+    public void post_batches_use_an_index() {
+        assertNoFullScan(() -> postRepository.findAllAfter(0L, PAGE));
+        assertNoFullScan(() -> postRepository.findSearchDocumentsAfter(0L, PAGE));
+    }
+
+    @Test
+    public void bulk_deletion_chunks_use_an_index() {
+        assertNoFullScan(() -> postRepository.findIdsByCategoryId(category.getId(), PAGE));
+        assertNoFullScan(() -> postRepository.findTagIdsByPostIdIn(List.of(post.getId())));
+        assertNoFullScan(() -> tagRepository.findPostIdsByTagId(tag.getId(), 5));
+        assertNoFullScan(() -> postRepository.findIdsByUserId(user.getId(), PAGE));
+        assertNoFullScan(() -> commentRepository.findIdsByUserId(user.getId(), PAGE));
+        assertNoFullScan(() -> commentRepository.findPostIdsByIdIn(List.of(1L)));
+    }
+
+    @Test
+    public void tag_category_and_user_lookups_use_an_index() {
+        assertNoFullScan(() -> tagRepository.findByNameIn(List.of(tag.getName())));
+        assertNoFullScan(() -> categoryRepository.findByName(category.getName()));
+        assertNoFullScan(() -> userRepository.findUserByEmailOrUsername(user.getUsername()));
+        assertNoFullScan(() -> userRepository.existsByEmail(user.getEmail()));
+    }
+
+    private void assertNoFullScan(Runnable query) {
+        entityManager.clear();
+        StatementCapture.reset();
+
+        query.run();
+
+        List<String> selects = StatementCapture.statements().stream()
+                .filter(sql -> sql.stripLeading().regionMatches(true, 0, "select", 0, 6))
+                .toList();
+        assertThat(selects).isNotEmpty();
+        for (String sql : selects) {
+            List<Map<String, Object>> plan = explain(sql);
+            assertThat(plan)
+                    .as("plan of %s%n%s", sql, plan)
+                    .noneMatch(row -> "ALL".equals(row.get("type")) && row.get("possible_keys") == null);
+        }
+    }
+
+    private List<Map<String, Object>> explain(String sql) {
+        String explained = "EXPLAIN " + LIMIT_PARAMETERS.matcher(sql).replaceAll("limit 10");
+        Object[] parameters = Collections.nCopies((int) explained.chars().filter(c -> c == '?').count(), "1").toArray();
+        return jdbcTemplate.queryForList(explained, parameters);
+    }
+
+    private static <T extends UserDateAudit> T audited(T entity) {
+        entity.setCreatedBy(1L);
+        entity.setCreatedDate(1L);
+        return entity;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.blog;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Upgrades a database holding the schema Hibernate generated before migrations took over, the way an existing
+ * installation gets baselined at V1, and compares the result with a database migrated from empty. Both live in
+ * scratch schemas next to the test database, so the test user needs the privilege to create and drop them.
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SchemaMigrationTest {
+    private static final String UPGRADED = "blog_upgrade";
+    private static final String FRESH = "blog_fresh";
+
+    private static final String COLUMNS = """
+            SELECT table_name, column_name, column_type, is_nullable, column_default, extra
+            FROM information_schema.columns
+            WHERE table_schema = ? AND table_name <> 'flyway_schema_history'
+            ORDER BY table_name, ordinal_position
+            """;
+
+    private static final String INDEXES = """
+            SELECT table_name, index_name, seq_in_index, column_name, non_unique
+            FROM information_schema.statistics
+            WHERE table_schema = ? AND table_name <> 'flyway_schema_history'
+            ORDER BY table_name, index_name, seq_in_index
+            """;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dropScratchSchemas();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dropScratchSchemas();
+    }
+
+    @Test
+    void test_upgrading_a_baseline_database_ends_with_the_schema_of_a_fresh_one() throws SQLException {
+        //given
+        createBaseline();
+        seedBaseline();
+
+        //when
+        migrate(UPGRADED);
+        migrate(FRESH);
+
+        //then
+        assertThat(jdbcTemplate.queryForList(COLUMNS, UPGRADED)).isEqualTo(jdbcTemplate.queryForList(COLUMNS, FRESH));
+        assertThat(jdbcTemplate.queryForList(INDEXES, UPGRADED)).isEqualTo(jdbcTemplate.queryForList(INDEXES, FRESH));
+    }
+
+    @Test
+    void test_upgrading_a_baseline_database_keeps_its_data() throws SQLException {
+        //given
+        createBaseline();
+        long postId = seedBaseline();
+
+        //when
+        migrate(UPGRADED);
+
+        //then
+        Map<String, Object> post = jdbcTemplate.queryForMap(
+                "SELECT comment_count, last_comment_at FROM " + UPGRADED + ".posts WHERE id = ?", postId);
+        assertThat(post).containsEntry("comment_count", 2L).containsEntry("last_comment_at", 2_000L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT disabled FROM " + UPGRADED + ".users", Boolean.class)).isFalse();
+        assertThat(jdbcTemplate.queryForList("""
+                SELECT DISTINCT index_name
+                FROM information_schema.statistics
+                WHERE table_schema = ? AND non_unique = 0 AND index_name <> 'PRIMARY'
+                  AND table_name NOT IN ('flyway_schema_history', 'id_sequences')
+                """, String.class, UPGRADED)).containsExactlyInAnyOrder(
+                "uk_roles_name", "uk_users_email", "uk_users_username",
+                "uk_categories_name", "uk_tags_name", "uk_posts_title");
+        // the hi/lo generators take over the ids of the entities, roles are still numbered by MySQL
+        assertThat(jdbcTemplate.queryForList("""
+                SELECT table_name
+                FROM information_schema.columns
+                WHERE table_schema = ? AND extra LIKE '%auto_increment%'
+                """, String.class, UPGRADED)).containsExactly("roles");
+    }
+
+    private void createBaseline() throws SQLException {
+        jdbcTemplate.execute("CREATE DATABASE " + UPGRADED);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setCatalog(UPGRADED);
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V1__baseline.sql"));
+        }
+    }
+
+    // a user with a post in a category, two comments on it and a tag, all numbered by AUTO_INCREMENT
+    private long seedBaseline() {
+        String schema = UPGRADED + ".";
+        jdbcTemplate.update("INSERT INTO " + schema + "users (created_date, email, first_name, last_name, password, phone, username) "
+                + "VALUES (1000, 'user@example.com', 'first', 'last', 'secret', '123', 'user')");
+        long userId = idOf(schema + "users", "username", "user");
+        jdbcTemplate.update("INSERT INTO " + schema + "categories (created_date, created_by, name) VALUES (1000, ?, 'category')", userId);
+        long categoryId = idOf(schema + "categories", "name", "category");
+        jdbcTemplate.update("INSERT INTO " + schema + "posts (created_date, created_by, body, title, category_id, user_id) "
+                + "VALUES (1000, ?, 'body', 'title', ?, ?)", userId, categoryId, userId);
+        long postId = idOf(schema + "posts", "title", "title");
+        jdbcTemplate.update("INSERT INTO " + schema + "comments (created_date, created_by, body, post_id, user_id) "
+                + "VALUES (1500, ?, 'first', ?, ?), (2000, ?, 'second', ?, ?)", userId, postId, userId, userId, postId, userId);
+        jdbcTemplate.update("INSERT INTO " + schema + "tags (created_date, created_by, name) VALUES (1000, ?, 'tag')", userId);
+        long tagId = idOf(schema + "tags", "name", "tag");
+        jdbcTemplate.update("INSERT INTO " + schema + "post_tag (post_id, tag_id) VALUES (?, ?)", postId, tagId);
+        return postId;
+    }
+
+    private long idOf(String table, String column, String value) {
+        return jdbcTemplate.queryForObject("SELECT id FROM " + table + " WHERE " + column + " = ?", Long.class, value);
+    }
+
+    private void migrate(String schema) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .schemas(schema)
+                .baselineOnMigrate(true)
+                .load()
+                .migrate();
+    }
+
+    private void dropScratchSchemas() {
+        jdbcTemplate.execute("DROP DATABASE IF EXISTS " + UPGRADED);
+        jdbcTemplate.execute("DROP DATABASE IF EXISTS " + FRESH);
+    }
+}
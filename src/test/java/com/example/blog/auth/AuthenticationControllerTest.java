@@ -3,7 +3,9 @@ package com.example.blog.auth;
 import com.example.blog.exception.DuplicateResourceException;
 import com.example.blog.exception.InvalidUsernameOrPasswordException;
 import com.example.blog.exception.ResourceNotFoundException;
+import com.example.blog.exception.TooManyRequestsException;
 import com.example.blog.security.JwtAuthenticationTokenFilter;
+import com.example.blog.security.LoginRateLimiter;
 import com.example.blog.user.UserRegistrationRequest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,6 +23,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -39,6 +43,9 @@ class AuthenticationControllerTest {
     @MockBean
     private AuthenticationService authenticationService;
 
+    @MockBean
+    private LoginRateLimiter loginRateLimiter;
+
     @MockBean
     private JwtAuthenticationTokenFilter filter;
 
@@ -246,4 +253,26 @@ class AuthenticationControllerTest {
                 .andExpect(jsonPath("$.statusCode", is(401)))
                 .andDo(print());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test_login_should_throw_429_too_many_requests_before_authenticating() throws Exception {
+        //given
+        AuthenticationRequest request = AuthenticationRequest.builder()
+                .username("qwe")
+                .password("Qwe1234!").build();
+
+        doThrow(new TooManyRequestsException("Too many login attempts, try again later")).when(loginRateLimiter).acquire(any(), any());
+        String requestBody = objectMapper.writeValueAsString(request);
+
+        //when
+        //then
+        mockMvc.perform(post(END_POINT_PATH + "/login").contentType(MediaType.APPLICATION_JSON).content(requestBody))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.errors[0]", is("Too many login attempts, try again later")))
+                .andExpect(jsonPath("$.statusCode", is(429)))
+                .andDo(print());
+
+        verify(authenticationService, never()).login(any());
+    }
+}
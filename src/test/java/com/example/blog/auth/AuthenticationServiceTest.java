@@ -4,10 +4,12 @@ import com.example.blog.entity.Role;
 import com.example.blog.entity.User;
 import com.example.blog.exception.DuplicateResourceException;
 import com.example.blog.exception.InvalidUsernameOrPasswordException;
+import com.example.blog.exception.TooManyRequestsException;
 import com.example.blog.role.RoleRepository;
 import com.example.blog.security.JwtTokenProvider;
 import com.example.blog.user.UserRegistrationRequest;
 import com.example.blog.user.UserRepository;
+import com.example.blog.uniqueness.UniquenessIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,8 +18,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Collections;
@@ -46,16 +51,22 @@ class AuthenticationServiceTest {
     @Mock
     private JwtTokenProvider tokenProvider;
 
+    @Mock
+    private UniquenessIndex uniquenessIndex;
+
     private AuthenticationService underTest;
 
     @BeforeEach
     public void setUp() {
+        // as before the filters are loaded, every value might exist
+        lenient().when(uniquenessIndex.mightExist(any(), any())).thenReturn(true);
         underTest = new AuthenticationService(
                 authenticationManager,
                 userRepository,
                 roleRepository,
                 passwordEncoder,
-                tokenProvider);
+                tokenProvider,
+                uniquenessIndex);
     }
 
     @Test
@@ -232,4 +243,33 @@ class AuthenticationServiceTest {
         assertThatThrownBy(() -> underTest.login(request)).isInstanceOf(InvalidUsernameOrPasswordException.class)
                 .hasMessage("Invalid username/password supplied");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test_login_of_unknown_user_should_throw_too_many_requests_when_hashing_pool_is_saturated() {
+        //given
+        AuthenticationRequest request = AuthenticationRequest.builder()
+                .username("unknown")
+                .password("Pqwe1!we").build();
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsService(username -> {
+            throw new UsernameNotFoundException("User not found with given username or email [%s]".formatted(username));
+        });
+        when(passwordEncoder.encode(any())).thenReturn("dummy");
+        when(passwordEncoder.matches(any(), any()))
+                .thenThrow(new TooManyRequestsException("Too many logins in progress, try again later"));
+        underTest = new AuthenticationService(
+                new ProviderManager(provider),
+                userRepository,
+                roleRepository,
+                passwordEncoder,
+                tokenProvider,
+                uniquenessIndex);
+
+        //when
+        //then
+        assertThatThrownBy(() -> underTest.login(request))
+                .isInstanceOf(TooManyRequestsException.class)
+                .hasMessage("Too many logins in progress, try again later");
+    }
+}
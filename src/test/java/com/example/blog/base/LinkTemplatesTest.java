@@ -0,0 +1,89 @@
+package com.example.blog.base;
+
+import com.example.blog.category.CategoryController;
+import com.example.blog.comment.CommentController;
+import com.example.blog.deletion.DeletionController;
+import com.example.blog.post.PostController;
+import com.example.blog.tag.TagController;
+import com.example.blog.user.UserController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+class LinkTemplatesTest {
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void test_links_are_identical_to_method_on_links_within_request() {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/blog/api/v1/posts");
+        request.setScheme("https");
+        request.setServerName("example.org");
+        request.setServerPort(8443);
+        request.setContextPath("/blog");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        //when
+        //then
+        assertSameLinks();
+    }
+
+    @Test
+    public void test_links_are_identical_to_method_on_links_outside_request() {
+        assertSameLinks();
+    }
+
+    @Test
+    public void test_link_throws_when_values_do_not_match_mapping() {
+        assertThatThrownBy(() -> LinkTemplates.COMMENT.link("self", 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertSameLinks() {
+        assertSame(LinkTemplates.POST.link("self", 1L),
+                linkTo(methodOn(PostController.class).getById(1L, null)).withSelfRel());
+        assertSame(LinkTemplates.POSTS_BY_CATEGORY.link("posts", 2L),
+                linkTo(methodOn(PostController.class).getPostsByCategory(2L, null)).withRel("posts"));
+        assertSame(LinkTemplates.POSTS_BY_TAG.link("posts", 3L),
+                linkTo(methodOn(PostController.class).getPostsByTag(3L, null)).withRel("posts"));
+        assertSame(LinkTemplates.POSTS_BY_USER.link("posts", 4L),
+                linkTo(methodOn(PostController.class).getPostsByUser(4L, null)).withRel("posts"));
+        assertSame(LinkTemplates.CATEGORY.link("category", 5L),
+                linkTo(methodOn(CategoryController.class).get(5L, null)).withRel("category"));
+        assertSame(LinkTemplates.TAG.link("self", 6L),
+                linkTo(methodOn(TagController.class).get(6L, null)).withSelfRel());
+        assertSame(LinkTemplates.TAGS_FOR_POST.link("tags", 7L),
+                linkTo(methodOn(TagController.class).getTagsForPost(7L, null)).withRel("tags"));
+        assertSame(LinkTemplates.COMMENT.link("self", 8L, 9L),
+                linkTo(methodOn(CommentController.class).get(8L, 9L)).withSelfRel());
+        assertSame(LinkTemplates.COMMENTS_FOR_POST.link("comments", 10L),
+                linkTo(methodOn(CommentController.class).getCommentsForPostAsPage(10L, null)).withRel("comments"));
+        assertSame(LinkTemplates.USER.link("user", 11L),
+                linkTo(methodOn(UserController.class).getUser(11L)).withRel("user"));
+        assertSame(LinkTemplates.CURRENT_USER_COMMENTS.link("comments"),
+                linkTo(methodOn(UserController.class).getCommentsForCurrentUser(null, null)).withRel("comments"));
+        UUID deletionId = UUID.fromString("4f0c1c1e-8d1a-4c8e-9f3a-2b6d7e5a9c01");
+        assertSame(LinkTemplates.DELETION.link("self", deletionId),
+                linkTo(methodOn(DeletionController.class).get(deletionId)).withSelfRel());
+    }
+
+    private static void assertSame(Link actual, Link expected) {
+        assertThat(actual.getRel()).isEqualTo(expected.getRel());
+        assertThat(actual.getHref()).isEqualTo(expected.getHref());
+        assertThat(actual.isTemplated()).isEqualTo(expected.isTemplated());
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.blog.category;
 
-import com.example.blog.entity.Category;
+import com.example.blog.deletion.DeletionJob;
+import com.example.blog.deletion.DeletionJobModelAssembler;
 import com.example.blog.security.JwtAuthenticationTokenFilter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -10,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -23,6 +25,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -32,6 +35,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @WebMvcTest(CategoryController.class)
 @AutoConfigureMockMvc(addFilters = false)
+@Import(DeletionJobModelAssembler.class)
 @ExtendWith(MockitoExtension.class)
 class CategoryControllerTest {
     private static final String END_POINT_PATH = "/api/v1/categories";
@@ -49,7 +53,7 @@ class CategoryControllerTest {
     private JwtAuthenticationTokenFilter filter;
 
     @MockBean
-    private PagedResourcesAssembler<Category> pagedResourcesAssembler;
+    private PagedResourcesAssembler<CategorySummary> pagedResourcesAssembler;
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -57,9 +61,9 @@ class CategoryControllerTest {
     @Test
     public void test_get_categories_should_return_204_no_content() throws Exception {
         //given
-        List<Category> categories = Collections.emptyList();
+        List<CategorySummary> categories = Collections.emptyList();
         Pageable pageable = PageRequest.of(0, 2);
-        Page<Category> categoryPage = new PageImpl<>(categories, pageable, 0);
+        Page<CategorySummary> categoryPage = new PageImpl<>(categories, pageable, 0);
         when(categoryService.getCategoriesAsPage(any())).thenReturn(categoryPage);
 
         //when
@@ -72,16 +76,12 @@ class CategoryControllerTest {
     @Test
     public void test_get_categories_should_return_200_ok() throws Exception {
         //given
-        Category category1 = Category.builder()
-                .id(1L)
-                .name("Cat 1").build();
-        Category category2 = Category.builder()
-                .id(2L)
-                .name("Cat 2").build();
-        List<Category> categories = List.of(category1, category2);
+        CategorySummary category1 = new CategorySummary(1L, "Cat 1", null);
+        CategorySummary category2 = new CategorySummary(2L, "Cat 2", null);
+        List<CategorySummary> categories = List.of(category1, category2);
         Pageable pageable = PageRequest.of(0, 5);
 
-        Page<Category> categoryPage = new PageImpl<>(categories, pageable, categories.size());
+        Page<CategorySummary> categoryPage = new PageImpl<>(categories, pageable, categories.size());
         when(categoryService.getCategoriesAsPage(any())).thenReturn(categoryPage);
         when(pagedResourcesAssembler.toModel(categoryPage, assembler)).thenReturn(null);
 
@@ -98,7 +98,7 @@ class CategoryControllerTest {
     public void test_get_category_by_id_should_return_200_ok() throws Exception {
         //given
         Long categoryId = 1L;
-        Category category = mock(Category.class);
+        CategorySummary category = new CategorySummary(categoryId, "Cat 1", null);
         when(categoryService.get(categoryId)).thenReturn(category);
 
         //when
@@ -110,6 +110,72 @@ class CategoryControllerTest {
         verify(assembler, times(1)).toModel(category);
     }
 
+    @Test
+    public void test_get_category_by_id_should_return_304_not_modified_when_etag_matches() throws Exception {
+        //given
+        Long categoryId = 1L;
+        CategorySummary category = new CategorySummary(categoryId, "Cat 1", null);
+        when(categoryService.get(categoryId)).thenReturn(category);
+
+        String eTag = mockMvc.perform(get(END_POINT_PATH + "/" + categoryId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        //when
+        //then
+        mockMvc.perform(get(END_POINT_PATH + "/" + categoryId).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""))
+                .andDo(print());
+
+        verify(assembler, times(1)).toModel(category);
+    }
+
+    @Test
+    public void test_get_category_by_id_should_return_200_ok_when_category_changed() throws Exception {
+        //given
+        Long categoryId = 1L;
+        CategorySummary category = new CategorySummary(categoryId, "Cat 1", null);
+        CategorySummary renamed = new CategorySummary(categoryId, "Cat 2", null);
+        when(categoryService.get(categoryId)).thenReturn(category, renamed);
+
+        String eTag = mockMvc.perform(get(END_POINT_PATH + "/" + categoryId))
+                .andReturn().getResponse().getHeader("ETag");
+
+        //when
+        //then
+        mockMvc.perform(get(END_POINT_PATH + "/" + categoryId).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andDo(print());
+
+        verify(assembler, times(1)).toModel(renamed);
+    }
+
+    @Test
+    public void test_get_category_by_id_should_return_200_ok_when_requested_through_another_host() throws Exception {
+        //given
+        Long categoryId = 1L;
+        CategorySummary category = new CategorySummary(categoryId, "Cat 1", null);
+        when(categoryService.get(categoryId)).thenReturn(category);
+
+        String eTag = mockMvc.perform(get(END_POINT_PATH + "/" + categoryId))
+                .andReturn().getResponse().getHeader("ETag");
+
+        //when
+        //then
+        // the links in the body are absolute, a response for another host is a different representation
+        mockMvc.perform(get(END_POINT_PATH + "/" + categoryId).header("If-None-Match", eTag)
+                        .with(request -> {
+                            request.setServerName("blog.example.com");
+                            return request;
+                        }))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)))
+                .andDo(print());
+    }
+
     @Test
     public void test_save_category_should_throw_400_bad_request_name_cannot_be_null() throws Exception {
         //given
@@ -153,7 +219,7 @@ class CategoryControllerTest {
         //given
         CategoryRequest categoryRequest = CategoryRequest.builder()
                 .name("Backend Dev").build();
-        Category savedCategory = mock(Category.class);
+        CategorySummary savedCategory = new CategorySummary(1L, "Backend Dev", null);
         String requestBody = objectMapper.writeValueAsString(categoryRequest);
         when(categoryService.save(any(CategoryRequest.class))).thenReturn(savedCategory);
 
@@ -213,7 +279,7 @@ class CategoryControllerTest {
         CategoryRequest categoryRequest = CategoryRequest.builder()
                 .name("Backend Dev").build();
         String requestBody = objectMapper.writeValueAsString(categoryRequest);
-        Category category = mock(Category.class);
+        CategorySummary category = new CategorySummary(categoryId, "Backend Dev", null);
         when(categoryService.update(anyLong(), any(CategoryRequest.class))).thenReturn(category);
 
         //when
@@ -226,14 +292,19 @@ class CategoryControllerTest {
     }
 
     @Test
-    public void test_delete_category_should_return_200_ok() throws Exception {
+    public void test_delete_category_should_return_202_accepted() throws Exception {
         //given
         long categoryId = 1L;
+        DeletionJob job = DeletionJob.running(DeletionJob.Resource.CATEGORY, categoryId);
+        when(categoryService.delete(categoryId)).thenReturn(job);
 
         //when
         //then
         mockMvc.perform(delete(END_POINT_PATH + "/" + categoryId))
-                .andExpect(status().isNoContent())
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/v1/deletions/" + job.id()))
+                .andExpect(jsonPath("$.status").value("RUNNING"))
+                .andExpect(jsonPath("$.resourceId").value(categoryId))
                 .andDo(print());
 
         verify(categoryService, times(1)).delete(categoryId);
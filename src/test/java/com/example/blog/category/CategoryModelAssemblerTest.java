@@ -1,6 +1,5 @@
 package com.example.blog.category;
 
-import com.example.blog.entity.Category;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,9 +22,7 @@ class CategoryModelAssemblerTest {
     @Test
     public void test_to_model_should_success() {
         //given
-        Category category = Category.builder()
-                .id(1L)
-                .name("Backend Dev").build();
+        CategorySummary category = new CategorySummary(1L, "Backend Dev", null);
 
         //when
         CategoryResponse result = underTest.toModel(category);
@@ -34,7 +31,7 @@ class CategoryModelAssemblerTest {
         assertThat(result).isNotNull();
         assertThat(result).isInstanceOf(CategoryResponse.class);
         assertThat(result.getId()).isEqualTo(1L);
-        assertThat(result.getName()).isEqualTo(category.getName());
+        assertThat(result.getName()).isEqualTo(category.name());
         assertThat(result.getLinks()).isNotEmpty();
         assertThat(result.getLinks().hasSize(2)).isTrue();
         assertThat(result.getLink("self")).isPresent();
@@ -1,5 +1,6 @@
 package com.example.blog.category;
 
+import com.example.blog.config.IdSequenceSeeder;
 import com.example.blog.entity.Category;
 import com.example.blog.entity.Post;
 import com.example.blog.post.PostRepository;
@@ -7,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +21,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(IdSequenceSeeder.class)
 class CategoryRepositoryJpaTest {
 
     @Autowired
@@ -0,0 +1,120 @@
+package com.example.blog.category;
+
+import com.example.blog.config.CacheConfig;
+import com.example.blog.deletion.BulkDeleter;
+import com.example.blog.deletion.DeletionJobs;
+import com.example.blog.entity.Category;
+import com.example.blog.uniqueness.UniquenessIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig
+class CategoryServiceCacheTest {
+
+    @Configuration
+    @Import({CacheConfig.class, CategoryService.class})
+    static class Config {
+        @Bean
+        public CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+    }
+
+    @MockBean
+    private CategoryRepository categoryRepository;
+
+    @MockBean
+    private DeletionJobs deletionJobs;
+
+    @MockBean
+    private BulkDeleter bulkDeleter;
+
+    @MockBean
+    private UniquenessIndex uniquenessIndex;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CategoryService underTest;
+
+    @BeforeEach
+    public void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    public void test_get_category_is_served_from_cache() {
+        //given
+        Category category = Category.builder().id(1L).name("Cat 1").build();
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+
+        //when
+        CategorySummary first = underTest.get(1L);
+        CategorySummary second = underTest.get(1L);
+
+        //then
+        assertThat(first).isSameAs(second);
+        verify(categoryRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    public void test_update_category_evicts_category_and_pages() {
+        //given
+        Category category = Category.builder().id(1L).name("Cat 1").build();
+        Pageable pageable = PageRequest.of(0, 5);
+        Page<Category> page = new PageImpl<>(List.of(category), pageable, 1);
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        when(categoryRepository.findAll(pageable)).thenReturn(page);
+        when(categoryRepository.findByName("Cat 2")).thenReturn(Optional.empty());
+        when(categoryRepository.save(any(Category.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        underTest.get(1L);
+        underTest.getCategoriesAsPage(pageable);
+
+        //when
+        underTest.update(1L, CategoryRequest.builder().name("Cat 2").build());
+        underTest.get(1L);
+        underTest.getCategoriesAsPage(pageable);
+
+        //then
+        // one read for each get, plus the uncached read inside update
+        verify(categoryRepository, times(3)).findById(1L);
+        verify(categoryRepository, times(2)).findAll(pageable);
+    }
+
+    @Test
+    public void test_save_category_evicts_pages() {
+        //given
+        Pageable pageable = PageRequest.of(0, 5);
+        when(categoryRepository.findAll(pageable)).thenReturn(Page.empty(pageable));
+        when(categoryRepository.existsByName("Cat 1")).thenReturn(false);
+        when(categoryRepository.save(any(Category.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        underTest.getCategoriesAsPage(pageable);
+
+        //when
+        underTest.save(CategoryRequest.builder().name("Cat 1").build());
+        underTest.getCategoriesAsPage(pageable);
+
+        //then
+        verify(categoryRepository, times(2)).findAll(pageable);
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.blog.category;
 
+import com.example.blog.deletion.BulkDeleter;
+import com.example.blog.deletion.DeletionJob;
+import com.example.blog.deletion.DeletionJobs;
 import com.example.blog.entity.Category;
 import com.example.blog.exception.DuplicateResourceException;
 import com.example.blog.exception.RequestValidationException;
 import com.example.blog.exception.ResourceNotFoundException;
+import com.example.blog.uniqueness.UniqueKey;
+import com.example.blog.uniqueness.UniquenessIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,12 +16,15 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 
@@ -26,40 +34,56 @@ public class CategoryServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private DeletionJobs deletionJobs;
+
+    @Mock
+    private BulkDeleter bulkDeleter;
+
+    @Mock
+    private UniquenessIndex uniquenessIndex;
+
     private CategoryService underTest;
 
     @BeforeEach
     public void setUp() {
-        underTest = new CategoryService(categoryRepository);
+        // as before the filters are loaded, every value might exist
+        lenient().when(uniquenessIndex.mightExist(any(), any())).thenReturn(true);
+        underTest = new CategoryService(categoryRepository, deletionJobs, bulkDeleter, uniquenessIndex);
     }
 
     @Test
     public void test_get_categories_as_page_should_return_page_of_categories() {
         //given
-        Page<Category> mockPage = mock(Page.class);
-        when(categoryRepository.findAll(any(Pageable.class))).thenReturn(mockPage);
+        Category category = Category.builder()
+                .id(1L)
+                .name("Category name").build();
+        when(categoryRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(category)));
 
         //when
-        Page<Category> result = underTest.getCategoriesAsPage(Pageable.unpaged());
+        Page<CategorySummary> result = underTest.getCategoriesAsPage(Pageable.unpaged());
 
         //then
         verify(categoryRepository).findAll(any(Pageable.class));
-        assertThat(result).isSameAs(mockPage);
+        assertThat(result.getContent()).containsExactly(new CategorySummary(1L, "Category name", null));
     }
     
     @Test
     public void test_get_category_with_valid_id_should_return_category() {
         //given
         Long categoryId = 1L;
-        Category mockCategory = mock(Category.class);
-        when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(mockCategory));
+        Category category = Category.builder()
+                .id(categoryId)
+                .name("Category name").build();
+        category.setModifiedDate(42L);
+        when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
         
         //when
-        Category result = underTest.get(categoryId);
+        CategorySummary result = underTest.get(categoryId);
         
         //then
         verify(categoryRepository).findById(categoryId);
-        assertThat(result).isSameAs(mockCategory);
+        assertThat(result).isEqualTo(new CategorySummary(categoryId, "Category name", 42L));
     }
 
     @Test
@@ -82,12 +106,14 @@ public class CategoryServiceTest {
         String categoryName = "Category name";
         CategoryRequest request = CategoryRequest.builder()
                 .name(categoryName).build();
-        Category category = mock(Category.class);
+        Category category = Category.builder()
+                .id(1L)
+                .name(categoryName).build();
         when(categoryRepository.existsByName(categoryName)).thenReturn(false);
         when(categoryRepository.save(any(Category.class))).thenReturn(category);
 
         //when
-        Category result = underTest.save(request);
+        CategorySummary result = underTest.save(request);
 
         //then
         ArgumentCaptor<Category> categoryArgumentCaptor = ArgumentCaptor.forClass(Category.class);
@@ -97,7 +123,25 @@ public class CategoryServiceTest {
 
         assertThat(capturedCategory.getId()).isNull();
         assertThat(capturedCategory.getName()).isEqualTo(categoryName);
-        assertThat(result).isSameAs(category);
+        assertThat(result).isEqualTo(new CategorySummary(1L, categoryName, null));
+    }
+
+    @Test
+    public void test_save_category_skips_exists_query_when_name_is_definitely_free() {
+        //given
+        String categoryName = "Category name";
+        CategoryRequest request = CategoryRequest.builder()
+                .name(categoryName).build();
+        when(uniquenessIndex.mightExist(UniqueKey.CATEGORY_NAME, categoryName)).thenReturn(false);
+        when(categoryRepository.save(any(Category.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        //when
+        underTest.save(request);
+
+        //then
+        verify(categoryRepository, never()).existsByName(any());
+        verify(categoryRepository).save(any(Category.class));
+        verify(uniquenessIndex).addAfterCommit(UniqueKey.CATEGORY_NAME, categoryName);
     }
 
     @Test
@@ -188,13 +232,16 @@ public class CategoryServiceTest {
         //given
         Long categoryId = 1L;
         Category mockCategory = mock(Category.class);
+        DeletionJob job = DeletionJob.running(DeletionJob.Resource.CATEGORY, categoryId);
         when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(mockCategory));
+        when(deletionJobs.start(eq(DeletionJob.Resource.CATEGORY), eq(categoryId), any())).thenReturn(job);
 
         //when
-        underTest.delete(categoryId);
+        DeletionJob result = underTest.delete(categoryId);
 
         //then
-        verify(categoryRepository).delete(mockCategory);
+        assertThat(result).isSameAs(job);
+        verify(categoryRepository, never()).delete(any(Category.class));
     }
 
     @Test
@@ -209,6 +256,6 @@ public class CategoryServiceTest {
                 .withMessage("Category with id [%d] not found", categoryId);
 
         //then
-        verify(categoryRepository, never()).delete(any(Category.class));
+        verify(deletionJobs, never()).start(any(), any(), any());
     }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.example.blog.comment;
 import com.example.blog.entity.Comment;
 import com.example.blog.entity.User;
 import com.example.blog.exception.ResourceNotFoundException;
+import com.example.blog.exception.TooManyRequestsException;
 import com.example.blog.entity.Post;
 import com.example.blog.security.JwtAuthenticationTokenFilter;
 import com.example.blog.security.UserPrincipal;
@@ -37,7 +38,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @WebMvcTest(CommentController.class)
 @AutoConfigureMockMvc(addFilters = false)
-@Import({ CommentModelAssembler.class, CommentMapper.class })
+@Import({ CommentModelAssembler.class, CommentMapper.class, PendingCommentModelAssembler.class })
 class CommentControllerTest {
 
     private static final String END_POINT_PATH = "/api/v1/posts/%d/comments";
@@ -230,6 +231,85 @@ class CommentControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    public void test_save_comment_in_write_behind_mode_should_return_202_with_location() throws Exception {
+        //given
+        Long postId = 1L;
+        CommentRequest commentRequest = CommentRequest.builder()
+                .body("This is body of the new comment").build();
+        PendingComment pending = PendingComment.pending(postId);
+        String location = "http://localhost/api/v1/posts/1/comments/pending/" + pending.id();
+
+        when(commentService.isWriteBehindEnabled()).thenReturn(true);
+        when(commentService.saveLater(postId, commentRequest, null)).thenReturn(pending);
+
+        //when
+        //then
+        mockMvc.perform(post(END_POINT_PATH.formatted(postId)).contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(commentRequest)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", location))
+                .andExpect(jsonPath("$.status", is("PENDING")))
+                .andExpect(jsonPath("$._links.self.href", is(location)))
+                .andDo(print());
+        verify(commentService, never()).save(any(), any(), any());
+    }
+
+    @Test
+    public void test_save_comment_in_write_behind_mode_should_return_429_when_queue_is_full() throws Exception {
+        //given
+        Long postId = 1L;
+        CommentRequest commentRequest = CommentRequest.builder()
+                .body("This is body of the new comment").build();
+
+        when(commentService.isWriteBehindEnabled()).thenReturn(true);
+        when(commentService.saveLater(postId, commentRequest, null))
+                .thenThrow(new TooManyRequestsException("Too many comments waiting to be saved, try again later"));
+
+        //when
+        //then
+        mockMvc.perform(post(END_POINT_PATH.formatted(postId)).contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(commentRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andDo(print());
+    }
+
+    @Test
+    public void test_get_pending_comment_should_return_202_while_pending() throws Exception {
+        //given
+        Long postId = 1L;
+        PendingComment pending = PendingComment.pending(postId);
+
+        when(commentService.getPending(postId, pending.id())).thenReturn(pending);
+
+        //when
+        //then
+        mockMvc.perform(get(END_POINT_PATH.formatted(postId) + "/pending/" + pending.id()))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status", is("PENDING")))
+                .andExpect(jsonPath("$._links.comment").doesNotExist())
+                .andDo(print());
+    }
+
+    @Test
+    public void test_get_pending_comment_should_return_303_to_saved_comment() throws Exception {
+        //given
+        Long postId = 1L;
+        PendingComment saved = PendingComment.pending(postId).saved(10L);
+
+        when(commentService.getPending(postId, saved.id())).thenReturn(saved);
+
+        //when
+        //then
+        mockMvc.perform(get(END_POINT_PATH.formatted(postId) + "/pending/" + saved.id()))
+                .andExpect(status().isSeeOther())
+                .andExpect(header().string("Location", "http://localhost/api/v1/posts/1/comments/10"))
+                .andExpect(jsonPath("$.status", is("SAVED")))
+                .andExpect(jsonPath("$.commentId", is(10)))
+                .andDo(print());
+    }
+
     @Test
     public void test_delete_comment_should_return_no_content() throws Exception {
         //given
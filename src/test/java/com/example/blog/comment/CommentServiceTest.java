@@ -37,12 +37,15 @@ class CommentServiceTest {
     private UserRetrievalService userRetrievalService;
     @Mock
     private AuthorizationService authorizationService;
+    @Mock
+    private CommentWriteBehind commentWriteBehind;
 
     private CommentService underTest;
 
     @BeforeEach
     public void setUp() {
-        underTest = new CommentService(commentRepository, postRepository, userRetrievalService, authorizationService);
+        underTest = new CommentService(commentRepository, postRepository, userRetrievalService, authorizationService,
+                commentWriteBehind);
     }
 
     @Test
@@ -192,6 +195,80 @@ class CommentServiceTest {
         assertThat(capturedComment.getUser()).isEqualTo(mockedUser);
     }
 
+    @Test
+    public void test_save_comment_should_increment_post_comment_count() {
+        //given
+        Long postId = 1L;
+        CommentRequest request = CommentRequest.builder()
+                .body("body of the new comment").build();
+        UserPrincipal userPrincipal = mock(UserPrincipal.class);
+        when(userPrincipal.getEmail()).thenReturn("zxc@gmail.com");
+        when(postRepository.findById(postId)).thenReturn(Optional.of(mock(Post.class)));
+        when(userRetrievalService.getUserByEmail(anyString())).thenReturn(mock(User.class));
+        when(commentRepository.save(any(Comment.class))).thenAnswer(invocation -> {
+            Comment comment = invocation.getArgument(0);
+            comment.setCreatedDate(1000L);
+            return comment;
+        });
+
+        //when
+        underTest.save(postId, request, userPrincipal);
+
+        //then
+        verify(postRepository).incrementCommentCount(postId, 1000L);
+    }
+
+    @Test
+    public void test_save_later_should_enqueue_comment_without_loading_post_and_user() {
+        //given
+        Long postId = 1L;
+        CommentRequest request = CommentRequest.builder()
+                .body("body of the new comment").build();
+        UserPrincipal userPrincipal = mock(UserPrincipal.class);
+        when(userPrincipal.getId()).thenReturn(2L);
+        PendingComment pending = PendingComment.pending(postId);
+        when(postRepository.existsById(postId)).thenReturn(true);
+        when(commentWriteBehind.enqueue(postId, 2L, "body of the new comment")).thenReturn(pending);
+
+        //when
+        PendingComment result = underTest.saveLater(postId, request, userPrincipal);
+
+        //then
+        assertThat(result).isEqualTo(pending);
+        verify(postRepository, never()).findById(any());
+        verify(userRetrievalService, never()).getUserByEmail(any());
+        verify(commentRepository, never()).save(any());
+    }
+
+    @Test
+    public void test_save_later_should_throw_resource_not_found_exception() {
+        //given
+        Long postId = 1L;
+        CommentRequest request = CommentRequest.builder()
+                .body("body of the new comment").build();
+        when(postRepository.existsById(postId)).thenReturn(false);
+
+        //when
+        //then
+        assertThatThrownBy(() -> underTest.saveLater(postId, request, mock(UserPrincipal.class)))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Post with id [%d] does not exists".formatted(postId));
+        verify(commentWriteBehind, never()).enqueue(any(), any(), any());
+    }
+
+    @Test
+    public void test_get_pending_should_throw_resource_not_found_exception_for_other_post() {
+        //given
+        PendingComment pending = PendingComment.pending(1L);
+        when(commentWriteBehind.find(pending.id())).thenReturn(Optional.of(pending));
+
+        //when
+        //then
+        assertThatThrownBy(() -> underTest.getPending(2L, pending.id()))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Pending comment with id [%s] does not exist".formatted(pending.id()));
+    }
+
     @Test
     public void test_save_comment_should_throw_resource_not_found_exception() {
         //given
@@ -208,6 +285,7 @@ class CommentServiceTest {
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("Post with id [%d] does not exist".formatted(postId));
         verify(commentRepository, never()).save(any());
+        verify(postRepository, never()).incrementCommentCount(any(), any());
     }
 
     @Test
@@ -342,6 +420,7 @@ class CommentServiceTest {
         ArgumentCaptor<Comment> commentArgumentCaptor = ArgumentCaptor.forClass(Comment.class);
 
         verify(commentRepository).delete(commentArgumentCaptor.capture());
+        verify(postRepository).decrementCommentCount(postId);
         verify(authorizationService, times(1)).hasAuthorizationForUpdateOrDeleteEntity(comment, mockedUser);
 
         Comment capturedComment = commentArgumentCaptor.getValue();
@@ -366,6 +445,7 @@ class CommentServiceTest {
 
         //then
         verify(commentRepository, never()).delete(any());
+        verify(postRepository, never()).decrementCommentCount(any());
     }
 
     @Test
@@ -389,6 +469,7 @@ class CommentServiceTest {
 
         //then
         verify(commentRepository, never()).delete(any());
+        verify(postRepository, never()).decrementCommentCount(any());
     }
 
     @Test
@@ -419,5 +500,6 @@ class CommentServiceTest {
 
         //then
         verify(commentRepository, never()).delete(any());
+        verify(postRepository, never()).decrementCommentCount(any());
     }
 }
\ No newline at end of file
@@ -0,0 +1,141 @@
+package com.example.blog.comment;
+
+import com.example.blog.entity.Comment;
+import com.example.blog.entity.Post;
+import com.example.blog.entity.User;
+import com.example.blog.exception.TooManyRequestsException;
+import com.example.blog.post.PostRepository;
+import com.example.blog.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CommentWriteBehindTest {
+    @Mock
+    private CommentRepository commentRepository;
+    @Mock
+    private PostRepository postRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CommentWriteBehind underTest;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new CommentWriteBehind(commentRepository, postRepository, userRepository, transactionManager,
+                true, 3, 2, Duration.ofMinutes(1), 100);
+    }
+
+    @Test
+    public void test_enqueue_should_throw_too_many_requests_exception_when_queue_is_full() {
+        //given
+        underTest.enqueue(1L, 1L, "comment 1");
+        underTest.enqueue(1L, 1L, "comment 2");
+        underTest.enqueue(1L, 1L, "comment 3");
+
+        //when
+        //then
+        assertThatThrownBy(() -> underTest.enqueue(1L, 1L, "comment 4"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(underTest.queued()).isEqualTo(3);
+        verifyNoInteractions(commentRepository);
+    }
+
+    @Test
+    public void test_flush_should_save_comments_in_batches_with_references() {
+        //given
+        Post post = Post.builder().id(1L).build();
+        User user = User.builder().id(2L).build();
+        when(postRepository.getReferenceById(1L)).thenReturn(post);
+        when(userRepository.getReferenceById(2L)).thenReturn(user);
+        AtomicLong ids = new AtomicLong();
+        when(commentRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Comment> comments = invocation.getArgument(0);
+            comments.forEach(c -> {
+                c.setId(ids.incrementAndGet());
+                c.setCreatedDate(1000L * c.getId());
+            });
+            return comments;
+        });
+        PendingComment first = underTest.enqueue(1L, 2L, "comment 1");
+        PendingComment second = underTest.enqueue(1L, 2L, "comment 2");
+        PendingComment third = underTest.enqueue(1L, 2L, "comment 3");
+
+        //when
+        underTest.flush();
+
+        //then
+        ArgumentCaptor<List<Comment>> commentsArgumentCaptor = ArgumentCaptor.forClass(List.class);
+        verify(commentRepository, times(2)).saveAll(commentsArgumentCaptor.capture());
+        assertThat(commentsArgumentCaptor.getAllValues()).extracting(List::size).containsExactly(2, 1);
+        assertThat(commentsArgumentCaptor.getValue().get(0).getCreatedBy()).isEqualTo(2L);
+        verify(postRepository).incrementCommentCountBy(1L, 2, 2000L);
+        verify(postRepository).incrementCommentCountBy(1L, 1, 3000L);
+        verify(postRepository, never()).findById(any());
+        verify(userRepository, never()).findById(any());
+
+        assertThat(underTest.find(first.id())).get().extracting(PendingComment::commentId).isEqualTo(1L);
+        assertThat(underTest.find(second.id())).get().extracting(PendingComment::commentId).isEqualTo(2L);
+        assertThat(underTest.find(third.id())).get().extracting(PendingComment::status).isEqualTo(PendingComment.Status.SAVED);
+        assertThat(underTest.queued()).isZero();
+    }
+
+    @Test
+    public void test_flush_should_save_one_by_one_when_batch_fails() {
+        //given
+        when(postRepository.getReferenceById(anyLong())).thenAnswer(invocation -> Post.builder()
+                .id(invocation.getArgument(0)).build());
+        when(userRepository.getReferenceById(2L)).thenReturn(User.builder().id(2L).build());
+        when(commentRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Comment> comments = invocation.getArgument(0);
+            if (comments.stream().anyMatch(c -> c.getPost().getId().equals(404L))) {
+                throw new DataIntegrityViolationException("post does not exist");
+            }
+            comments.forEach(c -> c.setId(c.getPost().getId()));
+            return comments;
+        });
+        PendingComment saved = underTest.enqueue(1L, 2L, "comment 1");
+        PendingComment failed = underTest.enqueue(404L, 2L, "comment 2");
+
+        //when
+        underTest.flush();
+
+        //then
+        assertThat(underTest.find(saved.id())).get().extracting(PendingComment::status).isEqualTo(PendingComment.Status.SAVED);
+        assertThat(underTest.find(failed.id())).get().extracting(PendingComment::status).isEqualTo(PendingComment.Status.FAILED);
+        verify(postRepository).incrementCommentCountBy(eq(1L), eq(1L), anyLong());
+        verify(postRepository, never()).incrementCommentCountBy(eq(404L), anyLong(), anyLong());
+    }
+
+    @Test
+    public void test_flush_should_do_nothing_when_disabled() {
+        //given
+        CommentWriteBehind disabled = new CommentWriteBehind(commentRepository, postRepository, userRepository,
+                transactionManager, false, 3, 2, Duration.ofMinutes(1), 100);
+        disabled.enqueue(1L, 1L, "comment 1");
+
+        //when
+        disabled.flush();
+
+        //then
+        assertThat(disabled.queued()).isEqualTo(1);
+        verifyNoInteractions(transactionManager, commentRepository);
+    }
+}
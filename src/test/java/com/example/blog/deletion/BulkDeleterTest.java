@@ -0,0 +1,195 @@
+package com.example.blog.deletion;
+
+import com.example.blog.category.CategoryRepository;
+import com.example.blog.comment.CommentRepository;
+import com.example.blog.config.CacheConfig;
+import com.example.blog.entity.Category;
+import com.example.blog.post.PostRepository;
+import com.example.blog.search.PostSearchIndex;
+import com.example.blog.tag.OrphanedTagCleaner;
+import com.example.blog.tag.TagRepository;
+import com.example.blog.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkDeleterTest {
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private TagRepository tagRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private OrphanedTagCleaner orphanedTagCleaner;
+
+    @Mock
+    private PostSearchIndex postSearchIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CacheManager cacheManager;
+    private DeletionJobs deletionJobs;
+    private BulkDeleter underTest;
+
+    @BeforeEach
+    public void setUp() {
+        cacheManager = new ConcurrentMapCacheManager();
+        deletionJobs = new DeletionJobs(Duration.ofHours(1), 100);
+        underTest = new BulkDeleter(postRepository, commentRepository, tagRepository, categoryRepository, userRepository,
+                orphanedTagCleaner, postSearchIndex, cacheManager, deletionJobs, transactionManager, 2, Duration.ZERO);
+    }
+
+    @Test
+    public void test_delete_category_deletes_posts_in_chunks_then_category() {
+        //given
+        Long categoryId = 1L;
+        cacheManager.getCache(CacheConfig.CATEGORIES).put(categoryId, Category.builder().id(categoryId).build());
+        when(postRepository.findIdsByCategoryId(eq(categoryId), any(Pageable.class)))
+                .thenReturn(List.of(10L, 11L), List.of(12L), List.of());
+        when(postRepository.findTagIdsByPostIdIn(any())).thenReturn(List.of(5L));
+        when(commentRepository.deleteByPostIdIn(any())).thenReturn(3);
+        when(postRepository.deleteTagLinksByPostIdIn(any())).thenReturn(1);
+        when(postRepository.deletePostsIn(any())).thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+        when(categoryRepository.deleteCategoryById(categoryId)).thenReturn(1);
+
+        //when
+        DeletionJob result = deletionJobs.start(DeletionJob.Resource.CATEGORY, categoryId, underTest::deleteCategory);
+
+        //then
+        verify(postRepository).deletePostsIn(List.of(10L, 11L));
+        verify(postRepository).deletePostsIn(List.of(12L));
+        verify(transactionManager, times(3)).commit(any());
+        verify(orphanedTagCleaner, times(2)).checkAfterCommit(List.of(5L));
+        verify(postSearchIndex).removeAfterCommit(12L);
+
+        // two chunks of 3 comments, 1 link and their posts, then the category
+        assertThat(result.status()).isEqualTo(DeletionJob.Status.COMPLETED);
+        assertThat(result.deletedRows()).isEqualTo(12);
+        assertThat(cacheManager.getCache(CacheConfig.CATEGORIES).get(categoryId)).isNull();
+    }
+
+    @Test
+    public void test_delete_category_failure_keeps_category_and_can_be_started_again() {
+        //given
+        Long categoryId = 1L;
+        when(postRepository.findIdsByCategoryId(eq(categoryId), any(Pageable.class)))
+                .thenReturn(List.of(10L), List.of());
+        when(postRepository.deletePostsIn(any()))
+                .thenThrow(new QueryTimeoutException("Lock wait timeout exceeded"))
+                .thenReturn(1);
+
+        //when
+        DeletionJob failed = deletionJobs.start(DeletionJob.Resource.CATEGORY, categoryId, underTest::deleteCategory);
+
+        //then
+        assertThat(failed.status()).isEqualTo(DeletionJob.Status.FAILED);
+        assertThat(failed.error()).isNotBlank();
+        verify(transactionManager).rollback(any());
+        verify(categoryRepository, never()).deleteCategoryById(any());
+
+        //when
+        when(postRepository.findIdsByCategoryId(eq(categoryId), any(Pageable.class)))
+                .thenReturn(List.of(10L), List.of());
+        DeletionJob resumed = deletionJobs.start(DeletionJob.Resource.CATEGORY, categoryId, underTest::deleteCategory);
+
+        //then
+        assertThat(resumed.id()).isNotEqualTo(failed.id());
+        assertThat(resumed.status()).isEqualTo(DeletionJob.Status.COMPLETED);
+        assertThat(deletionJobs.find(failed.id())).contains(failed);
+        verify(categoryRepository).deleteCategoryById(categoryId);
+    }
+
+    @Test
+    public void test_delete_tag_removes_links_in_chunks_and_keeps_posts() {
+        //given
+        Long tagId = 1L;
+        when(tagRepository.findPostIdsByTagId(tagId, 2))
+                .thenReturn(List.of(10L, 11L), List.of(12L), List.of());
+        when(tagRepository.deletePostLinks(eq(tagId), any()))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(1).size());
+        when(tagRepository.deleteTagById(tagId)).thenReturn(1);
+
+        //when
+        DeletionJob result = deletionJobs.start(DeletionJob.Resource.TAG, tagId, underTest::deleteTag);
+
+        //then
+        verify(tagRepository).deletePostLinks(tagId, List.of(10L, 11L));
+        verify(tagRepository).deletePostLinks(tagId, List.of(12L));
+        verify(postRepository, never()).deletePostsIn(any());
+
+        assertThat(result.status()).isEqualTo(DeletionJob.Status.COMPLETED);
+        assertThat(result.deletedRows()).isEqualTo(4);
+    }
+
+    @Test
+    public void test_delete_user_purges_comments_then_posts_then_account() {
+        //given
+        Long userId = 1L;
+        when(commentRepository.findIdsByUserId(eq(userId), any(Pageable.class)))
+                .thenReturn(List.of(100L, 101L), List.of());
+        when(commentRepository.findPostIdsByIdIn(List.of(100L, 101L))).thenReturn(List.of(20L));
+        when(commentRepository.deleteByIdIn(List.of(100L, 101L))).thenReturn(2);
+        when(postRepository.findIdsByUserId(eq(userId), any(Pageable.class)))
+                .thenReturn(List.of(10L), List.of());
+        when(postRepository.deletePostsIn(List.of(10L))).thenReturn(1);
+        when(userRepository.deleteRolesByUserId(userId)).thenReturn(1);
+        when(userRepository.deleteUserById(userId)).thenReturn(1);
+
+        //when
+        DeletionJob result = deletionJobs.start(DeletionJob.Resource.USER, userId, underTest::deleteUser);
+
+        //then
+        InOrder inOrder = inOrder(commentRepository, postRepository, userRepository);
+        inOrder.verify(commentRepository).deleteByIdIn(List.of(100L, 101L));
+        inOrder.verify(postRepository).recountComments(List.of(20L));
+        inOrder.verify(postRepository).deletePostsIn(List.of(10L));
+        inOrder.verify(userRepository).deleteRolesByUserId(userId);
+        inOrder.verify(userRepository).deleteUserById(userId);
+
+        // two comments, one post, the role link and the account
+        assertThat(result.status()).isEqualTo(DeletionJob.Status.COMPLETED);
+        assertThat(result.deletedRows()).isEqualTo(5);
+    }
+
+    @Test
+    public void test_delete_user_keeps_account_when_purge_fails() {
+        //given
+        Long userId = 1L;
+        when(commentRepository.findIdsByUserId(eq(userId), any(Pageable.class))).thenReturn(List.of(100L));
+        when(commentRepository.deleteByIdIn(any())).thenThrow(new QueryTimeoutException("Lock wait timeout exceeded"));
+
+        //when
+        DeletionJob result = deletionJobs.start(DeletionJob.Resource.USER, userId, underTest::deleteUser);
+
+        //then
+        assertThat(result.status()).isEqualTo(DeletionJob.Status.FAILED);
+        verify(userRepository, never()).deleteUserById(any());
+    }
+}
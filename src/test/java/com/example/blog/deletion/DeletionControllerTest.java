@@ -0,0 +1,80 @@
+package com.example.blog.deletion;
+
+import com.example.blog.security.JwtAuthenticationTokenFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(DeletionController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import(DeletionJobModelAssembler.class)
+class DeletionControllerTest {
+
+    private static final String END_POINT_PATH = "/api/v1/deletions/";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DeletionJobs deletionJobs;
+
+    @MockBean
+    private JwtAuthenticationTokenFilter filter;
+
+    @Test
+    public void test_get_deletion_should_return_202_while_running() throws Exception {
+        //given
+        DeletionJob job = DeletionJob.running(DeletionJob.Resource.CATEGORY, 1L).progressed(500);
+        when(deletionJobs.find(job.id())).thenReturn(Optional.of(job));
+
+        //when
+        //then
+        mockMvc.perform(get(END_POINT_PATH + job.id()))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status", is("RUNNING")))
+                .andExpect(jsonPath("$.deletedRows", is(500)))
+                .andExpect(jsonPath("$._links.self.href", is("http://localhost/api/v1/deletions/" + job.id())))
+                .andDo(print());
+    }
+
+    @Test
+    public void test_get_deletion_should_return_200_when_finished() throws Exception {
+        //given
+        DeletionJob job = DeletionJob.running(DeletionJob.Resource.TAG, 1L).failed("Deletion failed, delete again to continue");
+        when(deletionJobs.find(job.id())).thenReturn(Optional.of(job));
+
+        //when
+        //then
+        mockMvc.perform(get(END_POINT_PATH + job.id()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("FAILED")))
+                .andExpect(jsonPath("$.error", is("Deletion failed, delete again to continue")))
+                .andDo(print());
+    }
+
+    @Test
+    public void test_get_deletion_should_return_404_not_found() throws Exception {
+        //given
+        UUID id = UUID.randomUUID();
+        when(deletionJobs.find(id)).thenReturn(Optional.empty());
+
+        //when
+        //then
+        mockMvc.perform(get(END_POINT_PATH + id))
+                .andExpect(status().isNotFound())
+                .andDo(print());
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.blog.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlMetricsInterceptorTest {
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private final SqlStatementInspector inspector = new SqlStatementInspector(true);
+    private final SqlTimingListener timingListener = new SqlTimingListener();
+
+    private SimpleMeterRegistry meterRegistry;
+    private SqlMetricsInterceptor underTest;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        underTest = new SqlMetricsInterceptor(meterRegistry, 2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SqlRequestMetrics.end();
+    }
+
+    @Test
+    public void test_statements_should_be_tagged_and_recorded_per_endpoint() throws Exception {
+        //given
+        HandlerMethod handler = new HandlerMethod(new SampleController(), SampleController.class.getMethod("getPosts"));
+
+        //when
+        underTest.preHandle(request, response, handler);
+        String first = inspector.inspect("select * from posts");
+        timingListener.jdbcExecuteStatementStart();
+        timingListener.jdbcExecuteStatementEnd();
+        inspector.inspect("select * from tags where post_id=?");
+        inspector.inspect("select * from tags where post_id=?");
+        underTest.afterCompletion(request, response, handler, null);
+
+        //then
+        assertThat(first).isEqualTo("/* SampleController.getPosts */ select * from posts");
+        DistributionSummary statements = meterRegistry.get(SqlMetricsInterceptor.STATEMENTS_METRIC)
+                .tag("endpoint", "SampleController.getPosts")
+                .summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(3);
+        Timer time = meterRegistry.get(SqlMetricsInterceptor.TIME_METRIC)
+                .tag("endpoint", "SampleController.getPosts")
+                .timer();
+        assertThat(time.count()).isEqualTo(1);
+        assertThat(SqlRequestMetrics.current()).isNull();
+    }
+
+    @Test
+    public void test_statements_outside_request_should_not_be_tagged_or_recorded() {
+        //given
+        //when
+        String sql = inspector.inspect("select * from posts");
+        timingListener.jdbcExecuteStatementStart();
+        timingListener.jdbcExecuteStatementEnd();
+
+        //then
+        assertThat(sql).isEqualTo("select * from posts");
+        assertThat(meterRegistry.getMeters()).isEmpty();
+    }
+
+    @Test
+    public void test_statements_should_not_be_tagged_when_tagging_disabled() throws Exception {
+        //given
+        HandlerMethod handler = new HandlerMethod(new SampleController(), SampleController.class.getMethod("getPosts"));
+        SqlStatementInspector countingOnly = new SqlStatementInspector(false);
+
+        //when
+        underTest.preHandle(request, response, handler);
+        String sql = countingOnly.inspect("select * from posts");
+        underTest.afterCompletion(request, response, handler, null);
+
+        //then
+        assertThat(sql).isEqualTo("select * from posts");
+        assertThat(meterRegistry.get(SqlMetricsInterceptor.STATEMENTS_METRIC).summary().totalAmount()).isEqualTo(1);
+    }
+
+    static class SampleController {
+        public void getPosts() {
+        }
+    }
+}
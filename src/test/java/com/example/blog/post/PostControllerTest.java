@@ -10,25 +10,39 @@ import com.example.blog.exception.ResourceNotFoundException;
 import com.example.blog.security.JwtAuthenticationTokenFilter;
 import com.example.blog.security.UserPrincipal;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import java.util.Set;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -40,22 +54,45 @@ import static org.mockito.Mockito.doThrow;
 
 @WebMvcTest(PostController.class)
 @AutoConfigureMockMvc(addFilters = false)
-@Import({ PostModelAssembler.class, PostMapper.class, DetailedPostModelAssembler.class, CategoryMapper.class})
+@Import({ PostModelAssembler.class, PostMapper.class, DetailedPostModelAssembler.class, CategoryMapper.class,
+        PostRepresentationCache.class, PostSummaryModelAssembler.class, PostSummaryMapper.class})
 class PostControllerTest {
     private static final String END_POINT_PATH = "/api/v1/posts";
 
+    @TestConfiguration
+    static class CacheTestConfig {
+        @Bean
+        public CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+    }
+
+    @Autowired
+    private CacheManager cacheManager;
+
     @Autowired
     private MockMvc mockMvc;
 
     @MockBean
     private PostService postService;
 
+    @MockBean
+    private PostImportService postImportService;
+
+    @MockBean
+    private PostExportService postExportService;
+
     @MockBean
     private JwtAuthenticationTokenFilter filter;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    @BeforeEach
+    public void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
     @Test
     public void test_save_post_should_return_201_created() throws Exception {
         //given
@@ -261,6 +298,100 @@ class PostControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    public void test_get_post_by_id_should_return_304_not_modified_when_etag_matches() throws Exception {
+        //given
+        Category category = Category.builder()
+                .id(1L)
+                .name("Category name").build();
+        Long id = 1L;
+        Post post = Post.builder()
+                .id(id)
+                .title("title 1")
+                .body("body of the post 1")
+                .category(category)
+                .user(User.builder().id(1L).build()).build();
+        post.setCreatedDate(1_700_000_000_000L);
+
+        when(postService.getPostById(id)).thenReturn(post);
+
+        String eTag = mockMvc.perform(get(END_POINT_PATH + "/" + id))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        //when
+        //then
+        mockMvc.perform(get(END_POINT_PATH + "/" + id).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""))
+                .andDo(print());
+    }
+
+    @Test
+    public void test_get_post_by_id_should_return_new_representation_after_modification() throws Exception {
+        //given
+        Category category = Category.builder()
+                .id(1L)
+                .name("Category name").build();
+        Long id = 1L;
+        Post post = Post.builder()
+                .id(id)
+                .title("title 1")
+                .body("body of the post 1")
+                .category(category)
+                .user(User.builder().id(1L).build()).build();
+        post.setCreatedDate(1_700_000_000_000L);
+
+        when(postService.getPostById(id)).thenReturn(post);
+
+        String eTag = mockMvc.perform(get(END_POINT_PATH + "/" + id))
+                .andReturn().getResponse().getHeader("ETag");
+        post.setTitle("title 2");
+        post.setModifiedDate(1_700_000_001_000L);
+
+        //when
+        //then
+        mockMvc.perform(get(END_POINT_PATH + "/" + id).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("title 2")))
+                .andDo(print());
+    }
+
+    @Test
+    public void test_get_post_by_id_should_return_links_for_host_of_each_request() throws Exception {
+        //given
+        Category category = Category.builder()
+                .id(1L)
+                .name("Category name").build();
+        Long id = 1L;
+        Post post = Post.builder()
+                .id(id)
+                .title("title 1")
+                .body("body of the post 1")
+                .category(category)
+                .user(User.builder().id(1L).build()).build();
+        post.setCreatedDate(1_700_000_000_000L);
+
+        when(postService.getPostById(id)).thenReturn(post);
+
+        mockMvc.perform(get(END_POINT_PATH + "/" + id))
+                .andExpect(jsonPath("$._links.self.href", is("http://localhost/api/v1/posts/1")));
+
+        //when
+        //then
+        mockMvc.perform(get(END_POINT_PATH + "/" + id).with(request -> {
+                    request.setServerName("blog.example.com");
+                    return request;
+                }))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._links.self.href", is("http://blog.example.com/api/v1/posts/1")))
+                .andExpect(jsonPath("$.category._links.posts_for_category.href",
+                        is("http://blog.example.com/api/v1/posts/category/1")))
+                .andDo(print());
+    }
+
     @Test
     public void test_get_post_by_id_should_return_404_not_found() throws Exception {
         //given
@@ -682,4 +813,237 @@ class PostControllerTest {
 
         assertThat(responseBody).doesNotContain("_embedded");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test_get_posts_feed_by_tag_should_return_200_with_next_link() throws Exception {
+        //given
+        long tagId = 1L;
+        PostSummary firstPost = new PostSummary(2L, "title 2", 1L, "Category name", 1L,
+                3L, 2500L, 2000L, List.of("java", "spring"));
+        PostSummary secondPost = new PostSummary(1L, "title 1", 1L, "Category name", 1L,
+                0L, null, 1000L, List.of("java"));
+        Slice<PostSummary> postSlice = new SliceImpl<>(List.of(firstPost, secondPost), PageRequest.of(0, 2), true);
+        String next = new PostCursor(1000L, 1L).encode();
+
+        when(postService.getPostsByTagIdAfter(tagId, PostCursor.FIRST, 2)).thenReturn(postSlice);
+
+        //when
+        //then
+        mockMvc.perform(get(END_POINT_PATH + "/tag/" + tagId + "/feed").contentType(MediaType.APPLICATION_JSON)
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaTypes.HAL_JSON))
+                .andExpect(jsonPath("$._embedded.posts[0].id", is(2)))
+                .andExpect(jsonPath("$._embedded.posts[0].category.name", is("Category name")))
+                .andExpect(jsonPath("$._embedded.posts[0].tags", contains("java", "spring")))
+                .andExpect(jsonPath("$._embedded.posts[0].commentCount", is(3)))
+                .andExpect(jsonPath("$._embedded.posts[0].lastCommentAt", is(2500)))
+                .andExpect(jsonPath("$._embedded.posts[0].body").doesNotExist())
+                .andExpect(jsonPath("$._embedded.posts[0]._links.self.href", is("http://localhost/api/v1/posts/2")))
+                .andExpect(jsonPath("$._embedded.posts[1].id", is(1)))
+                .andExpect(jsonPath("$._links.self.href", is("http://localhost/api/v1/posts/tag/1/feed?size=2")))
+                .andExpect(jsonPath("$._links.next.href", is("http://localhost/api/v1/posts/tag/1/feed?after=" + next + "&size=2")))
+                .andExpect(jsonPath("$.page").doesNotExist())
+                .andDo(print());
+    }
+
+    @Test
+    public void test_get_posts_feed_should_not_return_next_link_on_last_slice() throws Exception {
+        //given
+        PostCursor cursor = new PostCursor(3000L, 3L);
+        PostSummary post = new PostSummary(1L, "title 1", 1L, "Category name", 1L,
+                0L, null, 1000L, List.of());
+        Slice<PostSummary> postSlice = new SliceImpl<>(List.of(post), PageRequest.of(0, 5), false);
+
+        when(postService.getPostsAfter(cursor, 5)).thenReturn(postSlice);
+
+        //when
+        //then
+        mockMvc.perform(get(END_POINT_PATH + "/feed").contentType(MediaType.APPLICATION_JSON)
+                        .param("after", cursor.encode()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.posts[0].id", is(1)))
+                .andExpect(jsonPath("$._links.self.href", is("http://localhost/api/v1/posts/feed?after=" + cursor.encode() + "&size=5")))
+                .andExpect(jsonPath("$._links.next").doesNotExist())
+                .andDo(print());
+    }
+
+    @Test
+    public void test_get_posts_feed_should_return_empty_collection_204() throws Exception {
+        //given
+        when(postService.getPostsByUserIdAfter(any(Long.class), any(PostCursor.class), any(Integer.class)))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        //when
+        //then
+        mockMvc.perform(get(END_POINT_PATH + "/user/1/feed").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent())
+                .andDo(print());
+    }
+
+    @Test
+    public void test_get_posts_feed_should_return_400_bad_request_because_invalid_cursor() throws Exception {
+        //given
+        //when
+        //then
+        mockMvc.perform(get(END_POINT_PATH + "/feed").contentType(MediaType.APPLICATION_JSON)
+                        .param("after", "not a cursor"))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+
+        verifyNoInteractions(postService);
+    }
+
+    @Test
+    public void test_get_posts_feed_should_return_400_bad_request_because_invalid_size() throws Exception {
+        //given
+        //when
+        //then
+        mockMvc.perform(get(END_POINT_PATH + "/category/1/feed").contentType(MediaType.APPLICATION_JSON)
+                        .param("size", "1000"))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+
+        verifyNoInteractions(postService);
+    }
+
+    @Test
+    public void test_search_posts_should_return_200_ok() throws Exception {
+        //given
+        Category category = Category.builder()
+                .id(1L)
+                .name("Category name").build();
+        Post post = Post.builder()
+                .id(1L)
+                .title("Spring caching")
+                .category(category)
+                .body("body of the post 1").build();
+
+        when(postService.search("spring", 10)).thenReturn(List.of(post));
+
+        //when
+        //then
+        mockMvc.perform(get(END_POINT_PATH + "/search").contentType(MediaType.APPLICATION_JSON)
+                        .param("q", "spring"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaTypes.HAL_JSON))
+                .andExpect(jsonPath("$._embedded.posts[0].id", is(1)))
+                .andExpect(jsonPath("$._links.self.href", is("http://localhost/api/v1/posts/search?q=spring&size=10")))
+                .andDo(print());
+    }
+
+    @Test
+    public void test_search_posts_should_return_204_when_nothing_found() throws Exception {
+        //given
+        when(postService.search("spring", 10)).thenReturn(List.of());
+
+        //when
+        //then
+        mockMvc.perform(get(END_POINT_PATH + "/search").contentType(MediaType.APPLICATION_JSON)
+                        .param("q", "spring"))
+                .andExpect(status().isNoContent())
+                .andDo(print());
+    }
+
+    @Test
+    public void test_search_posts_should_return_400_bad_request_because_invalid_size() throws Exception {
+        //given
+        //when
+        //then
+        mockMvc.perform(get(END_POINT_PATH + "/search").contentType(MediaType.APPLICATION_JSON)
+                        .param("q", "spring")
+                        .param("size", "101"))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+
+        verifyNoInteractions(postService);
+    }
+
+    @Test
+    public void test_import_posts_should_return_200_ok_with_result() throws Exception {
+        //given
+        String requestBody = """
+                {"title":"First title","body":"First body","categoryId":1,"tags":["tag1"]}
+                {"title":"Second title","body":"Second body","categoryId":404,"tags":[]}
+                """;
+        PostImportResult importResult = new PostImportResult(1, 1, List.of(
+                new PostImportResult.ItemError(1, "Second title", "Category with id [404] does not exists")));
+        when(postImportService.importPosts(any(), any())).thenReturn(importResult);
+
+        //when
+        //then
+        mockMvc.perform(post(END_POINT_PATH + "/import").contentType(MediaType.APPLICATION_NDJSON).content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.errors[0].index", is(1)))
+                .andExpect(jsonPath("$.errors[0].title", is("Second title")))
+                .andExpect(jsonPath("$.errors[0].message", is("Category with id [404] does not exists")))
+                .andDo(print());
+
+        verify(postImportService).importPosts(any(), any());
+    }
+
+    @Test
+    public void test_import_posts_should_return_415_unsupported_media_type() throws Exception {
+        //given
+        //when
+        //then
+        mockMvc.perform(post(END_POINT_PATH + "/import").contentType(MediaType.TEXT_PLAIN).content("posts"))
+                .andExpect(status().isUnsupportedMediaType())
+                .andExpect(header().string(HttpHeaders.ACCEPT, "application/x-ndjson, application/json"))
+                .andDo(print());
+
+        verifyNoInteractions(postImportService);
+    }
+
+    @Test
+    public void test_export_posts_should_stream_ndjson() throws Exception {
+        //given
+        String line = "{\"id\":1,\"title\":\"This is title\"}\n";
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write(line.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(postExportService).exportPosts(any());
+
+        //when
+        MvcResult result = mockMvc.perform(get(END_POINT_PATH + "/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        // the export's own timeout, not spring.mvc.async.request-timeout
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofMinutes(30).toMillis());
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string(line))
+                .andDo(print());
+    }
+
+    @Test
+    public void test_export_posts_should_stream_gzipped_ndjson() throws Exception {
+        //given
+        String line = "{\"id\":1,\"title\":\"This is title\"}\n";
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write(line.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(postExportService).exportPosts(any());
+
+        //when
+        MvcResult result = mockMvc.perform(get(END_POINT_PATH + "/export").param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(line);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.blog.post;
+
+import com.example.blog.comment.CommentExport;
+import com.example.blog.comment.CommentRepository;
+import com.example.blog.entity.Category;
+import com.example.blog.entity.Post;
+import com.example.blog.entity.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostExportServiceTest {
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private PostExportService underTest;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new PostExportService(
+                postRepository,
+                commentRepository,
+                entityManager,
+                objectMapper,
+                transactionManager,
+                2);
+    }
+
+    @Test
+    public void test_export_posts_should_write_one_line_per_post_in_batches() throws IOException {
+        //given
+        Category category = Category.builder().id(7L).build();
+        User user = User.builder().id(3L).build();
+        Post first = Post.builder().id(1L).title("First title").body("First body").category(category).user(user).build();
+        Post second = Post.builder().id(2L).title("Second title").body("Second body").category(category).user(user).build();
+        Post third = Post.builder().id(5L).title("Third title").body("Third body").category(category).user(user).build();
+        when(postRepository.findAllAfter(0L, PageRequest.of(0, 2))).thenReturn(List.of(first, second));
+        when(postRepository.findAllAfter(2L, PageRequest.of(0, 2))).thenReturn(List.of(third));
+        when(postRepository.findAllAfter(5L, PageRequest.of(0, 2))).thenReturn(List.of());
+        when(postRepository.findTagNamesByPostIdIn(List.of(1L, 2L))).thenReturn(List.of(
+                new PostTagName(1L, "java"),
+                new PostTagName(1L, "spring"),
+                new PostTagName(2L, "java")));
+        when(commentRepository.findExportsByPostIdIn(List.of(1L, 2L))).thenReturn(List.of(
+                new CommentExport(10L, 2L, 4L, "Nice post", 1000L, null)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        underTest.exportPosts(out);
+
+        //then
+        String export = out.toString(StandardCharsets.UTF_8);
+        assertThat(export).endsWith("\n");
+        List<String> lines = export.lines().toList();
+        assertThat(lines).hasSize(3);
+
+        JsonNode firstLine = objectMapper.readTree(lines.get(0));
+        assertThat(firstLine.get("id").asLong()).isEqualTo(1L);
+        assertThat(firstLine.get("title").asText()).isEqualTo("First title");
+        assertThat(firstLine.get("categoryId").asLong()).isEqualTo(7L);
+        assertThat(firstLine.get("userId").asLong()).isEqualTo(3L);
+        assertThat(firstLine.get("tags")).extracting(JsonNode::asText).containsExactly("java", "spring");
+        assertThat(firstLine.get("comments")).isEmpty();
+
+        JsonNode secondLine = objectMapper.readTree(lines.get(1));
+        assertThat(secondLine.get("comments")).hasSize(1);
+        assertThat(secondLine.get("comments").get(0).get("body").asText()).isEqualTo("Nice post");
+
+        JsonNode thirdLine = objectMapper.readTree(lines.get(2));
+        assertThat(thirdLine.get("id").asLong()).isEqualTo(5L);
+        assertThat(thirdLine.get("tags")).isEmpty();
+
+        // every batch is dropped from the persistence context once written
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    public void test_export_posts_should_write_nothing_when_there_are_no_posts() throws IOException {
+        //given
+        when(postRepository.findAllAfter(0L, PageRequest.of(0, 2))).thenReturn(List.of());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        underTest.exportPosts(out);
+
+        //then
+        assertThat(out.size()).isZero();
+        verifyNoInteractions(commentRepository);
+    }
+}
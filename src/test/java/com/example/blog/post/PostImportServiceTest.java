@@ -0,0 +1,308 @@
+package com.example.blog.post;
+
+import com.example.blog.category.CategoryRepository;
+import com.example.blog.entity.Category;
+import com.example.blog.entity.Post;
+import com.example.blog.entity.Tag;
+import com.example.blog.entity.User;
+import com.example.blog.search.PostSearchIndex;
+import com.example.blog.security.UserPrincipal;
+import com.example.blog.tag.TagConflictRetry;
+import com.example.blog.tag.TagResolver;
+import com.example.blog.user.UserRetrievalService;
+import com.example.blog.uniqueness.UniquenessIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostImportServiceTest {
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private TagResolver tagResolver;
+
+    @Mock
+    private UserRetrievalService userRetrievalService;
+
+    @Mock
+    private PostSearchIndex postSearchIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private UniquenessIndex uniquenessIndex;
+
+    @Mock
+    private UserPrincipal currentUser;
+
+    private final User user = User.builder().id(1L).build();
+
+    private PostImportService underTest;
+
+    @BeforeEach
+    public void setUp() {
+        // as before the filters are loaded, every value might exist
+        lenient().when(uniquenessIndex.mightExist(any(), any())).thenReturn(true);
+        underTest = new PostImportService(
+                postRepository,
+                categoryRepository,
+                tagResolver,
+                new TagConflictRetry(transactionManager),
+                userRetrievalService,
+                postSearchIndex,
+                uniquenessIndex,
+                new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                transactionManager,
+                2,
+                10);
+        when(currentUser.getEmail()).thenReturn("user@example.com");
+        when(userRetrievalService.getUserByEmail("user@example.com")).thenReturn(user);
+    }
+
+    @Test
+    public void test_import_posts_from_ndjson_in_chunks() throws IOException {
+        //given
+        mockCategories(1L);
+        mockTags();
+        mockSaveAll();
+
+        //when
+        PostImportResult result = underTest.importPosts(body("""
+                {"title":"First title","body":"This is first body","categoryId":1,"tags":["java","spring"]}
+                {"title":"Second title","body":"This is second body","categoryId":1,"tags":["java"]}
+                {"title":"Third title","body":"This is third body","categoryId":1,"tags":["java","jpa"]}
+                """), currentUser);
+
+        //then
+        assertThat(result.imported()).isEqualTo(3);
+        assertThat(result.failed()).isZero();
+        assertThat(result.errors()).isEmpty();
+
+        ArgumentCaptor<List<Post>> postsArgumentCaptor = ArgumentCaptor.forClass(List.class);
+        verify(postRepository, times(2)).saveAll(postsArgumentCaptor.capture());
+        assertThat(postsArgumentCaptor.getAllValues()).extracting(List::size).containsExactly(2, 1);
+        Post third = postsArgumentCaptor.getValue().get(0);
+        assertThat(third.getUser()).isEqualTo(user);
+        assertThat(third.getCategory().getId()).isEqualTo(1L);
+        assertThat(third.getTags()).extracting(Tag::getName).containsExactlyInAnyOrder("java", "jpa");
+
+        // the category and the known tags are resolved once per import, not once per chunk
+        verify(categoryRepository).findByIdIn(Set.of(1L));
+        verify(tagResolver).getOrCreateTags(Set.of("java", "spring"));
+        verify(tagResolver).getOrCreateTags(Set.of("jpa"));
+        verify(postSearchIndex, times(3)).indexAfterCommit(any());
+    }
+
+    @Test
+    public void test_import_posts_from_json_array() throws IOException {
+        //given
+        mockCategories(1L);
+        mockTags();
+        mockSaveAll();
+
+        //when
+        PostImportResult result = underTest.importPosts(body("""
+                [
+                  {"title":"First title","body":"This is first body","categoryId":1,"tags":[]},
+                  {"title":"Second title","body":"This is second body","categoryId":1,"tags":["java"]}
+                ]
+                """), currentUser);
+
+        //then
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.failed()).isZero();
+        verify(postRepository).saveAll(anyList());
+    }
+
+    @Test
+    public void test_import_posts_should_report_invalid_and_duplicate_posts_and_missing_categories() throws IOException {
+        //given
+        mockCategories(1L);
+        mockTags();
+        mockSaveAll();
+        when(postRepository.findTitlesIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> titles = invocation.getArgument(0);
+            return titles.contains("Existing title") ? List.of("Existing title") : List.of();
+        });
+
+        //when
+        PostImportResult result = underTest.importPosts(body("""
+                {"title":"abc","body":"This is body","categoryId":1,"tags":[]}
+                {"title":"Existing title","body":"This is body","categoryId":1,"tags":[]}
+                {"title":"Valid title","body":"This is body","categoryId":1,"tags":[]}
+                {"title":"Valid title","body":"This is body","categoryId":1,"tags":[]}
+                {"title":"Other title","body":"This is body","categoryId":404,"tags":[]}
+                """), currentUser);
+
+        //then
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(4);
+        assertThat(result.errors()).extracting(PostImportResult.ItemError::index).containsExactly(0L, 1L, 3L, 4L);
+        assertThat(result.errors()).extracting(PostImportResult.ItemError::message).containsExactly(
+                "title: title size must be between 5 and 64",
+                "Post with title [Existing title] already exists",
+                "Post with title [Valid title] appears more than once in the import",
+                "Category with id [404] does not exists");
+    }
+
+    @Test
+    public void test_import_posts_should_keep_parsed_posts_when_json_is_malformed() throws IOException {
+        //given
+        mockCategories(1L);
+        mockTags();
+        mockSaveAll();
+
+        //when
+        PostImportResult result = underTest.importPosts(body("""
+                {"title":"First title","body":"This is first body","categoryId":1,"tags":[]}
+                {"title":"Second title","body":
+                """), currentUser);
+
+        //then
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(1);
+        assertThat(result.errors()).singleElement().satisfies(error -> {
+            assertThat(error.index()).isEqualTo(1L);
+            assertThat(error.message()).startsWith("Malformed JSON, import stopped");
+        });
+    }
+
+    @Test
+    public void test_import_posts_should_fail_only_the_item_of_the_wrong_shape() throws IOException {
+        //given
+        mockCategories(1L);
+        mockTags();
+        mockSaveAll();
+
+        //when
+        PostImportResult result = underTest.importPosts(body("""
+                {"title":"First title","body":"This is first body","categoryId":1,"tags":[]}
+                {"title":"Second title","body":"This is second body","categoryId":"one","tags":[]}
+                {"title":"Third title","body":"This is third body","categoryId":1,"tags":[]}
+                """), currentUser);
+
+        //then
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.failed()).isEqualTo(1);
+        assertThat(result.errors()).singleElement().satisfies(error -> {
+            assertThat(error.index()).isEqualTo(1L);
+            assertThat(error.message()).startsWith("Invalid post");
+        });
+    }
+
+    @Test
+    public void test_import_posts_should_match_tags_and_titles_ignoring_case() throws IOException {
+        //given
+        mockCategories(1L);
+        mockSaveAll();
+        Tag java = Tag.builder().id(1L).name("Java").build();
+        when(tagResolver.getOrCreateTags(anyCollection())).thenReturn(Set.of(java));
+        when(postRepository.findTitlesIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> titles = invocation.getArgument(0);
+            return titles.contains("EXISTING TITLE") ? List.of("Existing title") : List.of();
+        });
+
+        //when
+        PostImportResult result = underTest.importPosts(body("""
+                {"title":"First title","body":"This is first body","categoryId":1,"tags":["java"]}
+                {"title":"EXISTING TITLE","body":"This is body","categoryId":1,"tags":[]}
+                {"title":"FIRST TITLE","body":"This is body","categoryId":1,"tags":[]}
+                {"title":"Third title","body":"This is third body","categoryId":1,"tags":["JAVA"]}
+                """), currentUser);
+
+        //then
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.errors()).extracting(PostImportResult.ItemError::message).containsExactly(
+                "Post with title [EXISTING TITLE] already exists",
+                "Post with title [FIRST TITLE] appears more than once in the import");
+
+        ArgumentCaptor<List<Post>> postsArgumentCaptor = ArgumentCaptor.forClass(List.class);
+        verify(postRepository, times(2)).saveAll(postsArgumentCaptor.capture());
+        assertThat(postsArgumentCaptor.getAllValues())
+                .flatExtracting(posts -> posts)
+                .allSatisfy(post -> assertThat(post.getTags()).containsExactly(java));
+        // "JAVA" was resolved with the first chunk as "Java"
+        verify(tagResolver, times(1)).getOrCreateTags(anyCollection());
+    }
+
+    @Test
+    public void test_import_posts_should_save_one_by_one_when_chunk_fails() throws IOException {
+        //given
+        mockCategories(1L);
+        mockTags();
+        when(postRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Post> posts = invocation.getArgument(0);
+            if (posts.stream().anyMatch(p -> p.getTitle().equals("Taken title"))) {
+                throw new DataIntegrityViolationException("duplicate title");
+            }
+            return posts;
+        });
+
+        //when
+        PostImportResult result = underTest.importPosts(body("""
+                {"title":"First title","body":"This is first body","categoryId":1,"tags":[]}
+                {"title":"Taken title","body":"This is second body","categoryId":1,"tags":[]}
+                """), currentUser);
+
+        //then
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(1);
+        assertThat(result.errors()).extracting(PostImportResult.ItemError::title).containsExactly("Taken title");
+        verify(postRepository, times(3)).saveAll(anyList());
+    }
+
+    private void mockCategories(Long... existingIds) {
+        Set<Long> existing = Set.of(existingIds);
+        lenient().when(categoryRepository.findByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream()
+                    .filter(existing::contains)
+                    .map(id -> Category.builder().id(id).name("Category " + id).build())
+                    .toList();
+        });
+    }
+
+    private void mockTags() {
+        lenient().when(tagResolver.getOrCreateTags(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> names = invocation.getArgument(0);
+            return names.stream()
+                    .map(name -> Tag.builder().name(name).build())
+                    .collect(Collectors.toSet());
+        });
+    }
+
+    private void mockSaveAll() {
+        lenient().when(postRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,14 +1,19 @@
 package com.example.blog.post;
 
+import com.example.blog.config.IdSequenceSeeder;
 import com.example.blog.entity.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.annotation.Rollback;
 
 import java.util.Collections;
@@ -17,8 +22,9 @@ import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(IdSequenceSeeder.class)
 class PostRepositoryJPATest {
     @Autowired
     private PostRepository underTest;
@@ -280,4 +286,173 @@ class PostRepositoryJPATest {
         assertThat(postPage.getContent().contains(post1)).isTrue();
         assertThat(postPage.getContent().contains(post2)).isTrue();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test_find_posts_by_category_after_cursor_should_seek() {
+        //given
+        Category category = Category.builder()
+                .name("Category name").build();
+        entityManager.persist(category);
+
+        for (int i = 1; i <= 4; i++) {
+            Post post = Post.builder()
+                    .title("seek post %d title".formatted(i))
+                    .body("seek post %d body".formatted(i))
+                    .category(category).build();
+            post.setCreatedDate(1000L * i);
+            entityManager.persist(post);
+        }
+        entityManager.flush();
+
+        Pageable pageable = PageRequest.of(0, 2);
+
+        //when
+        Slice<PostSummary> firstSlice = underTest.findSummariesByCategoryAfter(category.getId(),
+                PostCursor.FIRST.createdDate(), PostCursor.FIRST.id(), pageable);
+        PostCursor cursor = PostCursor.after(firstSlice.getContent().get(1));
+        Slice<PostSummary> secondSlice = underTest.findSummariesByCategoryAfter(category.getId(),
+                cursor.createdDate(), cursor.id(), pageable);
+
+        //then
+        assertThat(firstSlice.getContent()).hasSize(2);
+        assertThat(firstSlice.hasNext()).isTrue();
+        assertThat(secondSlice.getContent()).hasSize(2);
+        assertThat(secondSlice.hasNext()).isFalse();
+        assertThat(secondSlice.getContent()).doesNotContainAnyElementsOf(firstSlice.getContent());
+        assertThat(secondSlice.getContent())
+                .allMatch(p -> p.createdDate() < cursor.createdDate()
+                        || (p.createdDate() == cursor.createdDate() && p.id() < cursor.id()));
+    }
+
+    @Test
+    public void test_find_summaries_by_tag_loads_category_tags_and_comment_count_in_single_query() {
+        //given
+        Category category = Category.builder()
+                .name("summary category").build();
+        entityManager.persist(category);
+        Tag java = entityManager.persist(Tag.builder()
+                .name("summary java").build());
+        Tag spring = entityManager.persist(Tag.builder()
+                .name("summary spring").build());
+
+        int postsCount = 3;
+        for (int i = 1; i <= postsCount; i++) {
+            Post post = Post.builder()
+                    .title("summary post %d title".formatted(i))
+                    .body("summary post %d body".formatted(i))
+                    .category(category).build();
+            post.setCreatedDate(1000L * i);
+            post.addTag(spring);
+            post.addTag(java);
+            entityManager.persist(post);
+            entityManager.flush();
+            for (int c = 0; c < i; c++) {
+                underTest.incrementCommentCount(post.getId(), 5000L + c);
+            }
+        }
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        //when
+        Slice<PostSummary> slice = underTest.findSummariesByTagAfter(java.getId(),
+                PostCursor.FIRST.createdDate(), PostCursor.FIRST.id(), PageRequest.of(0, 10));
+
+        //then
+        assertThat(slice.getContent()).hasSize(postsCount);
+        assertThat(slice.getContent()).extracting(PostSummary::commentCount).containsExactly(3L, 2L, 1L);
+        assertThat(slice.getContent()).extracting(PostSummary::lastCommentAt).containsExactly(5002L, 5001L, 5000L);
+        assertThat(slice.getContent()).allMatch(p -> p.categoryName().equals("summary category"));
+        assertThat(slice.getContent()).allMatch(p -> p.tags().equals(List.of("summary java", "summary spring")));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    public void test_decrement_comment_count_should_recompute_last_comment_at() {
+        //given
+        Post post = Post.builder()
+                .title("counter post title")
+                .body("counter post body").build();
+        entityManager.persist(post);
+
+        Comment first = Comment.builder()
+                .body("first comment")
+                .post(post).build();
+        first.setCreatedDate(1000L);
+        Comment second = Comment.builder()
+                .body("second comment")
+                .post(post).build();
+        second.setCreatedDate(2000L);
+        entityManager.persist(first);
+        entityManager.persist(second);
+        entityManager.flush();
+        underTest.incrementCommentCount(post.getId(), 1000L);
+        underTest.incrementCommentCount(post.getId(), 2000L);
+
+        //when
+        entityManager.remove(second);
+        int updated = underTest.decrementCommentCount(post.getId());
+        entityManager.clear();
+
+        //then
+        Post result = entityManager.find(Post.class, post.getId());
+        assertThat(updated).isEqualTo(1);
+        assertThat(result.getCommentCount()).isEqualTo(1L);
+        assertThat(result.getLastCommentAt()).isEqualTo(1000L);
+    }
+
+    @Test
+    public void test_find_posts_by_users_id_loads_category_and_user_id_in_single_query() {
+        //given
+        User user = User.builder()
+                .username("statistics")
+                .email("statistics@gmail.com")
+                .password("qkwjeasdn§Q1j!djw")
+                .firstName("qwe")
+                .lastName("asd")
+                .phone("123456789").build();
+        entityManager.persist(user);
+
+        int postsCount = 5;
+        for (int i = 1; i <= postsCount; i++) {
+            Category category = Category.builder()
+                    .name("statistics category %d".formatted(i)).build();
+            entityManager.persist(category);
+            entityManager.persist(Post.builder()
+                    .title("statistics post %d title".formatted(i))
+                    .body("statistics post %d body".formatted(i))
+                    .category(category)
+                    .user(user).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        //when
+        Page<Post> postPage = underTest.findByUsersIn(List.of(user.getId()), PageRequest.of(0, 10));
+        List<String> categoryNames = postPage.getContent()
+                .stream()
+                .map(p -> p.getCategory().getName())
+                .toList();
+        List<Long> userIds = postPage.getContent()
+                .stream()
+                .map(p -> p.getUser().getId())
+                .toList();
+
+        //then
+        assertThat(categoryNames).hasSize(postsCount);
+        assertThat(userIds).containsOnly(user.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(2L * postsCount);
+    }
+}
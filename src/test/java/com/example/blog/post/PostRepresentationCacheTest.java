@@ -0,0 +1,101 @@
+package com.example.blog.post;
+
+import com.example.blog.entity.Category;
+import com.example.blog.entity.Post;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.hateoas.Link;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostRepresentationCacheTest {
+    private PostRepresentationCache underTest;
+    private AtomicInteger mapped;
+    private Function<Post, PostResponse> mapper;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new PostRepresentationCache(new ConcurrentMapCacheManager());
+        mapped = new AtomicInteger();
+        mapper = post -> {
+            mapped.incrementAndGet();
+            return PostResponse.builder().id(post.getId()).title(post.getTitle()).build();
+        };
+    }
+
+    @Test
+    public void test_get_returns_cached_representation_for_same_version() {
+        //given
+        Post post = post(1_000L);
+
+        //when
+        PostResponse first = underTest.get(post, mapper);
+        PostResponse second = underTest.get(post, mapper);
+
+        //then
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(second.getTitle()).isEqualTo(first.getTitle());
+        assertThat(mapped.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void test_get_returns_own_copy_without_links_of_other_requests() {
+        //given
+        Post post = post(1_000L);
+        underTest.get(post, mapper).add(Link.of("http://first.example.com/api/v1/posts/1"));
+
+        //when
+        PostResponse result = underTest.get(post, mapper);
+
+        //then
+        assertThat(result.getLinks()).isEmpty();
+        result.add(Link.of("http://second.example.com/api/v1/posts/1"));
+        assertThat(underTest.get(post, mapper).getLinks()).isEmpty();
+        assertThat(mapped.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void test_get_rebuilds_representation_when_post_modified() {
+        //given
+        Post post = post(1_000L);
+        underTest.get(post, mapper);
+        post.setTitle("changed");
+        post.setModifiedDate(2_000L);
+
+        //when
+        PostResponse result = underTest.get(post, mapper);
+
+        //then
+        assertThat(result.getTitle()).isEqualTo("changed");
+        assertThat(mapped.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void test_get_rebuilds_representation_when_category_modified() {
+        //given
+        Post post = post(1_000L);
+        underTest.get(post, mapper);
+        post.getCategory().setModifiedDate(3_000L);
+
+        //when
+        underTest.get(post, mapper);
+
+        //then
+        assertThat(mapped.get()).isEqualTo(2);
+        assertThat(PostRepresentationCache.lastModified(post)).isEqualTo(3_000L);
+    }
+
+    private static Post post(Long createdDate) {
+        Post post = Post.builder()
+                .id(1L)
+                .title("title")
+                .category(Category.builder().id(1L).name("category").build()).build();
+        post.setCreatedDate(createdDate);
+
+        return post;
+    }
+}
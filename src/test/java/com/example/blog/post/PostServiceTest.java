@@ -9,9 +9,15 @@ import com.example.blog.entity.User;
 import com.example.blog.exception.DuplicateResourceException;
 import com.example.blog.exception.RequestValidationException;
 import com.example.blog.exception.ResourceNotFoundException;
+import com.example.blog.search.PostSearchIndex;
+import com.example.blog.search.SearchHit;
 import com.example.blog.security.UserPrincipal;
+import com.example.blog.tag.OrphanedTagCleaner;
 import com.example.blog.tag.TagRepository;
+import com.example.blog.tag.TagConflictRetry;
+import com.example.blog.tag.TagResolver;
 import com.example.blog.user.UserRetrievalService;
+import com.example.blog.uniqueness.UniquenessIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,6 +27,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.*;
 
@@ -37,6 +44,15 @@ class PostServiceTest {
     @Mock
     private TagRepository tagRepository;
 
+    @Mock
+    private TagResolver tagResolver;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private OrphanedTagCleaner orphanedTagCleaner;
+
     @Mock
     private CategoryRepository categoryRepository;
 
@@ -46,16 +62,29 @@ class PostServiceTest {
     @Mock
     private AuthorizationService authorizationService;
 
+    @Mock
+    private PostSearchIndex postSearchIndex;
+
+    @Mock
+    private UniquenessIndex uniquenessIndex;
+
     private PostService underTest;
 
     @BeforeEach
     public void setUp() {
+        // as before the filters are loaded, every value might exist
+        lenient().when(uniquenessIndex.mightExist(any(), any())).thenReturn(true);
         underTest = new PostService(
                 postRepository,
                 tagRepository,
+                tagResolver,
+                new TagConflictRetry(transactionManager),
+                orphanedTagCleaner,
                 categoryRepository,
                 userRetrievalService,
-                authorizationService);
+                authorizationService,
+                postSearchIndex,
+                uniquenessIndex);
     }
 
     @Test
@@ -78,8 +107,7 @@ class PostServiceTest {
         when(postRepository.existsByTitle("This is title")).thenReturn(false);
         when(userRetrievalService.getUserByEmail(mockedUserPrincipal.getEmail())).thenReturn(mockedUser);
         when(categoryRepository.findById(request.getCategoryId())).thenReturn(Optional.of(mockedCategory));
-        when(tagRepository.findByName("tag1")).thenReturn(Optional.of(tag1));
-        when(tagRepository.findByName("tag2")).thenReturn(Optional.of(tag2));
+        when(tagResolver.getOrCreateTags(List.of("tag1", "tag2"))).thenReturn(Set.of(tag1, tag2));
 
         //when
         underTest.save(request, mockedUserPrincipal);
@@ -272,11 +300,11 @@ class PostServiceTest {
         Long id = 1L;
         UserPrincipal mockedUserPrincipal = mock(UserPrincipal.class);
         Post mockedPost = mock(Post.class);
-        Tag mockedTag1 = mock(Tag.class);
-        Tag mockedTag2 = mock(Tag.class);
+        Tag tag1 = Tag.builder().id(1L).name("tag1").build();
+        Tag tag2 = Tag.builder().id(2L).name("tag2").build();
 
         when(postRepository.findById(id)).thenReturn(Optional.of(mockedPost));
-        when(tagRepository.findOrphanedTags()).thenReturn(List.of(mockedTag1, mockedTag2));
+        when(mockedPost.getTags()).thenReturn(Set.of(tag1, tag2));
 
         //when
         underTest.delete(id, mockedUserPrincipal);
@@ -284,8 +312,47 @@ class PostServiceTest {
         //then
         verify(postRepository).delete(mockedPost);
         verify(authorizationService).hasAuthorizationForUpdateOrDeleteEntity(mockedPost, mockedUserPrincipal);
-        verify(tagRepository).delete(mockedTag1);
-        verify(tagRepository).delete(mockedTag2);
+        verify(orphanedTagCleaner).checkAfterCommit(Set.of(1L, 2L));
+        verify(tagRepository, never()).delete(any());
+        verify(postSearchIndex).removeAfterCommit(id);
+    }
+
+    @Test
+    public void test_search_returns_posts_in_hit_order() {
+        //given
+        Post post1 = Post.builder().id(1L).title("title 1").build();
+        Post post2 = Post.builder().id(2L).title("title 2").build();
+        when(postSearchIndex.search("spring", 10))
+                .thenReturn(List.of(new SearchHit(2L, 2.5), new SearchHit(3L, 1.5), new SearchHit(1L, 0.5)));
+        when(postRepository.findByIdIn(List.of(2L, 3L, 1L))).thenReturn(List.of(post1, post2));
+
+        //when
+        List<Post> result = underTest.search("spring", 10);
+
+        //then
+        assertThat(result).containsExactly(post2, post1);
+    }
+
+    @Test
+    public void test_search_does_not_query_database_without_hits() {
+        //given
+        when(postSearchIndex.search("spring", 10)).thenReturn(List.of());
+
+        //when
+        List<Post> result = underTest.search("spring", 10);
+
+        //then
+        assertThat(result).isEmpty();
+        verify(postRepository, never()).findByIdIn(any());
+    }
+
+    @Test
+    public void test_search_throws_request_validation_exception_when_query_blank() {
+        //when
+        //then
+        assertThatThrownBy(() -> underTest.search("  ", 10))
+                .isInstanceOf(RequestValidationException.class)
+                .hasMessage("Search query cannot be blank");
     }
 
     @Test
@@ -330,14 +397,12 @@ class PostServiceTest {
                 .body("Old body")
                 .category(mock(Category.class))
                 .user(mockedUser)
-                .tags(Set.of(postTag1, postTag2, postTag3, postTag4)).build();
+                .tags(new HashSet<>(Set.of(postTag1, postTag2, postTag3, postTag4))).build();
 
         when(postRepository.findById(id)).thenReturn(Optional.of(post));
         when(categoryRepository.findById(request.getCategoryId())).thenReturn(Optional.of(mockedCategory));
         when(postRepository.findByTitle(request.getTitle())).thenReturn(Optional.empty());
-        when(tagRepository.findByName("tag1")).thenReturn(Optional.of(postTag1));
-        when(tagRepository.findByName("tag2")).thenReturn(Optional.of(postTag2));
-        when(tagRepository.findOrphanedTags()).thenReturn(List.of(postTag3, postTag4));
+        when(tagResolver.getOrCreateTags(List.of("tag1", "tag2"))).thenReturn(new HashSet<>(Set.of(postTag1, postTag2)));
 
         //Mock authorization
         doNothing().when(authorizationService).hasAuthorizationForUpdateOrDeleteEntity(post, mockedUserPrincipal);
@@ -348,8 +413,8 @@ class PostServiceTest {
         //then
         verify(postRepository).save(post);
         verify(authorizationService).hasAuthorizationForUpdateOrDeleteEntity(post, mockedUserPrincipal);
-        verify(tagRepository).delete(postTag3);
-        verify(tagRepository).delete(postTag4);
+        verify(orphanedTagCleaner).checkAfterCommit(Set.of(3L, 4L));
+        verify(tagRepository, never()).delete(any());
 
         assertThat(result.getTitle()).isEqualTo(request.getTitle());
         assertThat(result.getBody()).isEqualTo(request.getBody());
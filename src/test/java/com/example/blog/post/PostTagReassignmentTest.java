@@ -0,0 +1,141 @@
+package com.example.blog.post;
+
+import com.example.blog.auth.AuthorizationService;
+import com.example.blog.category.CategoryRepository;
+import com.example.blog.config.IdSequenceSeeder;
+import com.example.blog.entity.Category;
+import com.example.blog.entity.Post;
+import com.example.blog.entity.Tag;
+import com.example.blog.search.PostSearchIndex;
+import com.example.blog.security.UserPrincipal;
+import com.example.blog.tag.OrphanedTagCleaner;
+import com.example.blog.tag.TagRepository;
+import com.example.blog.tag.TagConflictRetry;
+import com.example.blog.tag.TagResolver;
+import com.example.blog.uniqueness.UniquenessIndex;
+import com.example.blog.user.UserRetrievalService;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(IdSequenceSeeder.class)
+class PostTagReassignmentTest {
+    private static final int POPULAR_TAG_POSTS = 300;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private OrphanedTagCleaner orphanedTagCleaner;
+    private PostService underTest;
+
+    @BeforeEach
+    public void setUp() {
+        TagResolver tagResolver = mock(TagResolver.class);
+        when(tagResolver.getOrCreateTags(any())).thenAnswer(invocation ->
+                new HashSet<>(tagRepository.findByNameIn(invocation.<Collection<String>>getArgument(0))));
+        orphanedTagCleaner = mock(OrphanedTagCleaner.class);
+
+        underTest = new PostService(
+                postRepository,
+                tagRepository,
+                tagResolver,
+                new TagConflictRetry(transactionManager),
+                orphanedTagCleaner,
+                categoryRepository,
+                mock(UserRetrievalService.class),
+                mock(AuthorizationService.class),
+                mock(PostSearchIndex.class),
+                mock(UniquenessIndex.class));
+    }
+
+    @Test
+    public void test_update_post_reassigns_tags_without_loading_tag_posts() {
+        //given
+        Category category = entityManager.persist(Category.builder()
+                .name("reassign category").build());
+        Tag popular = entityManager.persist(Tag.builder()
+                .name("reassign popular").build());
+        Tag removed = entityManager.persist(Tag.builder()
+                .name("reassign removed").build());
+        Tag added = entityManager.persist(Tag.builder()
+                .name("reassign added").build());
+
+        for (int i = 0; i < POPULAR_TAG_POSTS; i++) {
+            Post post = Post.builder()
+                    .title("reassign post %d title".formatted(i))
+                    .body("reassign post %d body".formatted(i))
+                    .category(category).build();
+            post.getTags().add(popular);
+            entityManager.persist(post);
+        }
+        Post edited = Post.builder()
+                .title("reassign edited title")
+                .body("reassign edited body")
+                .category(category).build();
+        edited.getTags().add(popular);
+        edited.getTags().add(removed);
+        entityManager.persist(edited);
+        entityManager.flush();
+        entityManager.clear();
+
+        PostRequest request = PostRequest.builder()
+                .title("reassign edited new title")
+                .body("reassign edited new body")
+                .categoryId(category.getId())
+                .tags(List.of(popular.getName(), added.getName())).build();
+
+        Statistics statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        //when
+        Post result = underTest.update(edited.getId(), request, mock(UserPrincipal.class));
+        entityManager.flush();
+
+        //then
+        assertThat(result.getTags()).extracting(Tag::getName)
+                .containsExactlyInAnyOrder("reassign popular", "reassign added");
+        assertThat(result.getTags()).allMatch(tag -> !Hibernate.isInitialized(tag.getPosts()));
+        // post, title check, tag names, post tags, post update, one join row delete and one insert
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(8);
+        assertThat(statistics.getCollectionLoadCount()).isEqualTo(1);
+        verify(orphanedTagCleaner).checkAfterCommit(Set.of(removed.getId()));
+
+        entityManager.clear();
+        assertThat(postRepository.findById(edited.getId()).orElseThrow().getTags())
+                .extracting(Tag::getName)
+                .containsExactlyInAnyOrder("reassign popular", "reassign added");
+    }
+}
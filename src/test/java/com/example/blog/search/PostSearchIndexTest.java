@@ -0,0 +1,127 @@
+package com.example.blog.search;
+
+import com.example.blog.entity.Post;
+import com.example.blog.post.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostSearchIndexTest {
+    @Mock
+    private PostRepository postRepository;
+
+    private PostSearchIndex underTest;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new PostSearchIndex(postRepository, 2);
+    }
+
+    @Test
+    public void test_search_ranks_more_relevant_posts_first() {
+        //given
+        underTest.put(1L, "Cooking pasta", "Boil water and add salt.", true);
+        underTest.put(2L, "Spring Boot caching", "Caching with Caffeine in Spring.", true);
+        underTest.put(3L, "Gardening", "Spring is the time to plant tomatoes.", true);
+
+        //when
+        List<SearchHit> hits = underTest.search("spring caching", 10);
+
+        //then
+        assertThat(hits).extracting(SearchHit::postId).containsExactly(2L, 3L);
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+    }
+
+    @Test
+    public void test_search_returns_top_k_hits() {
+        //given
+        for (long id = 1; id <= 20; id++) {
+            underTest.put(id, "Post " + id, "java ".repeat((int) id) + "filler text", true);
+        }
+
+        //when
+        List<SearchHit> hits = underTest.search("java", 3);
+
+        //then
+        assertThat(hits).extracting(SearchHit::postId).containsExactly(20L, 19L, 18L);
+    }
+
+    @Test
+    public void test_search_is_case_insensitive_and_ignores_punctuation() {
+        //given
+        underTest.put(1L, "Hello, World!", "Greetings.", true);
+
+        //when
+        //then
+        assertThat(underTest.search("WORLD?", 10)).extracting(SearchHit::postId).containsExactly(1L);
+        assertThat(underTest.search("?!", 10)).isEmpty();
+    }
+
+    @Test
+    public void test_update_replaces_indexed_terms() {
+        //given
+        underTest.put(1L, "Old title", "old body", true);
+
+        //when
+        underTest.put(1L, "New title", "new body", true);
+
+        //then
+        assertThat(underTest.search("old", 10)).isEmpty();
+        assertThat(underTest.search("new", 10)).extracting(SearchHit::postId).containsExactly(1L);
+        assertThat(underTest.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void test_remove_drops_post_from_results() {
+        //given
+        underTest.put(1L, "Spring", "body", true);
+        underTest.put(2L, "Spring", "body", true);
+
+        //when
+        underTest.removeAfterCommit(1L);
+
+        //then
+        assertThat(underTest.search("spring", 10)).extracting(SearchHit::postId).containsExactly(2L);
+    }
+
+    @Test
+    public void test_index_after_commit_applies_immediately_without_transaction() {
+        //given
+        Post post = Post.builder().id(5L).title("Virtual threads").body("Project Loom").build();
+
+        //when
+        underTest.indexAfterCommit(post);
+
+        //then
+        assertThat(underTest.search("loom", 10)).extracting(SearchHit::postId).containsExactly(5L);
+    }
+
+    @Test
+    public void test_rebuild_reads_posts_in_batches_and_keeps_newer_content() {
+        //given
+        underTest.put(2L, "Updated title", "updated body", true);
+        when(postRepository.findSearchDocumentsAfter(0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(new SearchDocument(1L, "First", "alpha"), new SearchDocument(2L, "Second", "stale")));
+        when(postRepository.findSearchDocumentsAfter(2L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(new SearchDocument(3L, "Third", "gamma")));
+        when(postRepository.findSearchDocumentsAfter(3L, PageRequest.of(0, 2)))
+                .thenReturn(List.of());
+
+        //when
+        underTest.rebuild();
+
+        //then
+        assertThat(underTest.size()).isEqualTo(3);
+        assertThat(underTest.search("stale", 10)).isEmpty();
+        assertThat(underTest.search("updated gamma alpha", 10)).hasSize(3);
+    }
+}
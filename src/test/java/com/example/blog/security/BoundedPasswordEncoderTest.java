@@ -0,0 +1,153 @@
+package com.example.blog.security;
+
+import com.example.blog.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.search.RequiredSearch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder underTest;
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        underTest.destroy();
+    }
+
+    @Test
+    public void test_encode_and_matches_delegate_and_record_timings() {
+        //given
+        underTest = new BoundedPasswordEncoder(new ReversingEncoder(), 0, 10, 1, 10, Duration.ofSeconds(5), meterRegistry);
+
+        //when
+        String encoded = underTest.encode("secret");
+
+        //then
+        assertThat(encoded).isEqualTo("terces");
+        assertThat(underTest.matches("secret", encoded)).isTrue();
+        assertThat(underTest.matches("other", encoded)).isFalse();
+        assertThat(metric(BoundedPasswordEncoder.HASHING_TIME_METRIC, "encode").timer().count()).isEqualTo(1);
+        assertThat(metric(BoundedPasswordEncoder.QUEUE_TIME_METRIC, "encode").timer().count()).isEqualTo(1);
+        assertThat(metric(BoundedPasswordEncoder.HASHING_TIME_METRIC, "matches").timer().count()).isEqualTo(2);
+        assertThat(metric(BoundedPasswordEncoder.QUEUE_TIME_METRIC, "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void test_encode_rejects_when_pool_and_queue_are_full() throws Exception {
+        //given
+        underTest = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 10, 1, 1, Duration.ofSeconds(5), meterRegistry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> underTest.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> underTest.encode("second"));
+        awaitQueueSize(1);
+
+        //when
+        //then
+        assertThatThrownBy(() -> underTest.encode("third"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .hasMessage("Too many sign-ups in progress, try again later");
+        assertThat(metric(BoundedPasswordEncoder.REJECTED_METRIC, "encode").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+    }
+
+    @Test
+    public void test_encode_drops_queued_hash_after_timeout_but_waits_for_running_one() throws Exception {
+        //given
+        underTest = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 10, 1, 10, Duration.ofMillis(50), meterRegistry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> underTest.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        //when
+        //then
+        // queued behind the blocked hash, it can't start before its deadline
+        assertThatThrownBy(() -> underTest.encode("second"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(metric(BoundedPasswordEncoder.QUEUE_SIZE_METRIC, "encode").gauge().value()).isZero();
+
+        // the running hash is well past the deadline too, but it started in time
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(metric(BoundedPasswordEncoder.REJECTED_METRIC, "encode").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void test_matches_runs_while_encoding_pool_is_saturated() throws Exception {
+        //given
+        underTest = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1, 1, 1, Duration.ofSeconds(5), meterRegistry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> underTest.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> underTest.encode("second"));
+        awaitQueueSize(1);
+
+        //when
+        boolean result = underTest.matches("secret", "secret");
+
+        //then
+        assertThat(result).isTrue();
+        assertThat(metric(BoundedPasswordEncoder.REJECTED_METRIC, "matches").counter().count()).isZero();
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+    }
+
+    private RequiredSearch metric(String name, String operation) {
+        return meterRegistry.get(name).tag(BoundedPasswordEncoder.OPERATION_TAG, operation);
+    }
+
+    private void awaitQueueSize(int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (metric(BoundedPasswordEncoder.QUEUE_SIZE_METRIC, "encode").gauge().value() < size) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static class ReversingEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return new StringBuilder(rawPassword).reverse().toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+
+    private class BlockingEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        // only hashing new passwords blocks
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
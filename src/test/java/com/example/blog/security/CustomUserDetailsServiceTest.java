@@ -0,0 +1,190 @@
+package com.example.blog.security;
+
+import com.example.blog.entity.Role;
+import com.example.blog.entity.User;
+import com.example.blog.role.AppRoles;
+import com.example.blog.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+    @Mock
+    private UserRepository userRepository;
+
+    private UserPrincipalCache principalCache;
+
+    private CustomUserDetailsService underTest;
+
+    @BeforeEach
+    public void setUp() {
+        principalCache = new UserPrincipalCache(Duration.ofMinutes(5), 100);
+        underTest = new CustomUserDetailsService(userRepository, principalCache, Duration.ofSeconds(30), 100);
+    }
+
+    @Test
+    public void test_load_cached_user_queries_database_once() {
+        //given
+        User user = user(1L, "john");
+        when(userRepository.findUserByEmailOrUsername("john")).thenReturn(Optional.of(user));
+
+        //when
+        UserDetails first = underTest.loadCachedUserByUsername("john");
+        UserDetails second = underTest.loadCachedUserByUsername("john");
+
+        //then
+        assertThat(second).isSameAs(first);
+        assertThat(second.getUsername()).isEqualTo("john");
+        verify(userRepository, times(1)).findUserByEmailOrUsername("john");
+    }
+
+    @Test
+    public void test_load_cached_user_reloads_after_evict() {
+        //given
+        User user = user(1L, "john");
+        when(userRepository.findUserByEmailOrUsername("john")).thenReturn(Optional.of(user));
+
+        //when
+        underTest.loadCachedUserByUsername("john");
+        principalCache.evictUser(1L);
+        underTest.loadCachedUserByUsername("john");
+
+        //then
+        verify(userRepository, times(2)).findUserByEmailOrUsername("john");
+    }
+
+    @Test
+    public void test_load_cached_user_is_not_cached_when_cache_disabled() {
+        //given
+        underTest = new CustomUserDetailsService(userRepository, new UserPrincipalCache(Duration.ofMinutes(5), 0), Duration.ofSeconds(30), 100);
+        User user = user(1L, "john");
+        when(userRepository.findUserByEmailOrUsername("john")).thenReturn(Optional.of(user));
+
+        //when
+        underTest.loadCachedUserByUsername("john");
+        underTest.loadCachedUserByUsername("john");
+
+        //then
+        verify(userRepository, times(2)).findUserByEmailOrUsername("john");
+    }
+
+    @Test
+    public void test_load_cached_user_throws_username_not_found_exception() {
+        //given
+        when(userRepository.findUserByEmailOrUsername("john")).thenReturn(Optional.empty());
+
+        //when
+        //then
+        assertThatThrownBy(() -> underTest.loadCachedUserByUsername("john"))
+                .isInstanceOf(UsernameNotFoundException.class);
+    }
+
+    @Test
+    public void test_load_user_returns_disabled_user_without_caching() {
+        //given
+        User user = user(1L, "john");
+        user.setDisabled(true);
+        when(userRepository.findUserByEmailOrUsername("john")).thenReturn(Optional.of(user));
+
+        //when
+        UserDetails result = underTest.loadCachedUserByUsername("john");
+
+        //then
+        assertThat(result.isEnabled()).isFalse();
+        assertThat(principalCache.get("john")).isEmpty();
+    }
+
+    @Test
+    public void test_load_cached_user_rejects_cached_principal_after_disable() {
+        //given
+        User user = user(1L, "john");
+        when(userRepository.findUserByEmailOrUsername("john")).thenReturn(Optional.of(user));
+        underTest.loadCachedUserByUsername("john");
+
+        //when
+        // a login that read the row before the account was disabled puts the principal back
+        principalCache.disableUser(1L);
+        principalCache.put("john", new UserPrincipal(1L, "john@gmail.com", "john", "password", user.getRoles()));
+        user.setDisabled(true);
+        UserDetails result = underTest.loadCachedUserByUsername("john");
+
+        //then
+        assertThat(result.isEnabled()).isFalse();
+        assertThat(underTest.isDisabled(1L)).isTrue();
+        verify(userRepository, times(2)).findUserByEmailOrUsername("john");
+    }
+
+    @Test
+    public void test_is_disabled_looks_up_account_status_once() {
+        //given
+        when(userRepository.findDisabledById(1L)).thenReturn(Optional.of(false));
+
+        //when
+        boolean first = underTest.isDisabled(1L);
+        boolean second = underTest.isDisabled(1L);
+
+        //then
+        assertThat(first).isFalse();
+        assertThat(second).isFalse();
+        verify(userRepository, times(1)).findDisabledById(1L);
+    }
+
+    @Test
+    public void test_is_disabled_for_account_disabled_on_another_node() {
+        //given
+        when(userRepository.findDisabledById(1L)).thenReturn(Optional.of(true));
+
+        //when
+        boolean result = underTest.isDisabled(1L);
+
+        //then
+        assertThat(result).isTrue();
+    }
+
+    @Test
+    public void test_is_disabled_for_deleted_user() {
+        //given
+        when(userRepository.findDisabledById(1L)).thenReturn(Optional.empty());
+
+        //when
+        boolean result = underTest.isDisabled(1L);
+
+        //then
+        assertThat(result).isTrue();
+    }
+
+    @Test
+    public void test_is_disabled_without_lookup_after_local_disable() {
+        //given
+        principalCache.disableUser(1L);
+
+        //when
+        boolean result = underTest.isDisabled(1L);
+
+        //then
+        assertThat(result).isTrue();
+        verify(userRepository, never()).findDisabledById(any());
+    }
+
+    private static User user(Long id, String username) {
+        return User.builder()
+                .id(id)
+                .email(username + "@gmail.com")
+                .username(username)
+                .password("password")
+                .roles(Set.of(Role.builder().id(1).name(AppRoles.ROLE_USER).build())).build();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.blog.security;
+
+import com.example.blog.entity.Role;
+import com.example.blog.role.AppRoles;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenProviderTest {
+    private static final String SECRET = "foobar_123456789_foobar_123456789_foobar_123456789_foobar_123456789";
+
+    private JwtTokenProvider underTest;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new JwtTokenProvider(SECRET, 100);
+    }
+
+    @Test
+    public void test_get_verified_subject_success() {
+        //given
+        String token = underTest.generateToken(new UsernamePasswordAuthenticationToken("john", null));
+
+        //when
+        Optional<String> first = underTest.getVerifiedSubject(token);
+        Optional<String> second = underTest.getVerifiedSubject(token);
+
+        //then
+        assertThat(first).contains("john");
+        assertThat(second).contains("john");
+        assertThat(underTest.isTokenValid(token)).isTrue();
+        assertThat(underTest.getSubject(token)).isEqualTo("john");
+    }
+
+    @Test
+    public void test_get_verified_subject_returns_empty_when_signature_invalid() {
+        //given
+        String token = Jwts.builder()
+                .setSubject("john")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor("another_secret_another_secret_another_secret_another_secret_1234"
+                        .getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS512)
+                .compact();
+
+        //when
+        Optional<String> result = underTest.getVerifiedSubject(token);
+
+        //then
+        assertThat(result).isEmpty();
+        assertThat(underTest.isTokenValid(token)).isFalse();
+    }
+
+    @Test
+    public void test_get_verified_subject_returns_empty_when_token_expired() {
+        //given
+        String token = Jwts.builder()
+                .setSubject("john")
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS512)
+                .compact();
+
+        //when
+        Optional<String> result = underTest.getVerifiedSubject(token);
+
+        //then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void test_token_carries_principal_claims() {
+        //given
+        UserPrincipal principal = new UserPrincipal(1L, "john@gmail.com", "john", "password",
+                Set.of(Role.builder().name(AppRoles.ROLE_USER).build(), Role.builder().name(AppRoles.ROLE_ADMIN).build()));
+        String token = underTest.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        //when
+        Optional<UserPrincipal> result = underTest.getVerifiedClaims(token)
+                .flatMap(underTest::getPrincipal);
+
+        //then
+        assertThat(result).isPresent();
+        assertThat(result.get().getId()).isEqualTo(1L);
+        assertThat(result.get().getEmail()).isNull();
+        assertThat(underTest.getVerifiedClaims(token).orElseThrow()).doesNotContainKey("email");
+        assertThat(result.get().getUsername()).isEqualTo("john");
+        assertThat(result.get().getPassword()).isNull();
+        assertThat(result.get().getAuthorities()).isEqualTo(principal.getAuthorities());
+    }
+
+    @Test
+    public void test_get_principal_returns_empty_for_token_without_principal_claims() {
+        //given
+        String token = underTest.generateToken(new UsernamePasswordAuthenticationToken("john", null));
+
+        //when
+        Optional<UserPrincipal> result = underTest.getVerifiedClaims(token)
+                .flatMap(underTest::getPrincipal);
+
+        //then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void test_verified_token_cache_drops_expired_entries() {
+        //given
+        VerifiedTokenCache cache = new VerifiedTokenCache(2);
+        cache.put("token1", claims("john", 1000), 0);
+        cache.put("token2", claims("adam", 2000), 0);
+
+        //when
+        cache.put("token3", claims("kate", 3000), 1500);
+
+        //then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("token1", 1500)).isEmpty();
+        assertThat(cache.get("token2", 1500).map(Claims::getSubject)).contains("adam");
+        assertThat(cache.get("token2", 2500)).isEmpty();
+        assertThat(cache.get("token3", 2500).map(Claims::getSubject)).contains("kate");
+    }
+
+    private static Claims claims(String subject, long expiresAt) {
+        return Jwts.claims()
+                .setSubject(subject)
+                .setExpiration(new Date(expiresAt));
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.blog.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SipHashTest {
+
+    // key 00 01 .. 0f of the reference implementation, read little endian
+    private final SipHash underTest = new SipHash(0x0706050403020100L, 0x0f0e0d0c0b0a0908L);
+
+    @Test
+    public void test_hash_matches_reference_vectors() {
+        //given
+        //when
+        //then
+        assertThat(underTest.hash(message(0))).isEqualTo(0x726fdb47dd0e0e31L);
+        assertThat(underTest.hash(message(1))).isEqualTo(0x74f839c593dc67fdL);
+        assertThat(underTest.hash(message(8))).isEqualTo(0x93f5f5799a932462L);
+        assertThat(underTest.hash(message(15))).isEqualTo(0xa129ca6149be45e5L);
+    }
+
+    @Test
+    public void test_hash_depends_on_key() {
+        //given
+        SipHash otherKey = new SipHash(1L, 2L);
+
+        //when
+        //then
+        assertThat(otherKey.hash(message(15))).isNotEqualTo(underTest.hash(message(15)));
+    }
+
+    // 00 01 .. length-1, the messages the reference vectors are computed for
+    private static byte[] message(int length) {
+        byte[] message = new byte[length];
+        for (int i = 0; i < length; i++) {
+            message[i] = (byte) i;
+        }
+        return message;
+    }
+}
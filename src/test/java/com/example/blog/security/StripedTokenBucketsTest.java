@@ -0,0 +1,133 @@
+package com.example.blog.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedTokenBucketsTest {
+
+    private final AtomicLong clock = new AtomicLong(-5_000_000_000L);
+
+    @Test
+    public void test_try_acquire_allows_burst_then_rejects() {
+        //given
+        StripedTokenBuckets underTest = new StripedTokenBuckets(1024, 60, 3, clock::get);
+
+        //when
+        //then
+        assertThat(underTest.tryAcquire("10.0.0.1")).isTrue();
+        assertThat(underTest.tryAcquire("10.0.0.1")).isTrue();
+        assertThat(underTest.tryAcquire("10.0.0.1")).isTrue();
+        assertThat(underTest.tryAcquire("10.0.0.1")).isFalse();
+    }
+
+    @Test
+    public void test_try_acquire_refills_at_rate() {
+        //given
+        StripedTokenBuckets underTest = new StripedTokenBuckets(1024, 60, 1, clock::get);
+        assertThat(underTest.tryAcquire("10.0.0.1")).isTrue();
+        assertThat(underTest.tryAcquire("10.0.0.1")).isFalse();
+
+        //when
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+
+        //then
+        assertThat(underTest.tryAcquire("10.0.0.1")).isFalse();
+
+        //when
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+
+        //then
+        assertThat(underTest.tryAcquire("10.0.0.1")).isTrue();
+        assertThat(underTest.tryAcquire("10.0.0.1")).isFalse();
+    }
+
+    @Test
+    public void test_try_acquire_does_not_save_up_more_than_burst() {
+        //given
+        StripedTokenBuckets underTest = new StripedTokenBuckets(1024, 60, 2, clock::get);
+
+        //when
+        clock.addAndGet(TimeUnit.HOURS.toNanos(1));
+
+        //then
+        assertThat(underTest.tryAcquire("10.0.0.1")).isTrue();
+        assertThat(underTest.tryAcquire("10.0.0.1")).isTrue();
+        assertThat(underTest.tryAcquire("10.0.0.1")).isFalse();
+    }
+
+    @Test
+    public void test_try_acquire_keeps_keys_apart() {
+        //given
+        StripedTokenBuckets underTest = new StripedTokenBuckets(1 << 16, 60, 1, clock::get);
+        assertThat(underTest.tryAcquire("alice")).isTrue();
+
+        //when
+        //then
+        assertThat(underTest.tryAcquire("alice")).isFalse();
+        assertThat(underTest.tryAcquire("bob")).isTrue();
+    }
+
+    @Test
+    public void test_try_acquire_keeps_keys_with_equal_string_hash_code_apart() {
+        //given
+        StripedTokenBuckets underTest = new StripedTokenBuckets(1 << 16, 60, 1, clock::get);
+        int pairs = 20;
+        int shared = 0;
+
+        //when
+        for (int i = 0; i < pairs; i++) {
+            // "Aa" and "BB" have the same String.hashCode, and so does any pair with the same suffix
+            String key = "Aa" + i;
+            String collidingKey = "BB" + i;
+            assertThat(collidingKey.hashCode()).isEqualTo(key.hashCode());
+            underTest.tryAcquire(key);
+            if (!underTest.tryAcquire(collidingKey)) {
+                shared++;
+            }
+        }
+
+        //then
+        assertThat(shared).isLessThan(pairs);
+    }
+
+    @Test
+    public void test_try_acquire_concurrently_hands_out_exactly_burst() throws Exception {
+        //given
+        int burst = 50;
+        StripedTokenBuckets underTest = new StripedTokenBuckets(16, 1, burst, clock::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger acquired = new AtomicInteger();
+
+        //when
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < 100; j++) {
+                    if (underTest.tryAcquire("10.0.0.1")) {
+                        acquired.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+
+        //then
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(acquired.get()).isEqualTo(burst);
+    }
+}
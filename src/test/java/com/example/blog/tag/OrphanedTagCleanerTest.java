@@ -0,0 +1,115 @@
+package com.example.blog.tag;
+
+import com.example.blog.config.CacheConfig;
+import com.example.blog.entity.Tag;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrphanedTagCleanerTest {
+    @Mock
+    private TagRepository tagRepository;
+
+    private CacheManager cacheManager;
+
+    private OrphanedTagCleaner underTest;
+
+    @BeforeEach
+    public void setUp() {
+        cacheManager = new ConcurrentMapCacheManager();
+        underTest = new OrphanedTagCleaner(tagRepository, cacheManager, 2);
+    }
+
+    @Test
+    public void test_delete_candidates_in_batches() {
+        //given
+        underTest.checkAfterCommit(Set.of(1L, 2L, 3L));
+        when(tagRepository.deleteOrphanedTagsIn(any())).thenReturn(1);
+
+        //when
+        underTest.deleteCandidates();
+
+        //then
+        ArgumentCaptor<Collection<Long>> idsArgumentCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(tagRepository, times(2)).deleteOrphanedTagsIn(idsArgumentCaptor.capture());
+
+        assertThat(idsArgumentCaptor.getAllValues().get(0)).hasSize(2);
+        assertThat(idsArgumentCaptor.getAllValues().get(1)).hasSize(1);
+        assertThat(idsArgumentCaptor.getAllValues().stream().flatMap(Collection::stream))
+                .containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(underTest.pendingCandidates()).isZero();
+    }
+
+    @Test
+    public void test_delete_candidates_evicts_deleted_tags_from_cache() {
+        //given
+        cacheManager.getCache(CacheConfig.TAGS).put(1L, Tag.builder().id(1L).name("tag1").build());
+        cacheManager.getCache(CacheConfig.TAG_PAGES).put("page", List.of());
+        underTest.checkAfterCommit(Set.of(1L));
+        when(tagRepository.deleteOrphanedTagsIn(any())).thenReturn(1);
+
+        //when
+        underTest.deleteCandidates();
+
+        //then
+        assertThat(cacheManager.getCache(CacheConfig.TAGS).get(1L)).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.TAG_PAGES).get("page")).isNull();
+    }
+
+    @Test
+    public void test_delete_candidates_does_nothing_without_candidates() {
+        //given
+        underTest.checkAfterCommit(Set.of());
+
+        //when
+        underTest.deleteCandidates();
+
+        //then
+        verifyNoInteractions(tagRepository);
+    }
+
+    @Test
+    public void test_delete_candidates_keeps_candidates_when_delete_fails() {
+        //given
+        underTest.checkAfterCommit(Set.of(1L));
+        when(tagRepository.deleteOrphanedTagsIn(any())).thenThrow(new IllegalStateException("connection lost"));
+
+        //when
+        underTest.deleteCandidates();
+
+        //then
+        assertThat(underTest.pendingCandidates()).isEqualTo(1);
+    }
+
+    @Test
+    public void test_sweep_deletes_orphaned_tags_until_none_left() {
+        //given
+        when(tagRepository.findOrphanedTagIds(2))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L))
+                .thenReturn(List.of());
+        when(tagRepository.deleteOrphanedTagsIn(List.of(1L, 2L))).thenReturn(2);
+        when(tagRepository.deleteOrphanedTagsIn(List.of(3L))).thenReturn(1);
+
+        //when
+        underTest.sweep();
+
+        //then
+        verify(tagRepository, times(3)).findOrphanedTagIds(2);
+        verify(tagRepository, times(2)).deleteOrphanedTagsIn(any());
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.blog.tag;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TagConflictRetryTest {
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TransactionStatus transactionStatus;
+
+    private TagConflictRetry underTest;
+
+    @BeforeEach
+    public void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+        underTest = new TagConflictRetry(transactionManager);
+    }
+
+    @Test
+    public void test_execute_runs_again_after_a_tag_name_conflict() {
+        //given
+        AtomicInteger attempts = new AtomicInteger();
+        TransactionCallback<String> work = status -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw duplicate("tags.uk_tags_name");
+            }
+            return "saved";
+        };
+
+        //when
+        String result = underTest.execute(work);
+
+        //then
+        assertThat(result).isEqualTo("saved");
+        assertThat(attempts).hasValue(2);
+        verify(transactionManager).rollback(transactionStatus);
+        verify(transactionManager).commit(transactionStatus);
+    }
+
+    @Test
+    public void test_execute_does_not_retry_other_conflicts() {
+        //given
+        AtomicInteger attempts = new AtomicInteger();
+        TransactionCallback<String> work = status -> {
+            attempts.incrementAndGet();
+            throw duplicate("posts.uk_posts_title");
+        };
+
+        //when
+        //then
+        assertThatThrownBy(() -> underTest.execute(work))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    public void test_execute_gives_up_after_repeated_conflicts() {
+        //given
+        AtomicInteger attempts = new AtomicInteger();
+        TransactionCallback<String> work = status -> {
+            attempts.incrementAndGet();
+            throw duplicate("tags.uk_tags_name");
+        };
+
+        //when
+        //then
+        assertThatThrownBy(() -> underTest.execute(work))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(attempts).hasValue(3);
+        verify(transactionManager, times(3)).rollback(transactionStatus);
+    }
+
+    private static DataIntegrityViolationException duplicate(String key) {
+        SQLException cause = new SQLException("Duplicate entry 'tag1' for key '" + key + "'", "23000", 1062);
+        return new DataIntegrityViolationException("could not execute statement", cause);
+    }
+}
@@ -1,9 +1,10 @@
 package com.example.blog.tag;
 
 import com.example.blog.config.AppConfig;
+import com.example.blog.deletion.DeletionJob;
+import com.example.blog.deletion.DeletionJobModelAssembler;
 import com.example.blog.entity.Category;
 import com.example.blog.entity.Post;
-import com.example.blog.entity.Tag;
 import com.example.blog.entity.User;
 import com.example.blog.exception.DuplicateResourceException;
 import com.example.blog.exception.ResourceNotFoundException;
@@ -16,6 +17,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -28,6 +30,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.sql.SQLIntegrityConstraintViolationException;
 import java.util.List;
 import java.util.Set;
 
@@ -42,7 +45,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @WebMvcTest(TagController.class)
 @AutoConfigureMockMvc(addFilters = false)
-@Import({TagModelAssembler.class, TagMapper.class})
+@Import({TagModelAssembler.class, TagMapper.class, DeletionJobModelAssembler.class})
 class TagControllerTest {
 
     private static final String END_POINT_PATH = "/api/v1/tags";
@@ -77,17 +80,11 @@ class TagControllerTest {
     @Test
     public void test_get_tags_as_page_should_return_200_ok() throws Exception {
         //given
-        Tag tag1 = Tag.builder()
-                .id(1L)
-                .name("Tag 1").build();
-        Tag tag2 = Tag.builder()
-                .id(2L)
-                .name("Tag 2").build();
-        Tag tag3 = Tag.builder()
-                .id(3L)
-                .name("Tag 3").build();
+        TagSummary tag1 = new TagSummary(1L, "Tag 1", null);
+        TagSummary tag2 = new TagSummary(2L, "Tag 2", null);
+        TagSummary tag3 = new TagSummary(3L, "Tag 3", null);
         Pageable pageable = PageRequest.of(0, 2);
-        Page<Tag> pageTag = new PageImpl<>(List.of(tag1, tag2, tag3), pageable, 3);
+        Page<TagSummary> pageTag = new PageImpl<>(List.of(tag1, tag2, tag3), pageable, 3);
         when(tagService.getTagsAsPage(pageable)).thenReturn(pageTag);
 
         //when
@@ -157,17 +154,11 @@ class TagControllerTest {
     public void test_get_tags_by_post_should_return_200_ok() throws Exception {
         //given
         Long postId = 1L;
-        Tag tag1 = Tag.builder()
-                .id(1L)
-                .name("Tag 1").build();
-        Tag tag2 = Tag.builder()
-                .id(2L)
-                .name("Tag 2").build();
-        Tag tag3 = Tag.builder()
-                .id(3L)
-                .name("Tag 3").build();
+        TagSummary tag1 = new TagSummary(1L, "Tag 1", null);
+        TagSummary tag2 = new TagSummary(2L, "Tag 2", null);
+        TagSummary tag3 = new TagSummary(3L, "Tag 3", null);
         Pageable pageable = PageRequest.of(0, 2);
-        Page<Tag> pageTag = new PageImpl<>(List.of(tag1, tag2, tag3), pageable, 3);
+        Page<TagSummary> pageTag = new PageImpl<>(List.of(tag1, tag2, tag3), pageable, 3);
         when(tagService.getTagsForPostAsPage(postId, pageable)).thenReturn(pageTag);
 
         //when
@@ -197,9 +188,7 @@ class TagControllerTest {
     public void test_get_tag_by_id_should_return_200() throws Exception {
         //given
         long tagId = 1L;
-        Tag tag = Tag.builder()
-                .id(tagId)
-                .name("Tag 1").build();
+        TagSummary tag = new TagSummary(tagId, "Tag 1", null);
 
         when(tagService.getTagById(tagId)).thenReturn(tag);
 
@@ -209,12 +198,34 @@ class TagControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaTypes.HAL_JSON))
                 .andExpect(jsonPath("$.id", is(1)))
-                .andExpect(jsonPath("$.name", is(tag.getName())))
+                .andExpect(jsonPath("$.name", is(tag.name())))
                 .andExpect(jsonPath("$._links.self.href", is("http://localhost/api/v1/tags/1")))
                 .andExpect(jsonPath("$._links.posts.href", is("http://localhost/api/v1/posts/tag/1")))
                 .andDo(print());
     }
 
+    @Test
+    public void test_get_tag_by_id_should_return_304_not_modified_when_etag_matches() throws Exception {
+        //given
+        long tagId = 1L;
+        TagSummary tag = new TagSummary(tagId, "Tag 1", null);
+
+        when(tagService.getTagById(tagId)).thenReturn(tag);
+
+        String eTag = mockMvc.perform(get(END_POINT_PATH + "/" + tagId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        //when
+        //then
+        mockMvc.perform(get(END_POINT_PATH + "/" + tagId).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""))
+                .andDo(print());
+    }
+
     @Test
     public void test_get_tag_by_id_should_throw_404_not_found() throws Exception {
         //given
@@ -238,9 +249,7 @@ class TagControllerTest {
         //given
         TagRequest request = TagRequest.builder()
                 .name("New tag name").build();
-        Tag tag = Tag.builder()
-                .id(1L)
-                .name(request.getName()).build();
+        TagSummary tag = new TagSummary(1L, request.getName(), null);
         when(tagService.save(request)).thenReturn(tag);
 
         String requestBody = objectMapper.writeValueAsString(request);
@@ -289,15 +298,32 @@ class TagControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    public void test_save_tag_should_throw_409_conflict_when_unique_constraint_is_violated() throws Exception {
+        //given
+        TagRequest request = TagRequest.builder()
+                .name("New name for tag").build();
+        String requestBody = objectMapper.writeValueAsString(request);
+        when(tagService.save(request)).thenThrow(new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException("Duplicate entry 'new name for tag' for key 'tags.uk_tags_name'", "23000", 1062)));
+
+        //when
+        //then
+        mockMvc.perform(post(END_POINT_PATH).contentType(MediaType.APPLICATION_JSON).content(requestBody))
+                .andExpect(status().isConflict())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.errors[0]", is("Tag name already taken")))
+                .andExpect(jsonPath("$.statusCode", is(409)))
+                .andDo(print());
+    }
+
     @Test
     public void test_update_tag_should_return_200_ok() throws Exception {
         //given
         long tagId = 1L;
         TagRequest request = TagRequest.builder()
                 .name("New tag name").build();
-        Tag tag = Tag.builder()
-                .id(tagId)
-                .name(request.getName()).build();
+        TagSummary tag = new TagSummary(tagId, request.getName(), null);
         when(tagService.update(tagId, request)).thenReturn(tag);
 
         String requestBody = objectMapper.writeValueAsString(request);
@@ -349,13 +375,17 @@ class TagControllerTest {
     }
 
     @Test
-    public void test_delete_tag_should_return_204_success() throws Exception {
+    public void test_delete_tag_should_return_202_accepted() throws Exception {
         //given
         long id = 1L;
+        DeletionJob job = DeletionJob.running(DeletionJob.Resource.TAG, id);
+        when(tagService.delete(id)).thenReturn(job);
 
         //when
         mockMvc.perform(delete(END_POINT_PATH + "/" + id).contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isNoContent())
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/v1/deletions/" + job.id()))
+                .andExpect(jsonPath("$.status", is("RUNNING")))
                 .andDo(print());
 
         verify(tagService, times(1)).delete(id);
@@ -365,7 +395,7 @@ class TagControllerTest {
     public void test_delete_tag_should_return_404_not_found() throws Exception {
         //given
         Long tagId = 1L;
-        doThrow(ResourceNotFoundException.class).when(tagService).delete(tagId);
+        when(tagService.delete(tagId)).thenThrow(ResourceNotFoundException.class);
 
         //when
         mockMvc.perform(delete(END_POINT_PATH + "/" + tagId).contentType(MediaType.APPLICATION_JSON))
@@ -1,5 +1,8 @@
 package com.example.blog.tag;
 
+import com.example.blog.JdbcBatchCounter;
+import com.example.blog.config.IdSequenceSeeder;
+import com.example.blog.entity.IdGenerators;
 import com.example.blog.entity.Post;
 import com.example.blog.entity.Tag;
 import org.junit.jupiter.api.Test;
@@ -7,16 +10,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.result.StatusResultMatchersExtensionsKt.isEqualTo;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session.events.auto=com.example.blog.JdbcBatchCounter")
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(IdSequenceSeeder.class)
 class TagRepositoryJPATest {
 
     @Autowired
@@ -25,6 +31,25 @@ class TagRepositoryJPATest {
     @Autowired
     private TestEntityManager entityManager;
 
+    @Test
+    public void test_save_all_tags_should_insert_in_jdbc_batches() {
+        //given
+        int tagsCount = 2 * IdGenerators.ALLOCATION_SIZE + 20;
+        List<Tag> tags = IntStream.rangeClosed(1, tagsCount)
+                .mapToObj(i -> Tag.builder()
+                        .name("batched tag %d".formatted(i)).build())
+                .toList();
+        JdbcBatchCounter.reset();
+
+        //when
+        List<Tag> result = underTest.saveAll(tags);
+        entityManager.flush();
+
+        //then
+        assertThat(result).extracting(Tag::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(JdbcBatchCounter.executedBatches()).isEqualTo(3);
+    }
+
     @Test
     public void test_save_tag_success() {
         //given
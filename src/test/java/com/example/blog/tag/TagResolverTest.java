@@ -0,0 +1,106 @@
+package com.example.blog.tag;
+
+import com.example.blog.entity.Tag;
+import com.example.blog.uniqueness.UniquenessIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TagResolverTest {
+    @Mock
+    private TagRepository tagRepository;
+
+    @Mock
+    private UniquenessIndex uniquenessIndex;
+
+    private TagResolver underTest;
+
+    @BeforeEach
+    public void setUp() {
+        // as before the filters are loaded, every value might exist
+        lenient().when(uniquenessIndex.mightExist(any(), any())).thenReturn(true);
+        underTest = new TagResolver(tagRepository, new ConcurrentMapCacheManager(), uniquenessIndex);
+    }
+
+    @Test
+    public void test_get_or_create_tags_inserts_only_missing_tags_in_one_batch() {
+        //given
+        Tag tag1 = Tag.builder().id(1L).name("tag1").build();
+        Tag tag2 = Tag.builder().id(2L).name("tag2").build();
+        Tag tag3 = Tag.builder().id(3L).name("tag3").build();
+        when(tagRepository.findByNameIn(Set.of("tag1", "tag2", "tag3"))).thenReturn(List.of(tag1));
+        when(tagRepository.saveAllAndFlush(any())).thenReturn(List.of(tag2, tag3));
+
+        //when
+        Set<Tag> result = underTest.getOrCreateTags(List.of("tag1", "tag2", "tag3", "tag2"));
+
+        //then
+        ArgumentCaptor<List<Tag>> tagsArgumentCaptor = ArgumentCaptor.forClass(List.class);
+        verify(tagRepository).saveAllAndFlush(tagsArgumentCaptor.capture());
+
+        assertThat(tagsArgumentCaptor.getValue())
+                .extracting(Tag::getName)
+                .containsExactly("tag2", "tag3");
+        assertThat(result).containsExactlyInAnyOrder(tag1, tag2, tag3);
+        verify(tagRepository, never()).save(any());
+    }
+
+    @Test
+    public void test_get_or_create_tags_does_not_insert_when_all_tags_exist() {
+        //given
+        Tag tag1 = Tag.builder().id(1L).name("tag1").build();
+        Tag tag2 = Tag.builder().id(2L).name("tag2").build();
+        when(tagRepository.findByNameIn(Set.of("tag1", "tag2"))).thenReturn(List.of(tag1, tag2));
+
+        //when
+        Set<Tag> result = underTest.getOrCreateTags(List.of("tag1", "tag2"));
+
+        //then
+        assertThat(result).containsExactlyInAnyOrder(tag1, tag2);
+        verify(tagRepository, never()).saveAllAndFlush(any());
+    }
+
+    @Test
+    public void test_get_or_create_tags_matches_names_ignoring_case_and_accents() {
+        //given
+        Tag java = Tag.builder().id(1L).name("java").build();
+        Tag cafe = Tag.builder().id(2L).name("Café").build();
+        when(tagRepository.findByNameIn(Set.of("Java", "cafe"))).thenReturn(List.of(java, cafe));
+
+        //when
+        Set<Tag> result = underTest.getOrCreateTags(List.of("Java", "cafe", "JAVA", "CAFÉ"));
+
+        //then
+        assertThat(result).containsExactlyInAnyOrder(java, cafe);
+        verify(tagRepository, never()).saveAllAndFlush(any());
+    }
+
+    @Test
+    public void test_get_or_create_tags_leaves_concurrent_conflicts_to_the_caller() {
+        //given
+        Tag tag1 = Tag.builder().id(1L).name("tag1").build();
+        when(tagRepository.findByNameIn(Set.of("tag1", "tag2"))).thenReturn(List.of(tag1));
+        when(tagRepository.saveAllAndFlush(any())).thenThrow(new DataIntegrityViolationException("Duplicate entry 'tag2'"));
+
+        //when
+        //then
+        assertThatThrownBy(() -> underTest.getOrCreateTags(List.of("tag1", "tag2")))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        verify(tagRepository, times(1)).saveAllAndFlush(any());
+        verify(uniquenessIndex, never()).addAfterCommit(any(), any());
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.blog.tag;
 
+import com.example.blog.deletion.BulkDeleter;
+import com.example.blog.deletion.DeletionJob;
+import com.example.blog.deletion.DeletionJobs;
 import com.example.blog.entity.Post;
 import com.example.blog.entity.Tag;
 import com.example.blog.exception.DuplicateResourceException;
 import com.example.blog.exception.ResourceNotFoundException;
 import com.example.blog.post.PostRepository;
+import com.example.blog.uniqueness.UniquenessIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -30,11 +34,22 @@ class TagServiceTest {
     @Mock
     private PostRepository postRepository;
 
+    @Mock
+    private DeletionJobs deletionJobs;
+
+    @Mock
+    private BulkDeleter bulkDeleter;
+
+    @Mock
+    private UniquenessIndex uniquenessIndex;
+
     private TagService underTest;
 
     @BeforeEach
     public void setUp() {
-        underTest = new TagService(tagRepository, postRepository);
+        // as before the filters are loaded, every value might exist
+        lenient().when(uniquenessIndex.mightExist(any(), any())).thenReturn(true);
+        underTest = new TagService(tagRepository, postRepository, deletionJobs, bulkDeleter, uniquenessIndex);
     }
 
     @Test
@@ -44,7 +59,7 @@ class TagServiceTest {
         when(tagRepository.findAll(pageable)).thenReturn(Page.empty());
 
         //when
-        Page<Tag> tagPage = underTest.getTagsAsPage(pageable);
+        Page<TagSummary> tagPage = underTest.getTagsAsPage(pageable);
 
         //then
         assertThat(tagPage).isEmpty();
@@ -61,7 +76,7 @@ class TagServiceTest {
         when(tagRepository.findByPostsIn(List.of(post), pageable)).thenReturn(Page.empty());
 
         //when
-        Page<Tag> tagPage = underTest.getTagsForPostAsPage(postId, pageable);
+        Page<TagSummary> tagPage = underTest.getTagsForPostAsPage(postId, pageable);
 
         //then
         assertThat(tagPage).isEmpty();
@@ -88,14 +103,17 @@ class TagServiceTest {
     public void test_get_tag_by_id_return_tag() {
         //given
         long tagId = 1L;
-        Tag tag = mock(Tag.class);
+        Tag tag = Tag.builder()
+                .id(tagId)
+                .name("Tag 1").build();
+        tag.setModifiedDate(42L);
         when(tagRepository.findById(tagId)).thenReturn(Optional.of(tag));
 
         //when
-        Tag result = underTest.getTagById(tagId);
+        TagSummary result = underTest.getTagById(tagId);
 
         //then
-        assertThat(result).isEqualTo(tag);
+        assertThat(result).isEqualTo(new TagSummary(tagId, "Tag 1", 42L));
     }
 
     @Test
@@ -117,11 +135,13 @@ class TagServiceTest {
         TagRequest request = TagRequest.builder()
                 .name("New tag").build();
         when(tagRepository.existsByName(request.getName())).thenReturn(false);
-        Tag mockedTag = mock(Tag.class);
-        when(tagRepository.save(any(Tag.class))).thenReturn(mockedTag);
+        Tag savedTag = Tag.builder()
+                .id(1L)
+                .name("New tag").build();
+        when(tagRepository.save(any(Tag.class))).thenReturn(savedTag);
 
         //when
-        Tag result = underTest.save(request);
+        TagSummary result = underTest.save(request);
 
         //then
         ArgumentCaptor<Tag> tagArgumentCaptor = ArgumentCaptor.forClass(Tag.class);
@@ -132,7 +152,7 @@ class TagServiceTest {
         assertThat(tagBeforeSave.getId()).isNull();
         assertThat(tagBeforeSave.getName()).isEqualTo(request.getName());
         assertThat(tagBeforeSave.getPosts()).isEmpty();
-        assertThat(result).isEqualTo(mockedTag);
+        assertThat(result).isEqualTo(new TagSummary(1L, "New tag", null));
     }
 
     @Test
@@ -160,13 +180,12 @@ class TagServiceTest {
         Tag mockedTag = Tag.builder()
                 .id(1L)
                 .name("Old name").build();
-        Tag mockedSavedTagResult = mock(Tag.class);
         when(tagRepository.findById(tagId)).thenReturn(Optional.of(mockedTag));
         when(tagRepository.existsByName(request.getName())).thenReturn(false);
-        when(tagRepository.save(any(Tag.class))).thenReturn(mockedSavedTagResult);
+        when(tagRepository.save(any(Tag.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         //when
-        Tag result = underTest.update(tagId, request);
+        TagSummary result = underTest.update(tagId, request);
 
         //then
         ArgumentCaptor<Tag> tagArgumentCaptor = ArgumentCaptor.forClass(Tag.class);
@@ -177,7 +196,7 @@ class TagServiceTest {
         assertThat(tagBeforeSave.getId()).isEqualTo(1L);
         assertThat(tagBeforeSave.getName()).isEqualTo(request.getName());
         assertThat(tagBeforeSave).isEqualTo(mockedTag);
-        assertThat(result).isEqualTo(mockedSavedTagResult);
+        assertThat(result).isEqualTo(new TagSummary(1L, "New tag", null));
     }
 
     @Test
@@ -222,20 +241,30 @@ class TagServiceTest {
         Tag tag = Tag.builder()
                 .id(tagId)
                 .name("Tag to delete").build();
+        DeletionJob job = DeletionJob.running(DeletionJob.Resource.TAG, tagId);
         when(tagRepository.findById(tagId)).thenReturn(Optional.of(tag));
+        when(deletionJobs.start(eq(DeletionJob.Resource.TAG), eq(tagId), any())).thenReturn(job);
 
         //when
-        underTest.delete(tagId);
+        DeletionJob result = underTest.delete(tagId);
 
         //then
-        ArgumentCaptor<Tag> tagArgumentCaptor = ArgumentCaptor.forClass(Tag.class);
-        verify(tagRepository).delete(tagArgumentCaptor.capture());
-        Tag tagBeforeDelete = tagArgumentCaptor.getValue();
+        assertThat(result).isSameAs(job);
+        verify(tagRepository, never()).delete(any(Tag.class));
+    }
+
+    @Test
+    public void test_delete_tag_should_throw_resource_not_found_exception() {
+        //given
+        Long tagId = 1L;
+        when(tagRepository.findById(tagId)).thenReturn(Optional.empty());
 
-        assertThat(tagBeforeDelete.getId()).isEqualTo(tagId);
-        assertThat(tagBeforeDelete.getName()).isEqualTo(tag.getName());
-        assertThat(tagBeforeDelete.getPosts()).isEmpty();
+        //when
+        //then
+        assertThatThrownBy(() -> underTest.delete(tagId))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Tag with id [%d] not found".formatted(tagId));
 
-        verify(tagRepository, times(1)).delete(tag);
+        verify(deletionJobs, never()).start(any(), any(), any());
     }
 }
\ No newline at end of file
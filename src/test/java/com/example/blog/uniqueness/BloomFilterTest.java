@@ -0,0 +1,81 @@
+package com.example.blog.uniqueness;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+    @Test
+    public void test_might_contain_every_value_put() {
+        //given
+        BloomFilter underTest = new BloomFilter(10_000, 0.01);
+
+        //when
+        IntStream.range(0, 10_000).forEach(i -> underTest.put("user" + i + "@example.com"));
+
+        //then
+        assertThat(IntStream.range(0, 10_000)).allMatch(i -> underTest.mightContain("user" + i + "@example.com"));
+        assertThat(underTest.isSaturated()).isFalse();
+    }
+
+    @Test
+    public void test_false_positive_rate_stays_near_configured_rate() {
+        //given
+        BloomFilter underTest = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> underTest.put("title " + i));
+
+        //when
+        long falsePositives = IntStream.range(10_000, 110_000)
+                .filter(i -> underTest.mightContain("title " + i))
+                .count();
+
+        //then
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    public void test_empty_filter_contains_nothing() {
+        //given
+        BloomFilter underTest = new BloomFilter(1024, 0.01);
+
+        //when
+        //then
+        assertThat(underTest.mightContain("")).isFalse();
+        assertThat(underTest.mightContain("java")).isFalse();
+    }
+
+    @Test
+    public void test_is_saturated_after_more_puts_than_capacity() {
+        //given
+        BloomFilter underTest = new BloomFilter(10, 0.01);
+
+        //when
+        IntStream.range(0, 20).forEach(i -> underTest.put("tag" + i));
+
+        //then
+        assertThat(underTest.isSaturated()).isTrue();
+    }
+
+    @Test
+    public void test_putting_the_same_value_again_does_not_saturate() {
+        //given
+        BloomFilter underTest = new BloomFilter(10, 0.01);
+
+        //when
+        IntStream.range(0, 20).forEach(i -> underTest.put("same title"));
+
+        //then
+        assertThat(underTest.isSaturated()).isFalse();
+        assertThat(underTest.mightContain("same title")).isTrue();
+    }
+
+    @Test
+    public void test_rejects_invalid_sizing() {
+        assertThatThrownBy(() -> new BloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(100, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.blog.uniqueness;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UniqueKeyTest {
+
+    @Test
+    public void test_from_error_message_finds_key_by_declared_constraint_name() {
+        //given
+        String message = "Duplicate entry 'Java' for key 'tags.uk_tags_name'";
+
+        //when
+        Optional<UniqueKey> result = UniqueKey.fromErrorMessage(message);
+
+        //then
+        assertThat(result).contains(UniqueKey.TAG_NAME);
+    }
+
+    @Test
+    public void test_generated_constraint_names_match_the_baseline_schema() {
+        //given
+        //when
+        //then
+        // as in V1__baseline.sql, generated by Hibernate
+        assertThat(UniqueKey.USER_EMAIL.generatedConstraint()).isEqualTo("UK_6dotkott2kjsp8vw4d0m25fb7");
+        assertThat(UniqueKey.USER_USERNAME.generatedConstraint()).isEqualTo("UK_r43af9ap4edm43mmtq01oddj6");
+        assertThat(UniqueKey.POST_TITLE.generatedConstraint()).isEqualTo("UK_mchce1gm7f6otpphxd6ixsdps");
+        assertThat(UniqueKey.TAG_NAME.generatedConstraint()).isEqualTo("UK_t48xdq560gs3gap9g7jg36kgc");
+        assertThat(UniqueKey.CATEGORY_NAME.generatedConstraint()).isEqualTo("UK_t8o6pivur7nn124jehx7cygw5");
+    }
+
+    @Test
+    public void test_from_error_message_finds_key_by_hibernate_generated_constraint_name() {
+        //given
+        String emailMessage = "Duplicate entry 'john@example.com' for key 'users.UK_6dotkott2kjsp8vw4d0m25fb7'";
+        String usernameMessage = "Duplicate entry 'john' for key 'users.UK_r43af9ap4edm43mmtq01oddj6'";
+
+        //when
+        Optional<UniqueKey> emailKey = UniqueKey.fromErrorMessage(emailMessage);
+        Optional<UniqueKey> usernameKey = UniqueKey.fromErrorMessage(usernameMessage);
+
+        //then
+        assertThat(emailKey).contains(UniqueKey.USER_EMAIL);
+        assertThat(usernameKey).contains(UniqueKey.USER_USERNAME);
+    }
+
+    @Test
+    public void test_from_error_message_is_empty_for_unknown_constraint() {
+        //given
+        String message = "Duplicate entry '1-2' for key 'post_tag.PRIMARY'";
+
+        //when
+        Optional<UniqueKey> result = UniqueKey.fromErrorMessage(message);
+
+        //then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void test_violated_by_finds_key_in_cause_chain() {
+        //given
+        SQLException duplicateEntry = new SQLException("Duplicate entry 'Java' for key 'tags.uk_tags_name'", "23000", 1062);
+        DataIntegrityViolationException e = new DataIntegrityViolationException("could not execute statement", duplicateEntry);
+
+        //when
+        Optional<UniqueKey> result = UniqueKey.violatedBy(e);
+
+        //then
+        assertThat(result).contains(UniqueKey.TAG_NAME);
+    }
+
+    @Test
+    public void test_violated_by_is_empty_for_other_errors() {
+        //given
+        SQLException foreignKey = new SQLException("Cannot add or update a child row", "23000", 1452);
+        DataIntegrityViolationException e = new DataIntegrityViolationException("could not execute statement", foreignKey);
+
+        //when
+        Optional<UniqueKey> result = UniqueKey.violatedBy(e);
+
+        //then
+        assertThat(result).isEmpty();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.blog.uniqueness;
+
+import com.example.blog.config.IdSequenceSeeder;
+import com.example.blog.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(IdSequenceSeeder.class)
+class UniquenessIndexTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UniquenessIndex underTest;
+
+    @BeforeEach
+    public void setUp() {
+        // batches of 2, so loading pages through the users, and a false positive rate low enough not to flake
+        underTest = new UniquenessIndex(dataSource, 2, 0.0001, Duration.ofHours(6), meterRegistry);
+    }
+
+    @Test
+    public void test_might_exist_before_load() {
+        //when
+        //then
+        assertThat(underTest.mightExist(UniqueKey.USER_EMAIL, "free.before.load@example.com")).isTrue();
+    }
+
+    @Test
+    public void test_rebuild_loads_existing_values_case_and_accent_insensitively() {
+        //given
+        for (int i = 0; i < 5; i++) {
+            persistUser("Zoë.%d@Example.com".formatted(i), "zoe %d".formatted(i));
+        }
+        entityManager.flush();
+
+        //when
+        underTest.rebuild(UniqueKey.USER_EMAIL);
+
+        //then
+        for (int i = 0; i < 5; i++) {
+            assertThat(underTest.mightExist(UniqueKey.USER_EMAIL, "zoe.%d@example.com".formatted(i))).isTrue();
+        }
+        assertThat(underTest.mightExist(UniqueKey.USER_EMAIL, "definitely.free@example.com")).isFalse();
+        // not rebuilt yet
+        assertThat(underTest.mightExist(UniqueKey.USER_USERNAME, "definitely free")).isTrue();
+        assertThat(meterRegistry.get(UniquenessIndex.CHECKS_METRIC)
+                .tag("key", "user_email").tag("result", "free").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void test_add_after_commit_waits_for_the_transaction() {
+        //given
+        underTest.rebuild(UniqueKey.TAG_NAME);
+
+        //when
+        underTest.addAfterCommit(UniqueKey.TAG_NAME, "written in this transaction");
+
+        //then
+        // the test transaction is rolled back, never committed
+        assertThat(underTest.mightExist(UniqueKey.TAG_NAME, "written in this transaction")).isFalse();
+    }
+
+    @Test
+    public void test_normalize_folds_case_and_accents() {
+        assertThat(UniquenessIndex.normalize("Crème Brûlée")).isEqualTo("creme brulee");
+    }
+
+    private void persistUser(String email, String username) {
+        entityManager.persist(User.builder()
+                .email(email)
+                .username(username)
+                .password("zxc")
+                .firstName("zoe")
+                .lastName("test")
+                .phone("1234-56-78").build());
+    }
+}
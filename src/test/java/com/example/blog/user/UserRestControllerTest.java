@@ -2,7 +2,11 @@ package com.example.blog.user;
 
 import com.example.blog.comment.CommentMapper;
 import com.example.blog.comment.CommentModelAssembler;
+import com.example.blog.deletion.DeletionJob;
+import com.example.blog.deletion.DeletionJobModelAssembler;
 import com.example.blog.entity.User;
+import com.example.blog.exception.CustomAuthorizationException;
+import com.example.blog.exception.RequestValidationException;
 import com.example.blog.exception.ResourceNotFoundException;
 import com.example.blog.security.JwtAuthenticationTokenFilter;
 import com.example.blog.tag.TagMapper;
@@ -21,6 +25,8 @@ import org.springframework.test.web.servlet.MvcResult;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -29,7 +35,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @WebMvcTest(UserController.class)
 @AutoConfigureMockMvc(addFilters = false)
-@Import({UserModelAssembler.class, CommentModelAssembler.class, UserMapper.class, CommentMapper.class})
+@Import({UserModelAssembler.class, CommentModelAssembler.class, UserMapper.class, CommentMapper.class, DeletionJobModelAssembler.class})
 class UserRestControllerTest {
 
     private static final String END_POINT_PATH = "/api/v1/users";
@@ -350,4 +356,66 @@ class UserRestControllerTest {
                 .andExpect(jsonPath("$.statusCode",is(404)))
                 .andDo(print());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test_delete_user_should_return_202_accepted() throws Exception {
+        //given
+        long userId = 2L;
+        DeletionJob job = DeletionJob.running(DeletionJob.Resource.USER, userId);
+        when(userService.delete(eq(userId), any())).thenReturn(job);
+
+        //when
+        //then
+        mockMvc.perform(delete(END_POINT_PATH + "/" + userId))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/v1/deletions/" + job.id()))
+                .andExpect(jsonPath("$.resource", is("USER")))
+                .andExpect(jsonPath("$.status", is("RUNNING")))
+                .andDo(print());
+    }
+
+    @Test
+    public void test_delete_user_should_return_404_not_found() throws Exception {
+        //given
+        long userId = 2L;
+        when(userService.delete(eq(userId), any()))
+                .thenThrow(new ResourceNotFoundException("user with id [%d] not found".formatted(userId)));
+
+        //when
+        //then
+        mockMvc.perform(delete(END_POINT_PATH + "/" + userId))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errors[0]", is("user with id [%d] not found".formatted(userId))))
+                .andDo(print());
+    }
+
+    @Test
+    public void test_delete_user_should_return_400_bad_request_for_own_account() throws Exception {
+        //given
+        long userId = 2L;
+        when(userService.delete(eq(userId), any()))
+                .thenThrow(new RequestValidationException("You can't delete your own account"));
+
+        //when
+        //then
+        mockMvc.perform(delete(END_POINT_PATH + "/" + userId))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]", is("You can't delete your own account")))
+                .andDo(print());
+    }
+
+    @Test
+    public void test_delete_user_should_return_403_forbidden_for_super_admin() throws Exception {
+        //given
+        long userId = 2L;
+        when(userService.delete(eq(userId), any()))
+                .thenThrow(new CustomAuthorizationException("User with id [%d] is a super admin and can't be deleted".formatted(userId)));
+
+        //when
+        //then
+        mockMvc.perform(delete(END_POINT_PATH + "/" + userId))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.errors[0]", is("User with id [%d] is a super admin and can't be deleted".formatted(userId))))
+                .andDo(print());
+    }
+}
@@ -2,17 +2,27 @@ package com.example.blog.user;
 
 import com.example.blog.comment.CommentRepository;
 import com.example.blog.comment.CommentRequest;
+import com.example.blog.deletion.BulkDeleter;
+import com.example.blog.deletion.DeletionJob;
+import com.example.blog.deletion.DeletionJobs;
 import com.example.blog.entity.Comment;
 import com.example.blog.entity.Role;
 import com.example.blog.entity.User;
+import com.example.blog.exception.CustomAuthorizationException;
 import com.example.blog.exception.DuplicateResourceException;
+import com.example.blog.exception.RequestValidationException;
 import com.example.blog.exception.ResourceNotFoundException;
 import com.example.blog.role.AppRoles;
 import com.example.blog.role.RoleRepository;
+import com.example.blog.security.UserPrincipal;
+import com.example.blog.security.UserPrincipalCache;
+import com.example.blog.uniqueness.UniqueKey;
+import com.example.blog.uniqueness.UniquenessIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
@@ -44,15 +54,35 @@ class UserServiceTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private UserPrincipalCache principalCache;
+
+    @Mock
+    private DeletionJobs deletionJobs;
+
+    @Mock
+    private BulkDeleter bulkDeleter;
+
+    @Mock
+    private UniquenessIndex uniquenessIndex;
+
     private UserService underTest;
 
+    private static final UserPrincipal ADMIN = new UserPrincipal(99L, "admin@gmail.com", "admin", "password", Set.of());
+
     @BeforeEach
     public void setUp() {
+        // as before the filters are loaded, every value might exist
+        lenient().when(uniquenessIndex.mightExist(any(), any())).thenReturn(true);
         underTest = new UserService(
                 userRepository,
                 passwordEncoder,
                 roleRepository,
-                commentRepository);
+                commentRepository,
+                principalCache,
+                deletionJobs,
+                bulkDeleter,
+                uniquenessIndex);
     }
 
     @Test
@@ -154,6 +184,31 @@ class UserServiceTest {
         assertThat(result).isEqualTo(mockedUser);
     }
 
+    @Test
+    public void test_add_user_skips_exists_queries_when_email_and_username_are_definitely_free() {
+        //given
+        UserRegistrationRequest request = UserRegistrationRequest.builder()
+                .email("abc@gmail.com")
+                .password("Abcxa1!")
+                .firstName("abc")
+                .lastName("des")
+                .username("abc des")
+                .phone("1234 56 78")
+                .build();
+        when(uniquenessIndex.mightExist(any(), any())).thenReturn(false);
+        when(roleRepository.findByName(AppRoles.ROLE_USER)).thenReturn(Optional.of(mock(Role.class)));
+
+        //when
+        underTest.addUser(request);
+
+        //then
+        verify(userRepository, never()).existsByEmail(any());
+        verify(userRepository, never()).existsByUsername(any());
+        verify(userRepository).save(any(User.class));
+        verify(uniquenessIndex).addAfterCommit(UniqueKey.USER_EMAIL, "abc@gmail.com");
+        verify(uniquenessIndex).addAfterCommit(UniqueKey.USER_USERNAME, "abc des");
+    }
+
     @Test
     public void test_add_user_throws_duplicate_resource_exception_same_email() {
         //given
@@ -339,6 +394,7 @@ class UserServiceTest {
         assertThat(userBeforeUpdate.getRoles().contains(adminRole)).isTrue();
         assertThat(userBeforeUpdate.getRoles().contains(userRole)).isTrue();
         assertThat(result).isEqualTo(mockedUser);
+        verify(principalCache).evictUser(userId);
     }
 
     @Test
@@ -459,6 +515,7 @@ class UserServiceTest {
         assertThat(userBeforeUpdate.getRoles().contains(adminRole)).isFalse();
         assertThat(userBeforeUpdate.getRoles().contains(userRole)).isTrue();
         assertThat(result).isEqualTo(mockedUser);
+        verify(principalCache).evictUser(userId);
     }
 
     @Test
@@ -538,4 +595,99 @@ class UserServiceTest {
 
         verify(userRepository, never()).save(any(User.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test_delete_user_disables_account_before_purge() {
+        //given
+        Long userId = 1L;
+        User user = User.builder()
+                .id(userId)
+                .email("zxc@gmail.com")
+                .username("qwe").build();
+        DeletionJob job = DeletionJob.running(DeletionJob.Resource.USER, userId);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(deletionJobs.start(eq(DeletionJob.Resource.USER), eq(userId), any())).thenReturn(job);
+
+        //when
+        DeletionJob result = underTest.delete(userId, ADMIN);
+
+        //then
+        ArgumentCaptor<User> userArgumentCaptor = ArgumentCaptor.forClass(User.class);
+        InOrder inOrder = inOrder(userRepository, principalCache, deletionJobs);
+        inOrder.verify(userRepository).save(userArgumentCaptor.capture());
+        inOrder.verify(principalCache).disableUser(userId);
+        inOrder.verify(deletionJobs).start(eq(DeletionJob.Resource.USER), eq(userId), any());
+
+        assertThat(userArgumentCaptor.getValue().isDisabled()).isTrue();
+        assertThat(result).isSameAs(job);
+    }
+
+    @Test
+    public void test_delete_disabled_user_continues_purge() {
+        //given
+        Long userId = 1L;
+        User user = User.builder()
+                .id(userId)
+                .disabled(true).build();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+
+        //when
+        underTest.delete(userId, ADMIN);
+
+        //then
+        verify(userRepository, never()).save(any(User.class));
+        verify(principalCache).disableUser(userId);
+        verify(deletionJobs).start(eq(DeletionJob.Resource.USER), eq(userId), any());
+    }
+
+    @Test
+    public void test_delete_user_throws_resource_not_found_exception() {
+        //given
+        Long userId = 1L;
+        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+
+        //when
+        //then
+        assertThatThrownBy(() -> underTest.delete(userId, ADMIN))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        verify(principalCache, never()).disableUser(any());
+        verify(deletionJobs, never()).start(any(), any(), any());
+    }
+
+    @Test
+    public void test_delete_own_account_throws_request_validation_exception() {
+        //given
+        Long userId = ADMIN.getId();
+
+        //when
+        //then
+        assertThatThrownBy(() -> underTest.delete(userId, ADMIN))
+                .isInstanceOf(RequestValidationException.class)
+                .hasMessage("You can't delete your own account");
+
+        verify(userRepository, never()).save(any(User.class));
+        verify(principalCache, never()).disableUser(any());
+        verify(deletionJobs, never()).start(any(), any(), any());
+    }
+
+    @Test
+    public void test_delete_super_admin_throws_custom_authorization_exception() {
+        //given
+        Long userId = 1L;
+        User user = User.builder()
+                .id(userId)
+                .roles(Set.of(Role.builder().id(3).name(AppRoles.ROLE_SUPER_ADMIN).build())).build();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+
+        //when
+        //then
+        assertThatThrownBy(() -> underTest.delete(userId, ADMIN))
+                .isInstanceOf(CustomAuthorizationException.class)
+                .hasMessage("User with id [1] is a super admin and can't be deleted");
+
+        verify(userRepository, never()).save(any(User.class));
+        verify(principalCache, never()).disableUser(any());
+        verify(deletionJobs, never()).start(any(), any(), any());
+    }
+}